@@ -19,15 +19,20 @@ import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
 import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
 import com.dlutskov.chart_lib.drawers.ChartAxisLabelsDrawer;
 import com.dlutskov.chart_lib.drawers.ChartBarsDrawer;
+import com.dlutskov.chart_lib.drawers.ChartDebugOverlayDrawer;
 import com.dlutskov.chart_lib.drawers.ChartLinesDrawer;
 import com.dlutskov.chart_lib.drawers.ChartPercentagesAreasDrawer;
 import com.dlutskov.chart_lib.drawers.ChartPieDrawer;
 import com.dlutskov.chart_lib.drawers.ChartPointsDrawer;
 import com.dlutskov.chart_lib.drawers.ChartScaledLinesDrawer;
+import com.dlutskov.chart_lib.drawers.ChartStackedAreasDrawer;
 import com.dlutskov.chart_lib.drawers.ChartStackedBarsDrawer;
 import com.dlutskov.chart_lib.drawers.ChartYAxisLabelsDrawer;
 import com.dlutskov.chart_lib.drawers.ChartYAxisPercentagesDrawers;
 import com.dlutskov.chart_lib.utils.ChartUtils;
+import com.dlutskov.dlutskov.customchart.BuildConfig;
+
+import java.util.Map;
 
 import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
 import static android.view.ViewGroup.LayoutParams.WRAP_CONTENT;
@@ -114,6 +119,12 @@ public class ChartController implements
         mChartView.setListener(this);
         mChartPreview.setListener(this);
         mCheckBoxesContainer.setListener(this);
+
+        // Show drawing stats over the generated load test chart
+        if (BuildConfig.DEBUG && mChartData.assetsFolderName == null) {
+            mChartView.setMetricsEnabled(true);
+            mChartView.addDrawer(new ChartDebugOverlayDrawer<>(mChartView));
+        }
     }
 
     void showChart() {
@@ -166,7 +177,9 @@ public class ChartController implements
             if (chartData.isPercentage()) {
                 result = new ChartPercentagesAreasDrawer<>(chartView);
             } else if (chartData.isStacked()) {
-                result = new ChartStackedBarsDrawer<>(chartView);
+                result = chartType.equals(ChartLinesData.CHART_TYPE_AREA)
+                        ? new ChartStackedAreasDrawer<>(chartView)
+                        : new ChartStackedBarsDrawer<>(chartView);
             } else {
                 result = new ChartBarsDrawer<>(chartView);
             }
@@ -183,6 +196,9 @@ public class ChartController implements
         if (result instanceof ChartPercentagesAreasDrawer) {
             ((ChartPercentagesAreasDrawer)result).setSelectedPointsDividerColor(AppDesign.bgChart(AppDesign.getTheme()));
         }
+        if (result instanceof ChartStackedAreasDrawer) {
+            ((ChartStackedAreasDrawer)result).setSelectedPointsDividerColor(AppDesign.chartGridColor(AppDesign.getTheme()));
+        }
         if (result instanceof ChartBarsDrawer) {
             ((ChartBarsDrawer)result).setCoverColor(AppDesign.bgChart(AppDesign.getTheme()));
         }
@@ -230,6 +246,9 @@ public class ChartController implements
                     if (pointsDrawer instanceof ChartPercentagesAreasDrawer) {
                         ((ChartPercentagesAreasDrawer) pointsDrawer).setSelectedPointsDividerColor(updatedColor);
                     }
+                    if (pointsDrawer instanceof ChartStackedAreasDrawer) {
+                        ((ChartStackedAreasDrawer) pointsDrawer).setSelectedPointsDividerColor(updatedColor);
+                    }
                     if (mYRightLabelsDrawer != null) {
                         mYRightLabelsDrawer.setGridColor(updatedColor);
                     }
@@ -285,7 +304,8 @@ public class ChartController implements
 
     @Override
     public void onChartPreviewAreaChanged(int minXIndex, int maxXIndex) {
-        mChartView.updateHorizontalBounds(minXIndex, maxXIndex);
+        // Preview may notify several times during one frame - apply only the last bounds
+        mChartView.publishHorizontalBounds(minXIndex, maxXIndex);
         updateHeaderBoundsText(minXIndex, maxXIndex);
     }
 
@@ -295,6 +315,12 @@ public class ChartController implements
         mChartPreview.updatePointsVisibility(id, checked);
     }
 
+    @Override
+    public void onChartLinesCheckBoxesStateChanged(Map<String, Boolean> states) {
+        mChartView.updatePointsVisibility(states);
+        mChartPreview.updatePointsVisibility(states);
+    }
+
     @Override
     public void onExpandChartClicked(ChartFullView<DateCoordinate, LongCoordinate> view, int pointsIndex) {
         if (mCurrentChartLinesData.isPercentage()) {
@@ -454,6 +480,8 @@ public class ChartController implements
         view.setLayoutParams(params);
         // Styling
         view.setLabelsTextSize(ChartUtils.getPixelForDp(ctx, 12));
+        // Keep dragging smooth on the large charts
+        view.setAdaptiveQuality(true);
         return view;
     }
 
@@ -22,6 +22,7 @@ import com.dlutskov.chart_lib.utils.ChartUtils;
 import com.dlutskov.chart_lib.ChartView;
 import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
 import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.dlutskov.customchart.BuildConfig;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -43,6 +44,19 @@ public class MainActivity extends Activity {
 
     public static final int APP_MODE_ANIM_DURATION = 250;
 
+    /**
+     * Size of the generated chart which is added to debug builds for load testing.
+     * Each point of each series takes about 40 bytes, so much bigger data doesn't fit default app heap
+     */
+    private static final int LOAD_TEST_POINTS_COUNT = 200_000;
+    private static final int LOAD_TEST_SERIES_COUNT = 4;
+
+    /**
+     * Size of the generated chart with many series which are drawn as the density band
+     */
+    private static final int LOAD_TEST_MANY_SERIES_POINTS_COUNT = 1_000;
+    private static final int LOAD_TEST_MANY_SERIES_COUNT = 500;
+
     private LinearLayout mRootView;
 
     private ViewGroup mHeaderLayout;
@@ -146,6 +160,13 @@ public class MainActivity extends Activity {
                     // Fruits
                     linesData = ChartDataProvider.getOverviewChartData(ctx, "5");
                     chartsData.add(new ChartData(ChartData.CHART_ID_AREAS,"Fruits","5", linesData));
+                    // Load test
+                    if (BuildConfig.DEBUG) {
+                        linesData = ChartDataProvider.getGeneratedChartData(LOAD_TEST_POINTS_COUNT, LOAD_TEST_SERIES_COUNT);
+                        chartsData.add(new ChartData(ChartData.CHART_ID_LINES, "Load test", null, linesData));
+                        linesData = ChartDataProvider.getGeneratedChartData(LOAD_TEST_MANY_SERIES_POINTS_COUNT, LOAD_TEST_MANY_SERIES_COUNT);
+                        chartsData.add(new ChartData(ChartData.CHART_ID_LINES, "Load test many series", null, linesData));
+                    }
 
                     mRootView.post(() -> {
                         setProgressVisibility(View.GONE);
@@ -2,6 +2,8 @@ package com.dlutskov.chart.data;
 
 import android.content.Context;
 
+import com.dlutskov.chart_lib.data.ChartDataGenerator;
+import com.dlutskov.chart_lib.data.ChartDataParser;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
 import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
@@ -12,6 +14,10 @@ import java.text.SimpleDateFormat;
 
 public class ChartDataProvider {
 
+    // Generated points are minute samples starting from 2019-01-01 UTC
+    private static final long GENERATED_START_TIME = 1_546_300_800_000L;
+    private static final long GENERATED_TIME_STEP = 60_000L;
+
     public static ChartLinesData<DateCoordinate, LongCoordinate> getOverviewChartData(Context context, String assetsFolderName) throws IOException {
         return ChartDataParser.parse(context.getAssets().open(assetsFolderName + "/overview.json"));
     }
@@ -23,5 +29,18 @@ public class ChartDataProvider {
         InputStream stream = context.getAssets().open(chartFolderName + "/" + folderName + "/" + fileName + ".json");
         return ChartDataParser.parse(stream);
     }
-    
+
+    /**
+     * @return line chart with generated data of the specified size. Values are always the same for the same size
+     */
+    public static ChartLinesData<DateCoordinate, LongCoordinate> getGeneratedChartData(int pointsCount, int seriesCount) {
+        return new ChartDataGenerator()
+                .setPointsCount(pointsCount)
+                .setSeriesCount(seriesCount)
+                .setTime(GENERATED_START_TIME, GENERATED_TIME_STEP)
+                .setDistribution(ChartDataGenerator.Distribution.SEASONAL)
+                .setValuesRange(0, 5000)
+                .generate();
+    }
+
 }
@@ -2,9 +2,12 @@ package com.dlutskov.chart.view;
 
 import android.content.Context;
 import android.graphics.Color;
+import android.util.TypedValue;
+import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.LinearLayout;
+import android.widget.TextView;
 
 import com.dlutskov.chart_lib.utils.ChartUtils;
 import com.dlutskov.chart_lib.data.ChartLinesData;
@@ -12,9 +15,17 @@ import com.dlutskov.chart_lib.data.ChartPointsData;
 import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
 import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
- * Contains ChartCheckBox views related to collection of ChartPointsData
+ * Contains ChartCheckBox views related to collection of ChartPointsData.
+ * If there are more than {@link #MAX_CHECKBOXES_COUNT} lines - checkboxes are shown by pages of {@link #PAGE_SIZE} lines,
+ * and the same checkbox views are bound to the lines of the current page
  */
 public class ChartCheckBoxesContainer extends LinearLayout implements View.OnClickListener, View.OnLongClickListener {
 
@@ -28,10 +39,36 @@ public class ChartCheckBoxesContainer extends LinearLayout implements View.OnCli
          */
         void onChartLineCheckBoxStateChanged(String id, boolean checked);
 
+        /**
+         * Called instead of {@link #onChartLineCheckBoxStateChanged(String, boolean)} when several checkboxes are changed at once
+         * @param states - new states of the changed checkboxes by ids of related ChartPointsData
+         */
+        void onChartLinesCheckBoxesStateChanged(Map<String, Boolean> states);
+
     }
 
+    private static final int MAX_CHECKBOXES_COUNT = 20;
+    private static final int PAGE_SIZE = 12;
+
+    private static final int NAVIGATION_TEXT_COLOR = Color.GRAY;
+
     private Listener mListener;
 
+    private ChartLinesData<DateCoordinate, LongCoordinate> mChartData;
+
+    // Checked state of each line - checkboxes of the lines are bound to them
+    private boolean[] mCheckedStates;
+
+    // Checkboxes which are bound to the lines of the current page. Checkbox of each line if there are no pages
+    private final List<ChartCheckBox> mCheckBoxes = new ArrayList<>();
+
+    // Index of the first line of the current page
+    private int mPageStart;
+
+    // Null if there are no pages
+    private LinearLayout mNavigationView;
+    private TextView mPageTextView;
+
     private int mCheckBoxTextColor = Color.WHITE;
 
     private int mMargin = ChartUtils.getPixelForDp(getContext(), 4);
@@ -50,24 +87,52 @@ public class ChartCheckBoxesContainer extends LinearLayout implements View.OnCli
             return;
         }
 
-        // Clear previous views (consider caching)
+        mChartData = chartData;
+        int linesCount = chartData.getYPoints().size();
+        mCheckedStates = new boolean[linesCount];
+        Arrays.fill(mCheckedStates, true);
+        mCheckedCheckboxesCount = linesCount;
+        mPageStart = 0;
+
+        int height = ChartUtils.getPixelForDp(getContext(), 30);
+        mCheckBoxes.clear();
+        int checkBoxesCount = linesCount > MAX_CHECKBOXES_COUNT ? PAGE_SIZE : linesCount;
+        for (int i = 0; i < checkBoxesCount; i++) {
+            ChartCheckBox toggleView = createToggleView(getContext(), height, mMargin);
+            toggleView.setCheckedTextColor(mCheckBoxTextColor);
+            toggleView.setOnClickListener(this);
+            toggleView.setOnLongClickListener(this);
+            mCheckBoxes.add(toggleView);
+        }
+        mNavigationView = linesCount > MAX_CHECKBOXES_COUNT ? createNavigationView(height) : null;
+
+        bindCheckBoxes();
+    }
+
+    /**
+     * Binds checkboxes to the lines of the current page and places them by rows
+     */
+    private void bindCheckBoxes() {
+        // Clear previous rows
         removeAllViews();
 
         float measuredWidth = 0;
 
         int height = ChartUtils.getPixelForDp(getContext(), 30);
+        List<ChartPointsData<LongCoordinate>> lines = mChartData.getYPoints();
         LinearLayout container = createHorizontalContainer(height);
-        for (int i = 0; i < chartData.getYPoints().size(); i++) {
-            ChartPointsData<LongCoordinate> lineData = chartData.getYPoints().get(i);
-            ChartCheckBox toggleView = createToggleView(getContext(), height, mMargin);
+        for (int i = 0; i < mCheckBoxes.size() && mPageStart + i < lines.size(); i++) {
+            int lineIndex = mPageStart + i;
+            ChartPointsData<LongCoordinate> lineData = lines.get(lineIndex);
+            ChartCheckBox toggleView = mCheckBoxes.get(i);
+            if (toggleView.getParent() != null) {
+                ((ViewGroup) toggleView.getParent()).removeView(toggleView);
+            }
             toggleView.setText(lineData.getName());
             toggleView.setColor(lineData.getColor());
-            toggleView.setCheckedTextColor(mCheckBoxTextColor);
             toggleView.setTag(lineData);
-            toggleView.setChecked(true);
-            mCheckedCheckboxesCount++;
-            toggleView.setOnClickListener(this);
-            toggleView.setOnLongClickListener(this);
+            toggleView.setChecked(mCheckedStates[lineIndex]);
+            toggleView.requestLayout();
 
             measuredWidth += toggleView.measureWidth(height) + mMargin;
             if (measuredWidth > getWidth()) {
@@ -79,11 +144,67 @@ public class ChartCheckBoxesContainer extends LinearLayout implements View.OnCli
             container.addView(toggleView);
         }
         addView(container);
+        if (mNavigationView != null) {
+            int pageEnd = Math.min(mPageStart + PAGE_SIZE, lines.size());
+            mPageTextView.setText(String.format(Locale.US, "%d-%d of %d", mPageStart + 1, pageEnd, lines.size()));
+            addView(mNavigationView);
+        }
 
         getLayoutParams().height = (height + mMargin) * getChildCount();
         requestLayout();
     }
 
+    private LinearLayout createNavigationView(int height) {
+        LinearLayout container = createHorizontalContainer(height);
+        container.addView(createNavigationButton("All", v -> checkAll()));
+        container.addView(createNavigationButton("<", v -> showPage(mPageStart - PAGE_SIZE)));
+        mPageTextView = createNavigationButton("", null);
+        container.addView(mPageTextView);
+        container.addView(createNavigationButton(">", v -> showPage(mPageStart + PAGE_SIZE)));
+        return container;
+    }
+
+    private TextView createNavigationButton(String text, View.OnClickListener listener) {
+        TextView textView = new TextView(getContext());
+        textView.setText(text);
+        textView.setTextSize(TypedValue.COMPLEX_UNIT_DIP, 14);
+        textView.setTextColor(NAVIGATION_TEXT_COLOR);
+        textView.setGravity(Gravity.CENTER);
+        int padding = mMargin * 2;
+        textView.setPadding(padding, 0, padding, 0);
+        textView.setLayoutParams(new LinearLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        if (listener != null) {
+            textView.setOnClickListener(listener);
+        }
+        return textView;
+    }
+
+    private void showPage(int pageStart) {
+        if (pageStart < 0 || pageStart >= mCheckedStates.length) {
+            return;
+        }
+        mPageStart = pageStart;
+        bindCheckBoxes();
+    }
+
+    private void checkAll() {
+        Map<String, Boolean> changedStates = new HashMap<>();
+        List<ChartPointsData<LongCoordinate>> lines = mChartData.getYPoints();
+        for (int i = 0; i < lines.size(); i++) {
+            if (!mCheckedStates[i]) {
+                mCheckedStates[i] = true;
+                changedStates.put(lines.get(i).getId(), true);
+            }
+        }
+        mCheckedCheckboxesCount = lines.size();
+        for (int i = 0; i < mCheckBoxes.size(); i++) {
+            mCheckBoxes.get(i).setChecked(true);
+        }
+        if (mListener != null && !changedStates.isEmpty()) {
+            mListener.onChartLinesCheckBoxesStateChanged(changedStates);
+        }
+    }
+
     private LinearLayout createHorizontalContainer(int height) {
         LinearLayout container = new LinearLayout(getContext());
         container.setOrientation(HORIZONTAL);
@@ -110,45 +231,44 @@ public class ChartCheckBoxesContainer extends LinearLayout implements View.OnCli
             mCheckedCheckboxesCount--;
         }
 
+        ChartPointsData chartPointsData = (ChartPointsData) checkBox.getTag();
+        mCheckedStates[mChartData.getYPointsIndex(chartPointsData.getId())] = checkBox.isChecked();
         if (mListener != null) {
-            ChartPointsData chartPointsData = (ChartPointsData) checkBox.getTag();
             mListener.onChartLineCheckBoxStateChanged(chartPointsData.getId(), checkBox.isChecked());
         }
     }
 
     @Override
     public boolean onLongClick(View v) {
-        for (int i = 0; i < getChildCount(); i++) {
-            ViewGroup child = (ViewGroup) getChildAt(i);
-            for (int j = 0; j < child.getChildCount(); j++) {
-                ChartCheckBox checkBox = (ChartCheckBox) child.getChildAt(j);
-                boolean checked = checkBox == v;
-                if (mListener != null && checked != checkBox.isChecked()) {
-                    ChartPointsData chartPointsData = (ChartPointsData) checkBox.getTag();
-                    mListener.onChartLineCheckBoxStateChanged(chartPointsData.getId(), checked);
-                }
-                if (checkBox.isChecked() != checked) {
-                    checkBox.setChecked(checked);
-                    if (checkBox.isChecked()) {
-                        mCheckedCheckboxesCount++;
-                    } else {
-                        mCheckedCheckboxesCount--;
-                    }
-                }
+        // Only the clicked line stays checked, including lines of the other pages. All changes are notified at once
+        String checkedId = ((ChartPointsData) v.getTag()).getId();
+        Map<String, Boolean> changedStates = new HashMap<>();
+        List<ChartPointsData<LongCoordinate>> lines = mChartData.getYPoints();
+        for (int i = 0; i < lines.size(); i++) {
+            String id = lines.get(i).getId();
+            boolean checked = id.equals(checkedId);
+            if (mCheckedStates[i] != checked) {
+                mCheckedStates[i] = checked;
+                changedStates.put(id, checked);
             }
         }
+        mCheckedCheckboxesCount = 1;
+        for (int i = 0; i < mCheckBoxes.size(); i++) {
+            ChartCheckBox checkBox = mCheckBoxes.get(i);
+            checkBox.setChecked(checkBox == v);
+        }
+        if (mListener != null && !changedStates.isEmpty()) {
+            mListener.onChartLinesCheckBoxesStateChanged(changedStates);
+        }
         return true;
     }
 
     public void setTextColor(int textColor) {
         mCheckBoxTextColor = textColor;
-        for (int i = 0; i < getChildCount(); i++) {
-            ViewGroup child = (ViewGroup) getChildAt(i);
-            for (int j = 0; j < child.getChildCount(); j++) {
-                ChartCheckBox view = (ChartCheckBox)child.getChildAt(j);
-                view.setCheckedTextColor(mCheckBoxTextColor);
-                view.invalidate();
-            }
+        for (int i = 0; i < mCheckBoxes.size(); i++) {
+            ChartCheckBox view = mCheckBoxes.get(i);
+            view.setCheckedTextColor(mCheckBoxTextColor);
+            view.invalidate();
         }
     }
 
@@ -0,0 +1,69 @@
+package com.dlutskov.chart_lib.benchmarks;
+
+import com.dlutskov.chart_lib.data.ChartDataGenerator;
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Synthetic datasets for the benchmarks. Dataset is described by the name in "<points>_x<series>" format,
+ * e.g. "1k_x2" - 1 000 points in each of 2 series, "10m_x2" - 10 000 000 points in each of 2 series.
+ * Data is generated by {@link ChartDataGenerator} from the fixed seed, so each run measures the same values.
+ * Each Y value takes about 40 bytes of heap and each X value about 56 bytes, so the largest datasets
+ * (10m_x2 and 1m_x50) take about 1.4GB and 2.1GB
+ */
+final class BenchmarkData {
+
+    private static final long SEED = 42;
+
+    private BenchmarkData() {}
+
+    static int parsePointsCount(String dataset) {
+        String points = dataset.substring(0, dataset.indexOf("_x"));
+        char suffix = Character.toLowerCase(points.charAt(points.length() - 1));
+        switch (suffix) {
+            case 'k':
+                return Integer.parseInt(points.substring(0, points.length() - 1)) * 1_000;
+            case 'm':
+                return Integer.parseInt(points.substring(0, points.length() - 1)) * 1_000_000;
+            default:
+                return Integer.parseInt(points);
+        }
+    }
+
+    static int parseSeriesCount(String dataset) {
+        return Integer.parseInt(dataset.substring(dataset.indexOf("_x") + 2));
+    }
+
+    /**
+     * Creates line chart data with random walk Y values
+     */
+    static ChartLinesData<DateCoordinate, LongCoordinate> createLinesData(String dataset) {
+        return createGenerator(dataset).generate();
+    }
+
+    /**
+     * Creates JSON in the same format as the app chart assets, which can be parsed by ChartDataParser
+     */
+    static byte[] createJson(String dataset) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try {
+            createGenerator(dataset).writeJson(stream);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return stream.toByteArray();
+    }
+
+    private static ChartDataGenerator createGenerator(String dataset) {
+        return new ChartDataGenerator()
+                .setSeed(SEED)
+                .setPointsCount(parsePointsCount(dataset))
+                .setSeriesCount(parseSeriesCount(dataset))
+                .setDistribution(ChartDataGenerator.Distribution.RANDOM_WALK);
+    }
+
+}
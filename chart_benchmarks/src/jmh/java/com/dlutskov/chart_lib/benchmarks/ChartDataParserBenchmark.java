@@ -0,0 +1,44 @@
+package com.dlutskov.chart_lib.benchmarks;
+
+import com.dlutskov.chart_lib.data.ChartDataParser;
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChartDataParser.parse of the JSON in the app assets format
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ChartDataParserBenchmark {
+
+    @Param({"1k_x2", "1k_x50", "100k_x2", "100k_x10", "1m_x10"})
+    public String dataset;
+
+    private byte[] mJson;
+
+    @Setup
+    public void setUp() {
+        mJson = BenchmarkData.createJson(dataset);
+    }
+
+    @Benchmark
+    public ChartLinesData<DateCoordinate, LongCoordinate> parse() throws IOException {
+        return ChartDataParser.parse(new ByteArrayInputStream(mJson));
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.dlutskov.chart_lib.benchmarks;
+
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LongCoordinate operations which are performed by the bounds animator on each frame and each target change
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CoordinateArithmeticBenchmark {
+
+    private final LongCoordinate mStart = LongCoordinate.valueOf(1_250);
+    private final LongCoordinate mTarget = LongCoordinate.valueOf(98_400);
+    private final LongCoordinate mNewTarget = LongCoordinate.valueOf(76_300);
+    private final LongCoordinate mCurrent = LongCoordinate.valueOf(0);
+    private final LongCoordinate mDistance = LongCoordinate.valueOf(0);
+    private final LongCoordinate mNewDistance = LongCoordinate.valueOf(0);
+    private final LongCoordinate mZero = LongCoordinate.valueOf(0);
+
+    private float mProgress;
+
+    /**
+     * Interpolation of the current value by the progress - performed on each animation frame
+     */
+    @Benchmark
+    public LongCoordinate interpolate() {
+        mProgress = mProgress >= 1 ? 0 : mProgress + 0.01f;
+        mStart.distanceTo(mTarget, mCurrent);
+        mCurrent.getPart(mProgress, mCurrent);
+        return mStart.add(mCurrent, mCurrent);
+    }
+
+    /**
+     * Velocity rescaling ratio - calculated on each target change
+     */
+    @Benchmark
+    public float retargetRatio() {
+        mStart.distanceTo(mTarget, mDistance);
+        mCurrent.distanceTo(mNewTarget, mNewDistance);
+        return mDistance.calcCoordinateRatio(mZero, mNewDistance);
+    }
+
+    @Benchmark
+    public int compare() {
+        return mTarget.compareTo(mNewTarget);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.dlutskov.chart_lib.benchmarks;
+
+import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChartPointsData.calculateMinMaxIndexes of the single series, which is used by the scaled lines and Y labels drawers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MinMaxIndexesBenchmark {
+
+    @Param({"1k_x2", "100k_x2", "1m_x2", "10m_x2"})
+    public String dataset;
+
+    private ChartPointsData<LongCoordinate> mPointsData;
+    private final int[] mResult = new int[2];
+
+    @Setup
+    public void setUp() {
+        mPointsData = BenchmarkData.createLinesData(dataset).getYPoints().get(0);
+    }
+
+    @Benchmark
+    public int[] allPoints() {
+        return ChartPointsData.calculateMinMaxIndexes(mPointsData, 0, mPointsData.getPoints().size() - 1, mResult);
+    }
+
+}
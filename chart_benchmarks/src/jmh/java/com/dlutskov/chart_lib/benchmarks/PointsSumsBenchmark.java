@@ -0,0 +1,91 @@
+package com.dlutskov.chart_lib.benchmarks;
+
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.ChartPointsSums;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums which are calculated by the pie chart (sum of each series in the range)
+ * and by the percentage charts (weighted sum of all series for each X point)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointsSumsBenchmark {
+
+    // Size of the visible window in points
+    private static final int WINDOW_SIZE = 1000;
+
+    @Param({"1k_x2", "1k_x50", "100k_x2", "100k_x10", "100k_x50", "1m_x10", "1m_x50", "10m_x2"})
+    public String dataset;
+
+    private List<ChartPointsData<LongCoordinate>> mLines;
+    private ChartPointsSums.RangeSum<LongCoordinate> mRangeSum;
+    private float[] mWeights;
+
+    private final LongCoordinate mZero = LongCoordinate.valueOf(0);
+    private final LongCoordinate mBuf = LongCoordinate.valueOf(0);
+    private final LongCoordinate mResult = LongCoordinate.valueOf(0);
+
+    private int mPointsCount;
+    private int mWindowStart;
+
+    @Setup
+    public void setUp() {
+        ChartLinesData<DateCoordinate, LongCoordinate> data = BenchmarkData.createLinesData(dataset);
+        mLines = data.getYPoints();
+        mPointsCount = data.getXPoints().getPoints().size();
+        mRangeSum = new ChartPointsSums.RangeSum<>(mLines.get(0).getPoints(), mZero);
+        // First line is hidden, second one is appearing, others are visible
+        mWeights = new float[mLines.size()];
+        for (int i = 0; i < mWeights.length; i++) {
+            mWeights[i] = i == 0 ? 0 : i == 1 ? 0.5f : 1;
+        }
+    }
+
+    /**
+     * Sum of the single series for all points - pie chart without previous calculations
+     */
+    @Benchmark
+    public LongCoordinate pieRangeSum() {
+        return ChartPointsSums.sumRange(mLines.get(0).getPoints(), 0, mPointsCount - 1, mZero, mResult);
+    }
+
+    /**
+     * Incremental sum of the single series for the window which is moved by each call as by panning
+     */
+    @Benchmark
+    public LongCoordinate piePanRangeSum() {
+        int windowSize = Math.min(WINDOW_SIZE, mPointsCount);
+        int start = mWindowStart;
+        mWindowStart = start + windowSize >= mPointsCount ? 0 : start + 1;
+        return mRangeSum.calculate(start, start + windowSize - 1);
+    }
+
+    /**
+     * Weighted sums of all series for each point - percentage chart rebuild
+     */
+    @Benchmark
+    public LongCoordinate percentageSums() {
+        LongCoordinate result = mResult;
+        for (int i = 0; i < mPointsCount; i++) {
+            result = ChartPointsSums.sumWeighted(mLines, i, mWeights, mZero, mBuf, mResult);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.dlutskov.chart_lib.benchmarks;
+
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.chart_lib.utils.Pair;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChartLinesData.calculateYBounds for the whole data and for the visible window which is moved by each call as by panning
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class YBoundsBenchmark {
+
+    // Size of the visible window in points
+    private static final int WINDOW_SIZE = 1000;
+
+    @Param({"1k_x2", "1k_x50", "100k_x2", "100k_x10", "100k_x50", "1m_x10", "1m_x50", "10m_x2"})
+    public String dataset;
+
+    @Param({"false", "true"})
+    public boolean stacked;
+
+    private ChartLinesData<DateCoordinate, LongCoordinate> mData;
+    private final Set<String> mHiddenLines = new HashSet<>();
+    private final Pair<LongCoordinate, LongCoordinate> mResult = new Pair<>(null, null);
+
+    private int mPointsCount;
+    private int mWindowStart;
+
+    @Setup
+    public void setUp() {
+        mData = BenchmarkData.createLinesData(dataset);
+        mData.setStacked(stacked);
+        mPointsCount = mData.getXPoints().getPoints().size();
+        // One of the lines is always hidden as the set lookup is a part of the calculations
+        mHiddenLines.clear();
+        mHiddenLines.add(mData.getYPoints().get(0).getId());
+    }
+
+    @Benchmark
+    public Pair<LongCoordinate, LongCoordinate> allPoints() {
+        return mData.calculateYBounds(0, mPointsCount - 1, mHiddenLines, mResult);
+    }
+
+    @Benchmark
+    public Pair<LongCoordinate, LongCoordinate> allPointsNoHiddenLines() {
+        return mData.calculateYBounds(0, mPointsCount - 1, Collections.<String>emptySet(), mResult);
+    }
+
+    @Benchmark
+    public Pair<LongCoordinate, LongCoordinate> panWindow() {
+        int windowSize = Math.min(WINDOW_SIZE, mPointsCount);
+        int start = mWindowStart;
+        mWindowStart = start + windowSize >= mPointsCount ? 0 : start + 1;
+        return mData.calculateYBounds(start, start + windowSize - 1, mHiddenLines, mResult);
+    }
+
+}
@@ -5,6 +5,8 @@ import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 /**
  * Contains appropriate x and y boundaries
  * As all y points has the same x values - collection indexes used for x values for better looping
+ * Bounds keep own copies of Y values, so the same instance can be reused for frequent updates
+ * without being affected by changes of the coordinates which were passed to it
  * @param <X> type of x axis chart coordinates
  * @param <Y> type of Y axis chart coordinates
  */
@@ -30,8 +32,8 @@ public class ChartBounds<X extends ChartCoordinate, Y extends ChartCoordinate> {
     public void update(int minXIndex, int maxXIndex, Y minY, Y maxY) {
         this.mMinXIndex = minXIndex;
         this.mMaxXIndex = maxXIndex;
-        this.mMinY = minY;
-        this.mMaxY = maxY;
+        this.mMinY = copy(minY, mMinY);
+        this.mMaxY = copy(maxY, mMaxY);
     }
 
     public int getMinXIndex() {
@@ -55,7 +57,7 @@ public class ChartBounds<X extends ChartCoordinate, Y extends ChartCoordinate> {
     }
 
     public void setMaxY(Y maxY) {
-        this.mMaxY = maxY;
+        this.mMaxY = copy(maxY, mMaxY);
     }
 
     public Y getMinY() {
@@ -63,13 +65,20 @@ public class ChartBounds<X extends ChartCoordinate, Y extends ChartCoordinate> {
     }
 
     public void setMinY(Y minY) {
-        this.mMinY = minY;
+        this.mMinY = copy(minY, mMinY);
     }
 
     public int getXPointsCount() {
         return mMaxXIndex - mMinXIndex;
     }
 
+    /**
+     * @return Value which reflects x index position between min and max x indexes (0 - min, 1 - max)
+     */
+    public float calcXCoordinateRatio(int xIndex) {
+        return (xIndex - mMinXIndex) / (float) getXPointsCount();
+    }
+
     public float calcYCoordinateRatio(Y coordinate) {
         return coordinate.calcCoordinateRatio(mMinY, mMaxY);
     }
@@ -86,11 +95,26 @@ public class ChartBounds<X extends ChartCoordinate, Y extends ChartCoordinate> {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
-        ChartBounds<?, ?> that = (ChartBounds<?, ?>) o;
-        return mMinXIndex == that.mMinXIndex &&
-                mMaxXIndex == that.mMaxXIndex &&
-                mMaxY.equals(that.mMaxY) &&
-                mMinY.equals(that.mMinY);
+        ChartBounds<X, Y> that = (ChartBounds<X, Y>) o;
+        if (mMinXIndex != that.mMinXIndex || mMaxXIndex != that.mMaxXIndex) return false;
+        if (mMinY == null || mMaxY == null || that.mMinY == null || that.mMaxY == null) {
+            return mMinY == that.mMinY && mMaxY == that.mMaxY;
+        }
+        return isYBoundsEquals(that);
+    }
+
+    /**
+     * Copies value to the target instance if possible, otherwise creates new copy
+     */
+    private Y copy(Y value, Y target) {
+        if (value == null) {
+            return null;
+        }
+        if (target == null || target.getClass() != value.getClass()) {
+            return (Y) value.clone();
+        }
+        target.set(value);
+        return target;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.dlutskov.chart_lib;
+
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.utils.Pair;
+
+import java.util.Set;
+
+/**
+ * Calculates chart bounds for the specified x range according to the visible lines.
+ * Writes results into passed bounds and doesn't create new objects, so it can be called on each pan event
+ * @param <X> type of x axis chart coordinates
+ * @param <Y> type of Y axis chart coordinates
+ */
+public class ChartBoundsCalculator<X extends ChartCoordinate, Y extends ChartCoordinate> {
+
+    // By default Y bounds are calculated depends on the visible data. Values below used to force
+    // use specified min max values not depend on the chart's data
+    private Y mMinYValue;
+    private Y mMaxYValue;
+
+    // Used to calculate minY and maxY to not create new instance on each calculations
+    private final Pair<Y, Y> mYBoundsPair = new Pair<>(null, null);
+
+    /**
+     * @param data - chart data for the calculations
+     * @param hiddenChartLines - ids of the lines which don't take part in calculations
+     * @param resultBounds - bounds where calculated values will be written
+     */
+    public void calculate(ChartLinesData<X, Y> data, int minXIndex, int maxXIndex, Set<String> hiddenChartLines,
+                          ChartBounds<X, Y> resultBounds) {
+        if (resultBounds.getMinY() != null && resultBounds.getMaxY() != null && (data.isYScaled() || data.isPercentage())) {
+            // For scaled graphs - each drawer will calculate local bounds for related graph
+            // For percentage graphs - all percentages also will be calculated by the drawer
+            // No need to calculate common Y bounds
+            resultBounds.setMinXIndex(minXIndex);
+            resultBounds.setMaxXIndex(maxXIndex);
+            return;
+        }
+
+        data.calculateYBounds(minXIndex, maxXIndex, hiddenChartLines, mYBoundsPair);
+        if (mMinYValue != null && mMinYValue.compareTo(mYBoundsPair.first) < 0) {
+            mYBoundsPair.first = mMinYValue;
+        }
+        if (mMaxYValue != null && mMaxYValue.compareTo(mYBoundsPair.second) > 0) {
+            mYBoundsPair.second = mMaxYValue;
+        }
+        resultBounds.update(minXIndex, maxXIndex, mYBoundsPair.first, mYBoundsPair.second);
+    }
+
+    public void setMinYValue(Y minYValue) {
+        mMinYValue = minYValue;
+    }
+
+    public void setMaxYValue(Y maxYValue) {
+        mMaxYValue = maxYValue;
+    }
+
+}
@@ -0,0 +1,312 @@
+package com.dlutskov.chart_lib.data;
+
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic chart data of any size for load testing and benchmarks.
+ * Generation is deterministic - the same configuration and seed always produce the same values,
+ * both for {@link #generate()} and {@link #writeJson(OutputStream)}
+ */
+public class ChartDataGenerator {
+
+    /**
+     * Distribution of the Y values between min and max values
+     */
+    public enum Distribution {
+        /**
+         * Each value is a random step from the previous one
+         */
+        RANDOM_WALK,
+        /**
+         * Independent uniformly distributed values
+         */
+        UNIFORM,
+        /**
+         * Independent normally distributed values around the middle of the range
+         */
+        NORMAL,
+        /**
+         * Weekly periodic values with some noise
+         */
+        SEASONAL
+    }
+
+    private static final int[] COLORS = {
+            0xFF3DC23F, 0xFFF34C44, 0xFF108BE3, 0xFFE8AF14, 0xFF64ADED, 0xFF9ED448, 0xFF5FB641, 0xFFF5BD25,
+            0xFFF79E39, 0xFFE65850, 0xFF3896E8, 0xFF558DED, 0xFF4BD964, 0xFFFE3C30, 0xFF8E8E93, 0xFF9C6FE4
+    };
+
+    // Period of the seasonal values in points
+    private static final int SEASON_LENGTH = 7;
+
+    private long mSeed = 1;
+    private int mPointsCount = 1000;
+    private int mSeriesCount = 2;
+    private long mStartTime = 1_546_300_800_000L;
+    private long mTimeStep = 86_400_000L;
+    private long mMinValue = 0;
+    private long mMaxValue = 10_000;
+    private Distribution mDistribution = Distribution.RANDOM_WALK;
+    private String mChartType = ChartLinesData.CHART_TYPE_LINE;
+
+    private float mGapsRatio;
+    private int mGapLength = 10;
+
+    private boolean isPercentage;
+    private boolean isStacked;
+    private boolean isYScaled;
+
+    public ChartDataGenerator setSeed(long seed) {
+        mSeed = seed;
+        return this;
+    }
+
+    public ChartDataGenerator setPointsCount(int pointsCount) {
+        if (pointsCount < 1) {
+            throw new IllegalArgumentException("Points count should be positive");
+        }
+        mPointsCount = pointsCount;
+        return this;
+    }
+
+    public ChartDataGenerator setSeriesCount(int seriesCount) {
+        if (seriesCount < 1) {
+            throw new IllegalArgumentException("Series count should be positive");
+        }
+        mSeriesCount = seriesCount;
+        return this;
+    }
+
+    /**
+     * @param startTime - timestamp of the first point
+     * @param timeStep - time between points
+     */
+    public ChartDataGenerator setTime(long startTime, long timeStep) {
+        mStartTime = startTime;
+        mTimeStep = timeStep;
+        return this;
+    }
+
+    public ChartDataGenerator setValuesRange(long minValue, long maxValue) {
+        if (minValue > maxValue) {
+            throw new IllegalArgumentException("Min value is bigger than max value");
+        }
+        mMinValue = minValue;
+        mMaxValue = maxValue;
+        return this;
+    }
+
+    public ChartDataGenerator setDistribution(Distribution distribution) {
+        mDistribution = distribution;
+        return this;
+    }
+
+    /**
+     * @param chartType - one of the {@link ChartLinesData} chart types which is set to all Y series
+     */
+    public ChartDataGenerator setChartType(String chartType) {
+        mChartType = chartType;
+        return this;
+    }
+
+    /**
+     * Chart data can't have missing values, so gaps are series of zero values
+     * @param gapsRatio - approximate part of points from 0 to 1 which are in gaps
+     * @param gapLength - length of each gap in points
+     */
+    public ChartDataGenerator setGaps(float gapsRatio, int gapLength) {
+        if (gapsRatio < 0 || gapsRatio >= 1 || gapLength < 1) {
+            throw new IllegalArgumentException("Wrong gaps params");
+        }
+        mGapsRatio = gapsRatio;
+        mGapLength = gapLength;
+        return this;
+    }
+
+    public ChartDataGenerator setPercentage(boolean percentage) {
+        isPercentage = percentage;
+        return this;
+    }
+
+    public ChartDataGenerator setStacked(boolean stacked) {
+        isStacked = stacked;
+        return this;
+    }
+
+    /**
+     * @param yScaled - if true each next series has 10 times bigger values than the previous one (cyclically by 3 series)
+     */
+    public ChartDataGenerator setYScaled(boolean yScaled) {
+        isYScaled = yScaled;
+        return this;
+    }
+
+    public ChartLinesData<DateCoordinate, LongCoordinate> generate() {
+        List<DateCoordinate> xPoints = new ArrayList<>(mPointsCount);
+        for (int i = 0; i < mPointsCount; i++) {
+            xPoints.add(DateCoordinate.valueOf(mStartTime + i * mTimeStep));
+        }
+        List<ChartPointsData<LongCoordinate>> yLines = new ArrayList<>(mSeriesCount);
+        SeriesGenerator seriesGenerator = new SeriesGenerator();
+        for (int series = 0; series < mSeriesCount; series++) {
+            seriesGenerator.startSeries(series);
+            List<LongCoordinate> yPoints = new ArrayList<>(mPointsCount);
+            for (int i = 0; i < mPointsCount; i++) {
+                yPoints.add(LongCoordinate.valueOf(seriesGenerator.nextValue(i)));
+            }
+            yLines.add(new ChartPointsData<>(getSeriesId(series), getSeriesName(series), mChartType,
+                    getSeriesColor(series), yPoints));
+        }
+        ChartLinesData<DateCoordinate, LongCoordinate> result = new ChartLinesData<>(
+                new ChartPointsData<>(ChartLinesData.CHART_TYPE_X, ChartLinesData.CHART_TYPE_X, ChartLinesData.CHART_TYPE_X, 0, xPoints), yLines);
+        result.setPercentage(isPercentage);
+        result.setStacked(isStacked);
+        result.setYScaled(isYScaled);
+        return result;
+    }
+
+    /**
+     * Writes generated data in the JSON format which is read by {@link ChartDataParser}.
+     * Values are streamed, so the data can be bigger than available memory. Stream is not closed
+     */
+    public void writeJson(OutputStream stream) throws IOException {
+        JsonGenerator generator = new JsonFactory().createGenerator(stream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+
+        generator.writeArrayFieldStart("columns");
+        generator.writeStartArray();
+        generator.writeString(ChartLinesData.CHART_TYPE_X);
+        for (int i = 0; i < mPointsCount; i++) {
+            generator.writeNumber(mStartTime + i * mTimeStep);
+        }
+        generator.writeEndArray();
+        SeriesGenerator seriesGenerator = new SeriesGenerator();
+        for (int series = 0; series < mSeriesCount; series++) {
+            seriesGenerator.startSeries(series);
+            generator.writeStartArray();
+            generator.writeString(getSeriesId(series));
+            for (int i = 0; i < mPointsCount; i++) {
+                generator.writeNumber(seriesGenerator.nextValue(i));
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+
+        generator.writeObjectFieldStart("types");
+        generator.writeStringField(ChartLinesData.CHART_TYPE_X, ChartLinesData.CHART_TYPE_X);
+        for (int series = 0; series < mSeriesCount; series++) {
+            generator.writeStringField(getSeriesId(series), mChartType);
+        }
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("names");
+        for (int series = 0; series < mSeriesCount; series++) {
+            generator.writeStringField(getSeriesId(series), getSeriesName(series));
+        }
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("colors");
+        for (int series = 0; series < mSeriesCount; series++) {
+            generator.writeStringField(getSeriesId(series), String.format("#%06X", getSeriesColor(series) & 0xFFFFFF));
+        }
+        generator.writeEndObject();
+
+        generator.writeBooleanField("percentage", isPercentage);
+        generator.writeBooleanField("stacked", isStacked);
+        generator.writeBooleanField("y_scaled", isYScaled);
+
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    private static String getSeriesId(int series) {
+        return "y" + series;
+    }
+
+    private static String getSeriesName(int series) {
+        return "Series " + (series + 1);
+    }
+
+    private static int getSeriesColor(int series) {
+        return COLORS[series % COLORS.length];
+    }
+
+    /**
+     * Generates values of the single series. Random generator of each series is seeded by the series index,
+     * so the series values don't depend on the generation order
+     */
+    private class SeriesGenerator {
+
+        private final Random mRandom = new Random();
+
+        private long mMin;
+        private long mMax;
+        private double mPhase;
+
+        private long mPrevValue;
+        // Count of the points which are left in the current gap
+        private int mGapPointsLeft;
+
+        void startSeries(int series) {
+            mRandom.setSeed(mSeed * 31 + series);
+            long scale = 1;
+            if (isYScaled) {
+                for (int i = 0; i < series % 3; i++) {
+                    scale *= 10;
+                }
+            }
+            mMin = mMinValue * scale;
+            mMax = mMaxValue * scale;
+            mPhase = mRandom.nextDouble() * SEASON_LENGTH;
+            mPrevValue = mMin + (long) (mRandom.nextDouble() * (mMax - mMin));
+            mGapPointsLeft = 0;
+        }
+
+        long nextValue(int index) {
+            // Value is always generated to not change values after the gap
+            long value = clamp(generateValue(index));
+            mPrevValue = value;
+            if (mGapPointsLeft > 0) {
+                mGapPointsLeft--;
+                return 0;
+            }
+            if (mGapsRatio > 0 && mRandom.nextFloat() < mGapsRatio / mGapLength) {
+                mGapPointsLeft = mGapLength - 1;
+                return 0;
+            }
+            return value;
+        }
+
+        private double generateValue(int index) {
+            double range = mMax - mMin;
+            switch (mDistribution) {
+                case UNIFORM:
+                    return mMin + mRandom.nextDouble() * range;
+                case NORMAL:
+                    return mMin + range / 2 + mRandom.nextGaussian() * range / 6;
+                case SEASONAL:
+                    double season = Math.sin(2 * Math.PI * (index + mPhase) / SEASON_LENGTH);
+                    return mMin + range / 2 + season * range / 3 + mRandom.nextGaussian() * range / 20;
+                case RANDOM_WALK:
+                default:
+                    return mPrevValue + mRandom.nextGaussian() * range / 100;
+            }
+        }
+
+        private long clamp(double value) {
+            return Math.max(mMin, Math.min(mMax, Math.round(value)));
+        }
+    }
+
+}
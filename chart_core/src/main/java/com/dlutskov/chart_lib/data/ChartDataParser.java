@@ -1,9 +1,5 @@
-package com.dlutskov.chart.data;
+package com.dlutskov.chart_lib.data;
 
-import android.graphics.Color;
-
-import com.dlutskov.chart_lib.data.ChartLinesData;
-import com.dlutskov.chart_lib.data.ChartPointsData;
 import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
 import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
 import com.fasterxml.jackson.core.JsonFactory;
@@ -18,8 +14,8 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Parsing using default org.json parser. Stream parser (like Jackson) is much faster but
- * not used to not include any 3rd party libs and to reduce final apk size
+ * Parses chart data from JSON stream by Jackson streaming parser.
+ * Doesn't depend on Android, so can be used in the pure java modules (tests, benchmarks)
  */
 public class ChartDataParser {
 
@@ -73,7 +69,7 @@ public class ChartDataParser {
                 xPoints = new ChartPointsData<>(chartColumnData.id, chartColumnData.name, chartColumnData.type, 0,
                         createDateCoordinates(chartColumnData.points));
             } else {
-                yPoints.add(new ChartPointsData<>(chartColumnData.id, chartColumnData.name, chartColumnData.type, Color.parseColor(chartColumnData.color),
+                yPoints.add(new ChartPointsData<>(chartColumnData.id, chartColumnData.name, chartColumnData.type, parseColor(chartColumnData.color),
                         createLongCoordinates(chartColumnData.points)));
             }
         }
@@ -135,6 +131,23 @@ public class ChartDataParser {
         void parse(ChartColumnData chartData, JsonToken token) throws IOException;
     }
 
+    /**
+     * Parses color in the #RRGGBB or #AARRGGBB format. Same as android.graphics.Color.parseColor for these formats
+     */
+    static int parseColor(String colorString) {
+        if (colorString != null && colorString.length() > 0 && colorString.charAt(0) == '#') {
+            long color = Long.parseLong(colorString.substring(1), 16);
+            if (colorString.length() == 7) {
+                // Set the alpha value
+                color |= 0x00000000ff000000;
+                return (int) color;
+            } else if (colorString.length() == 9) {
+                return (int) color;
+            }
+        }
+        throw new IllegalArgumentException("Unknown color: " + colorString);
+    }
+
     private static List<LongCoordinate> createLongCoordinates(List<Long> points) {
         List<LongCoordinate> result = new ArrayList<>(points.size());
         for (Long point : points) {
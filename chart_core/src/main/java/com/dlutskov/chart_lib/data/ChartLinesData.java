@@ -0,0 +1,193 @@
+package com.dlutskov.chart_lib.data;
+
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.utils.Pair;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contains all data columns of the chart. All points collections should have the same size
+ * @param <X> type of x axis chart coordinates
+ * @param <Y> type of Y axis chart coordinates
+ */
+public class ChartLinesData<X extends ChartCoordinate, Y extends ChartCoordinate> {
+
+    public static final String CHART_TYPE_X = "x";
+    public static final String CHART_TYPE_LINE = "line";
+    public static final String CHART_TYPE_BAR = "bar";
+    public static final String CHART_TYPE_AREA = "area";
+
+    /**
+     * X points collection which is common for all mYPoints
+     */
+    private final ChartPointsData<X> mXPoints;
+
+    /**
+     * Collection of all Y points of lines
+     */
+    private final List<ChartPointsData<Y>> mYPoints;
+
+    // Index of each Y points in the mYPoints by their id
+    private final Map<String, Integer> mYPointsIndexes;
+
+    private boolean isPercentage;
+    private boolean isStacked;
+    private boolean isYScaled;
+
+    private Y zeroY;
+
+    // Cumulative sums of the stacked lines. Created on the first request
+    private ChartStackedSums<Y> mStackedSums;
+
+    // Reusable buffers for stacked bounds calculations
+    private Y mStackedMin;
+    private Y mStackedMax;
+
+    // Reusable buffer for the min and max indexes of each line
+    private final int[] mMinMaxIndexes = new int[2];
+
+    public ChartLinesData(ChartPointsData<X> xPoints, List<ChartPointsData<Y>> yLines) {
+        // Prevent wrong data creation
+        for (ChartPointsData<Y> yPoints : yLines) {
+            if (yPoints.getPoints().size() != xPoints.getPoints().size()) {
+                throw new IllegalArgumentException("All ChartPointsData should have the same size");
+            }
+        }
+        mXPoints = xPoints;
+        mYPoints = yLines;
+        mYPointsIndexes = new HashMap<>(yLines.size() * 2);
+        for (int i = 0; i < yLines.size(); i++) {
+            if (mYPointsIndexes.put(yLines.get(i).getId(), i) != null) {
+                throw new IllegalArgumentException("All ChartPointsData should have unique ids");
+            }
+        }
+        zeroY = (Y) yLines.get(0).getMinValue().zero();
+    }
+
+    public ChartPointsData<X> getXPoints() {
+        return mXPoints;
+    }
+
+    public List<ChartPointsData<Y>> getYPoints() {
+        return mYPoints;
+    }
+
+    /**
+     * @return index of the Y points with the specified id in {@link #getYPoints()} or -1 if there are no such points
+     */
+    public int getYPointsIndex(String pointsId) {
+        Integer index = mYPointsIndexes.get(pointsId);
+        return index != null ? index : -1;
+    }
+
+    public boolean isPercentage() {
+        return isPercentage;
+    }
+
+    public void setPercentage(boolean percentage) {
+        isPercentage = percentage;
+    }
+
+    public boolean isStacked() {
+        return isStacked;
+    }
+
+    public void setStacked(boolean stacked) {
+        isStacked = stacked;
+    }
+
+    public boolean isYScaled() {
+        return isYScaled;
+    }
+
+    public void setYScaled(boolean YScaled) {
+        isYScaled = YScaled;
+    }
+
+    /**
+     * @return cumulative sums of the lines which are shared by the stacked bounds calculations and the stacked drawers
+     */
+    public ChartStackedSums<Y> getStackedSums() {
+        if (mStackedSums == null) {
+            mStackedSums = new ChartStackedSums<>(mYPoints, zeroY);
+        }
+        return mStackedSums;
+    }
+
+    /**
+     * Appends new x point and y point for each line. All points collections should be modifiable
+     * @param yValues - y points in the same order as {@link #getYPoints()}
+     */
+    public void appendPoint(X xValue, Y[] yValues) {
+        if (yValues.length != mYPoints.size()) {
+            throw new IllegalArgumentException("Y values count should be the same as lines count");
+        }
+        for (int i = 0; i < yValues.length; i++) {
+            mYPoints.get(i).addPoint(yValues[i]);
+        }
+        mXPoints.addPoint(xValue);
+    }
+
+    public Pair<Y, Y> calculateYBounds(int minXIndex, int maxXIndex, Set<String> hiddenChartLines, Pair<Y, Y> result) {
+        return isStacked ? calculateStackedYBounds(minXIndex, maxXIndex, hiddenChartLines, result)
+                         : calculateDefaultYBounds(minXIndex, maxXIndex, hiddenChartLines, result);
+    }
+
+    /**
+     * Just finds min and max Y values from all visible chart points.
+     * Range of each line is processed by the kernel of the points type, so only lines min and max values are compared
+     */
+    private Pair<Y, Y> calculateDefaultYBounds(int minXIndex, int maxXIndex, Set<String> hiddenChartLines, Pair<Y, Y> result) {
+        Y minValue = null, maxValue = null;
+        int linesCount = minXIndex <= maxXIndex ? mYPoints.size() : 0;
+        for (int lineIndex = 0; lineIndex < linesCount; lineIndex++) {
+            ChartPointsData<Y> pointsData = mYPoints.get(lineIndex);
+            if (hiddenChartLines.contains(pointsData.getId())) {
+                // Ignore hidden chart lines
+                continue;
+            }
+
+            List<Y> points = pointsData.getPoints();
+            pointsData.getKernel().findMinMaxIndexes(points, minXIndex, maxXIndex, mMinMaxIndexes);
+            Y lineMinValue = points.get(mMinMaxIndexes[0]);
+            Y lineMaxValue = points.get(mMinMaxIndexes[1]);
+            if (minValue == null || lineMinValue.compareTo(minValue) < 0) {
+                minValue = lineMinValue;
+            }
+            if (maxValue == null || lineMaxValue.compareTo(maxValue) > 0) {
+                maxValue = lineMaxValue;
+            }
+        }
+        if (minValue == null) {
+            minValue = zeroY;
+            maxValue = zeroY;
+        }
+        return result.update(minValue, maxValue);
+    }
+
+    /**
+     * Finds min and max SUM of Y values for each X point. Sums are taken from the cached {@link ChartStackedSums},
+     * so only the exact totals of the range are compared by the kernel of the points type
+     * Result values are reused by the next calculations - copy them if they need to be kept
+     */
+    private Pair<Y, Y> calculateStackedYBounds(int minXIndex, int maxXIndex, Set<String> hiddenChartLines, Pair<Y, Y> result) {
+        ChartStackedSums.Layers<Y> layers = getStackedSums().getLayers(hiddenChartLines);
+        if (layers.isEmpty()) {
+            // All lines are hidden
+            return result.update(zeroY, zeroY);
+        }
+        if (mStackedMin == null) {
+            mStackedMin = (Y) zeroY.clone();
+            mStackedMax = (Y) zeroY.clone();
+        }
+        List<Y> totals = layers.getSums(layers.getTopLineIndex());
+        zeroY.getKernel().findMinMaxIndexes(totals, minXIndex, maxXIndex, mMinMaxIndexes);
+        mStackedMin.set(totals.get(mMinMaxIndexes[0]));
+        mStackedMax.set(totals.get(mMinMaxIndexes[1]));
+        return result.update(mStackedMin, mStackedMax);
+    }
+
+}
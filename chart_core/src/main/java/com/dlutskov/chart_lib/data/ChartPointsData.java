@@ -0,0 +1,141 @@
+package com.dlutskov.chart_lib.data;
+
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinateKernel;
+
+import java.util.List;
+
+/**
+ * List of data column in the chart with all related info how to reflect it (X points or Y points)
+ * @param <C> type axis chart coordinates
+ */
+public class ChartPointsData<C extends ChartCoordinate> {
+
+    private final String mId;
+    private final String mName;
+    private final String mType;
+    private final int mColor;
+    private final List<C> mPoints;
+
+    private int mMinValueIndex;
+    private int mMaxValueIndex;
+
+    // Values of the points as ratios between min and max values. Calculated lazily for the points which are
+    // not normalized yet - all points are normalized again only when min or max value is changed by the appended point
+    private double[] mNormalizedValues;
+    private int mNormalizedCount;
+
+    public ChartPointsData(String id, String name, String type, int color, List<C> points) {
+        this.mId = id;
+        this.mName = name;
+        this.mType = type;
+        this.mColor = color;
+        this.mPoints = points;
+
+        int[] minMaxIndexes = calculateMinMaxIndexes(this, 0, points.size() - 1, new int[2]);
+        mMinValueIndex = minMaxIndexes[0];
+        mMaxValueIndex = minMaxIndexes[1];
+    }
+
+    public String getId() {
+        return mId;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public String getType() {
+        return mType;
+    }
+
+    public int getColor() {
+        return mColor;
+    }
+
+    public List<C> getPoints() {
+        return mPoints;
+    }
+
+    public C getMinValue() {
+        return mPoints.get(mMinValueIndex);
+    }
+
+    public C getMaxValue() {
+        return mPoints.get(mMaxValueIndex);
+    }
+
+    /**
+     * Appends new point to the end of points collection and updates min max values
+     */
+    public void addPoint(C point) {
+        mPoints.add(point);
+        int index = mPoints.size() - 1;
+        if (index == 0) {
+            mMinValueIndex = 0;
+            mMaxValueIndex = 0;
+            mNormalizedCount = 0;
+        } else if (point.compareTo(getMinValue()) < 0) {
+            mMinValueIndex = index;
+            mNormalizedCount = 0;
+        } else if (point.compareTo(getMaxValue()) > 0) {
+            mMaxValueIndex = index;
+            mNormalizedCount = 0;
+        }
+    }
+
+    /**
+     * Values of the points as ratios between {@link #getMinValue()} and {@link #getMaxValue()} (0 - min, 1 - max).
+     * Allows to calculate the screen coordinate of each point by the single multiply-add of the primitive value
+     * instead of the coordinates calculations. Ratios are calculated by {@link ChartCoordinateKernel#normalize} with
+     * double precision, so they are exact enough when the displayed range is a tiny part of the points range.
+     * Array is reused by the next calls and can be longer than the points count
+     */
+    public double[] getNormalizedValues() {
+        int size = mPoints.size();
+        if (mNormalizedValues == null || mNormalizedValues.length < size) {
+            // Reserve space for the appended points
+            double[] values = new double[Math.max(size, size * 3 / 2)];
+            if (mNormalizedValues != null) {
+                System.arraycopy(mNormalizedValues, 0, values, 0, mNormalizedCount);
+            }
+            mNormalizedValues = values;
+        }
+        if (mNormalizedCount < size) {
+            getKernel().normalize(mPoints, mNormalizedCount, size - 1, getMinValue(), getMaxValue(), mNormalizedValues);
+            mNormalizedCount = size;
+        }
+        return mNormalizedValues;
+    }
+
+    /**
+     * @return kernel of the points type for the bulk operations over the points. Points shouldn't be empty
+     */
+    public ChartCoordinateKernel<C> getKernel() {
+        return mPoints.get(0).getKernel();
+    }
+
+    public int getMinValueIndex() {
+        return mMinValueIndex;
+    }
+
+    public int getMaxValueIndex() {
+        return mMaxValueIndex;
+    }
+
+    /**
+     * Finds indexes of min and max values in the specified range
+     * @param result - array with at least 2 elements, which will contain min value index at 0 and max value index at 1
+     * @return result param
+     */
+    public static <C extends ChartCoordinate> int[] calculateMinMaxIndexes(ChartPointsData<C> chartData, int startIndex, int endIndex, int[] result) {
+        List<C> points = chartData.getPoints();
+        if (points.isEmpty()) {
+            result[0] = startIndex;
+            result[1] = startIndex;
+            return result;
+        }
+        return chartData.getKernel().findMinMaxIndexes(points, startIndex, endIndex, result);
+    }
+
+}
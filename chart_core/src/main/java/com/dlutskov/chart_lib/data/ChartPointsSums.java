@@ -0,0 +1,111 @@
+package com.dlutskov.chart_lib.data;
+
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinateKernel;
+
+import java.util.List;
+
+/**
+ * Sums of Y values which are used by the pie and percentage charts
+ */
+public class ChartPointsSums {
+
+    /**
+     * Calculates sum of the points in the range
+     * @param zero - zero value of the points type
+     * @param result - where the sum will be stored
+     * @return result param
+     */
+    public static <C extends ChartCoordinate> C sumRange(List<C> points, int startIndex, int endIndex, C zero, C result) {
+        ChartCoordinateKernel<C> kernel = zero.getKernel();
+        return kernel.sum(points, startIndex, endIndex, zero, result);
+    }
+
+    /**
+     * Calculates sum of the values of all lines at the specified X index. Each value is multiplied by the line weight
+     * @param weights - weight of each line from 0 to 1. Lines with not positive weight are ignored
+     * @param zero - zero value of the points type
+     * @param buf - temporary value for calculations
+     * @param result - where the sum will be stored
+     * @return result param
+     */
+    public static <C extends ChartCoordinate> C sumWeighted(List<ChartPointsData<C>> lines, int index, float[] weights,
+                                                           C zero, C buf, C result) {
+        result.set(zero);
+        int linesCount = lines.size();
+        for (int lineIndex = 0; lineIndex < linesCount; lineIndex++) {
+            float weight = weights[lineIndex];
+            if (weight <= 0) continue;
+            if (weight >= 1) {
+                result.add(lines.get(lineIndex).getPoints().get(index), result);
+            } else {
+                lines.get(lineIndex).getPoints().get(index).getPart(weight, buf);
+                result.add(buf, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sum of the points in the range which is updated incrementally - only points which were added to
+     * or removed from the range since the previous calculation are processed
+     * @param <C> type of the points
+     */
+    public static class RangeSum<C extends ChartCoordinate> {
+
+        private final List<C> mPoints;
+
+        private final C mZero;
+        private final C mSum;
+
+        private int mStartIndex;
+        private int mEndIndex;
+        private boolean isCalculated;
+
+        public RangeSum(List<C> points, C zero) {
+            mPoints = points;
+            mZero = (C) zero.clone();
+            mSum = (C) zero.clone();
+        }
+
+        /**
+         * @return sum of the points in the range. Value is reused by the next calculations - copy it if it need to be kept
+         */
+        public C calculate(int startIndex, int endIndex) {
+            if (!isCalculated || startIndex > mEndIndex || endIndex < mStartIndex) {
+                // Ranges don't intersect - recalculate all points
+                sumRange(mPoints, startIndex, endIndex, mZero, mSum);
+                isCalculated = true;
+            } else {
+                // LEFT SIDE
+                if (startIndex > mStartIndex) {
+                    // Subtract left values
+                    for (int i = mStartIndex; i < startIndex; i++) {
+                        mSum.subtract(mPoints.get(i), mSum);
+                    }
+                } else {
+                    // Add left values
+                    for (int i = startIndex; i < mStartIndex; i++) {
+                        mSum.add(mPoints.get(i), mSum);
+                    }
+                }
+                // RIGHT SIDE
+                if (endIndex < mEndIndex) {
+                    // Subtract right values
+                    for (int i = endIndex + 1; i <= mEndIndex; i++) {
+                        mSum.subtract(mPoints.get(i), mSum);
+                    }
+                } else {
+                    // Add right values
+                    for (int i = mEndIndex + 1; i <= endIndex; i++) {
+                        mSum.add(mPoints.get(i), mSum);
+                    }
+                }
+            }
+            mStartIndex = startIndex;
+            mEndIndex = endIndex;
+            return mSum;
+        }
+    }
+
+}
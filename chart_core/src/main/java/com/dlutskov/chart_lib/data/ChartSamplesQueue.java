@@ -0,0 +1,214 @@
+package com.dlutskov.chart_lib.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free single producer / single consumer ring buffer of primitive chart samples.
+ * Each sample contains x value and one y value for each chart line.
+ * Used to hand off samples from the data ingest thread to the ui thread without allocations:
+ * producer calls {@link #offer(long, long[])}, consumer (ui thread) calls {@link #drain(Consumer, int)} on frame time.
+ * Values are copied into preallocated primitive arrays, so neither side creates objects
+ */
+public class ChartSamplesQueue {
+
+    /**
+     * Defines what producer does when the queue is full
+     */
+    public enum Backpressure {
+        // Oldest not consumed sample is dropped to make room for the new one
+        DROP_OLDEST,
+        // Producer waits until consumer frees some room
+        BLOCK,
+        // Samples offered while the queue is full are coalesced into single pending sample (last one wins)
+        // which is published once consumer frees some room
+        COALESCE
+    }
+
+    /**
+     * Receives drained samples on the consumer thread
+     */
+    public interface Consumer {
+        /**
+         * @param x - x value of the sample
+         * @param yValues - y values of the sample for each line. Array is reused between calls
+         */
+        void onSample(long x, long[] yValues);
+    }
+
+    // Producer park time while waiting for the room in BLOCK mode
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    private final int mCapacity;
+    private final int mMask;
+    private final int mLinesCount;
+    private final Backpressure mBackpressure;
+
+    // Ring buffer storage. Y values of each sample are stored sequentially
+    private final long[] mXValues;
+    private final long[] mYValues;
+
+    // Position of the next sample to consume. Moved by the consumer or by the producer when it drops oldest sample
+    private final AtomicLong mHead = new AtomicLong();
+    // Position of the next sample to publish. Moved by the producer only
+    private final AtomicLong mTail = new AtomicLong();
+
+    // Producer side coalesced sample which is waiting for the room
+    private boolean mHasCoalescedSample;
+    private long mCoalescedX;
+    private final long[] mCoalescedYValues;
+
+    // Consumer side buffer which is passed to the consumer
+    private final long[] mReadYValues;
+
+    /**
+     * @param capacity - max number of not consumed samples. Will be rounded up to the power of 2
+     * @param linesCount - number of y values in each sample
+     */
+    public ChartSamplesQueue(int capacity, int linesCount, Backpressure backpressure) {
+        if (capacity <= 0 || linesCount <= 0) {
+            throw new IllegalArgumentException("Capacity and lines count should be positive");
+        }
+        mCapacity = roundUpToPowerOfTwo(capacity);
+        mMask = mCapacity - 1;
+        mLinesCount = linesCount;
+        mBackpressure = backpressure;
+        mXValues = new long[mCapacity];
+        mYValues = new long[mCapacity * linesCount];
+        mCoalescedYValues = new long[linesCount];
+        mReadYValues = new long[linesCount];
+    }
+
+    /**
+     * Publishes new sample. Should be called from the single producer thread
+     * @param yValues - y values for each line. Values are copied, so array can be reused by the producer
+     * @return false only if the producer thread was interrupted while waiting for the room in BLOCK mode
+     */
+    public boolean offer(long x, long[] yValues) {
+        if (yValues.length < mLinesCount) {
+            throw new IllegalArgumentException("Sample should contain " + mLinesCount + " values");
+        }
+        switch (mBackpressure) {
+            case BLOCK:
+                while (!tryPublish(x, yValues)) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return false;
+                    }
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+                return true;
+
+            case COALESCE:
+                if (mHasCoalescedSample && !tryPublish(mCoalescedX, mCoalescedYValues)) {
+                    // Still no room - replace pending sample with the new one
+                    coalesce(x, yValues);
+                    return true;
+                }
+                mHasCoalescedSample = false;
+                if (!tryPublish(x, yValues)) {
+                    coalesce(x, yValues);
+                }
+                return true;
+
+            case DROP_OLDEST:
+            default:
+                long tail = mTail.get();
+                long head = mHead.get();
+                if (tail - head == mCapacity) {
+                    // If consumer takes this sample at the same time - CAS will fail, but the room is freed anyway
+                    mHead.compareAndSet(head, head + 1);
+                }
+                write(tail, x, yValues);
+                mTail.lazySet(tail + 1);
+                return true;
+        }
+    }
+
+    /**
+     * Tries to publish sample which was coalesced in COALESCE mode. Should be called from the producer thread
+     * @return true if there are no more pending samples
+     */
+    public boolean flush() {
+        if (mHasCoalescedSample && tryPublish(mCoalescedX, mCoalescedYValues)) {
+            mHasCoalescedSample = false;
+        }
+        return !mHasCoalescedSample;
+    }
+
+    /**
+     * Passes published samples to the consumer. Should be called from the single consumer thread
+     * @param maxSamples - max number of samples to drain
+     * @return number of drained samples
+     */
+    public int drain(Consumer consumer, int maxSamples) {
+        int count = 0;
+        while (count < maxSamples) {
+            long head = mHead.get();
+            if (head >= mTail.get()) {
+                // No more samples
+                break;
+            }
+            int index = (int) (head & mMask);
+            long x = mXValues[index];
+            System.arraycopy(mYValues, index * mLinesCount, mReadYValues, 0, mLinesCount);
+            if (!mHead.compareAndSet(head, head + 1)) {
+                // Sample was dropped by the producer while reading - values may be broken, read next one
+                continue;
+            }
+            consumer.onSample(x, mReadYValues);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return approximate number of not consumed samples
+     */
+    public int size() {
+        return (int) Math.max(0, mTail.get() - mHead.get());
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    public int getLinesCount() {
+        return mLinesCount;
+    }
+
+    public Backpressure getBackpressure() {
+        return mBackpressure;
+    }
+
+    private boolean tryPublish(long x, long[] yValues) {
+        long tail = mTail.get();
+        if (tail - mHead.get() == mCapacity) {
+            return false;
+        }
+        write(tail, x, yValues);
+        mTail.lazySet(tail + 1);
+        return true;
+    }
+
+    private void write(long position, long x, long[] yValues) {
+        int index = (int) (position & mMask);
+        mXValues[index] = x;
+        System.arraycopy(yValues, 0, mYValues, index * mLinesCount, mLinesCount);
+    }
+
+    private void coalesce(long x, long[] yValues) {
+        mCoalescedX = x;
+        System.arraycopy(yValues, 0, mCoalescedYValues, 0, mLinesCount);
+        mHasCoalescedSample = true;
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        int highestBit = Integer.highestOneBit(value);
+        return highestBit == value ? value : highestBit << 1;
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.dlutskov.chart_lib.data;
+
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cumulative sums of the stacked lines which are shared by the stacked bounds calculations and the stacked drawers.
+ * Sums are calculated once for all x points of the specific set of visible lines and reused for any x range,
+ * so panning doesn't sum lines values again. Sums of the appended points are calculated when the layers are requested.
+ * Only {@link #MAX_CACHED_LAYERS} last used sets are kept - bounds are calculated for the target visibility
+ * while the drawer still animates the previous one
+ * @param <Y> type of Y axis chart coordinates
+ */
+public class ChartStackedSums<Y extends ChartCoordinate> {
+
+    private static final int MAX_CACHED_LAYERS = 2;
+
+    private final List<ChartPointsData<Y>> mLines;
+    private final Y mZero;
+
+    // The last used layers are the first
+    private final List<Layers<Y>> mLayers = new ArrayList<>(MAX_CACHED_LAYERS);
+
+    // Indexes of the visible lines of the requested layers. Reused for each request
+    private final BitSet mKey = new BitSet();
+
+    public ChartStackedSums(List<ChartPointsData<Y>> lines, Y zero) {
+        mLines = lines;
+        mZero = (Y) zero.clone();
+    }
+
+    /**
+     * @param hiddenLines - ids of the lines which are not included into the sums
+     */
+    public Layers<Y> getLayers(Set<String> hiddenLines) {
+        mKey.clear();
+        for (int i = 0; i < mLines.size(); i++) {
+            if (!hiddenLines.contains(mLines.get(i).getId())) {
+                mKey.set(i);
+            }
+        }
+        return findLayers();
+    }
+
+    /**
+     * @param weights - weight of each line. Lines with not positive weight are not included into the sums
+     */
+    public Layers<Y> getLayers(float[] weights) {
+        mKey.clear();
+        for (int i = 0; i < mLines.size(); i++) {
+            if (weights[i] > 0) {
+                mKey.set(i);
+            }
+        }
+        return findLayers();
+    }
+
+    private Layers<Y> findLayers() {
+        int pointsCount = mLines.get(0).getPoints().size();
+        Layers<Y> layers = null;
+        for (int i = 0; i < mLayers.size(); i++) {
+            if (mLayers.get(i).mVisibleLines.equals(mKey)) {
+                layers = mLayers.remove(i);
+                break;
+            }
+        }
+        if (layers == null) {
+            // Arrays of the least recently used layers are reused
+            layers = mLayers.size() < MAX_CACHED_LAYERS
+                    ? new Layers<>(mLines, mZero)
+                    : mLayers.remove(mLayers.size() - 1);
+            layers.reset(mKey);
+        }
+        mLayers.add(0, layers);
+        layers.update(pointsCount);
+        return layers;
+    }
+
+    /**
+     * Cumulative sums of the visible lines for each x point. Sum of each line includes values of all visible lines
+     * before it, so the line area is placed between its sum and the sum of the previous visible line.
+     * Sums are kept as exact values, so the bounds are found from the exact totals and the drawers calculate ratios
+     * of the sums within the displayed bounds on each rebuild
+     */
+    public static class Layers<Y extends ChartCoordinate> {
+
+        private final List<ChartPointsData<Y>> mLines;
+        private final Y mZero;
+
+        private final BitSet mVisibleLines = new BitSet();
+        private int mTopLineIndex = -1;
+
+        // Sums of each line. Sums of hidden lines are kept to be reused
+        private final List<List<Y>> mSums;
+        private int mPointsCount;
+
+        // Not less than any sum when the layers are created. Sums of the appended points can be bigger.
+        // Used when only proportions of the sums are required
+        private final Y mReference;
+        private boolean isReferenceZero;
+
+        Layers(List<ChartPointsData<Y>> lines, Y zero) {
+            mLines = lines;
+            mZero = zero;
+            mSums = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                mSums.add(new ArrayList<>());
+            }
+            mReference = (Y) zero.clone();
+        }
+
+        void reset(BitSet visibleLines) {
+            mVisibleLines.clear();
+            mVisibleLines.or(visibleLines);
+            mTopLineIndex = visibleLines.length() - 1;
+            mPointsCount = 0;
+        }
+
+        void update(int pointsCount) {
+            if (mPointsCount == pointsCount) {
+                return;
+            }
+            if (mPointsCount == 0 || isReferenceZero) {
+                // Sums of the appended points can make zero reference not zero
+                calculateReference();
+            }
+            ensureCapacity(pointsCount);
+            for (int x = mPointsCount; x < pointsCount; x++) {
+                Y prevSum = mZero;
+                for (int lineIndex = mVisibleLines.nextSetBit(0); lineIndex >= 0; lineIndex = mVisibleLines.nextSetBit(lineIndex + 1)) {
+                    Y sum = mSums.get(lineIndex).get(x);
+                    prevSum.add(mLines.get(lineIndex).getPoints().get(x), sum);
+                    prevSum = sum;
+                }
+            }
+            mPointsCount = pointsCount;
+        }
+
+        private void calculateReference() {
+            mReference.set(mZero);
+            for (int lineIndex = mVisibleLines.nextSetBit(0); lineIndex >= 0; lineIndex = mVisibleLines.nextSetBit(lineIndex + 1)) {
+                mReference.add(mLines.get(lineIndex).getMaxValue(), mReference);
+            }
+            isReferenceZero = mReference.compareTo(mZero) == 0;
+        }
+
+        private void ensureCapacity(int pointsCount) {
+            for (int lineIndex = mVisibleLines.nextSetBit(0); lineIndex >= 0; lineIndex = mVisibleLines.nextSetBit(lineIndex + 1)) {
+                // Sums of the previously calculated points are overwritten, new ones are added only for the appended points
+                List<Y> sums = mSums.get(lineIndex);
+                while (sums.size() < pointsCount) {
+                    sums.add((Y) mZero.clone());
+                }
+            }
+        }
+
+        /**
+         * @return true if all lines are hidden
+         */
+        public boolean isEmpty() {
+            return mTopLineIndex < 0;
+        }
+
+        public boolean isVisible(int lineIndex) {
+            return mVisibleLines.get(lineIndex);
+        }
+
+        /**
+         * @return index of the last visible line which sums are the totals of all visible lines. -1 if all lines are hidden
+         */
+        public int getTopLineIndex() {
+            return mTopLineIndex;
+        }
+
+        /**
+         * @return exact cumulative sums of the visible line for each x point. Values are reused by the next updates
+         * of the layers - copy them if they need to be kept
+         */
+        public List<Y> getSums(int lineIndex) {
+            if (!mVisibleLines.get(lineIndex)) {
+                throw new IllegalArgumentException("Line " + lineIndex + " is not included into the sums");
+            }
+            return mSums.get(lineIndex);
+        }
+
+        /**
+         * @return value which is not less than the sums of the points which existed when the layers were created
+         */
+        public Y getReference() {
+            return mReference;
+        }
+    }
+
+}
@@ -83,6 +83,14 @@ public interface ChartCoordinate<T extends ChartCoordinate> extends Comparable<T
      */
     T zero();
 
+    /**
+     * Override it to process ranges of your coordinates without calling coordinate methods for each point
+     * @return kernel for the bulk operations over the points of this type. {@link ChartCoordinateKernel#GENERIC} by default
+     */
+    default ChartCoordinateKernel<T> getKernel() {
+        return ChartCoordinateKernel.GENERIC;
+    }
+
     /**
      * @return Name which will be displayed as the axis label
      */
@@ -0,0 +1,90 @@
+package com.dlutskov.chart_lib.data.coordinates;
+
+import java.util.List;
+
+/**
+ * Bulk operations over the ranges of the points, which are used by the hot loops of the bounds calculations and drawers.
+ * Default implementations work with any coordinates through the {@link ChartCoordinate} methods, so each point
+ * takes interface calls. Coordinate types override {@link ChartCoordinate#getKernel()} to return the kernel
+ * which processes the whole range over their primitive values (see {@link LongCoordinate}).
+ * All ranges include both start and end indexes
+ * @param <C> type of the coordinates
+ */
+public interface ChartCoordinateKernel<C extends ChartCoordinate> {
+
+    /**
+     * Kernel which uses only {@link ChartCoordinate} methods
+     */
+    ChartCoordinateKernel GENERIC = new ChartCoordinateKernel() {};
+
+    /**
+     * Calculates {@link ChartCoordinate#calcCoordinateRatio(ChartCoordinate, ChartCoordinate)} of each point in the range
+     * @param result - array where the ratio of each point is written by the point index relative to the start index
+     */
+    default void calcRatios(List<C> points, int startIndex, int endIndex, C min, C max, float[] result) {
+        for (int i = startIndex; i <= endIndex; i++) {
+            result[i - startIndex] = points.get(i).calcCoordinateRatio(min, max);
+        }
+    }
+
+    /**
+     * Calculates ratio of each point in the range between min and max values (0 - min, 1 - max) with double precision,
+     * so the ratios of the points which differ by a tiny part of the range are still different.
+     * Default implementation has the precision of {@link ChartCoordinate#calcCoordinateRatio(ChartCoordinate, ChartCoordinate)}
+     * @param result - array where the ratio of each point is written by the point index
+     */
+    default void normalize(List<C> points, int startIndex, int endIndex, C min, C max, double[] result) {
+        for (int i = startIndex; i <= endIndex; i++) {
+            result[i] = points.get(i).calcCoordinateRatio(min, max);
+        }
+    }
+
+    /**
+     * @return ratio of the value between min and max values with the same precision as {@link #normalize}
+     */
+    default double normalize(C value, C min, C max) {
+        return value.calcCoordinateRatio(min, max);
+    }
+
+    /**
+     * Finds indexes of min and max values in the range. The first index is found if several points have the same value
+     * @param result - array with at least 2 elements, which will contain min value index at 0 and max value index at 1
+     * @return result param
+     */
+    default int[] findMinMaxIndexes(List<C> points, int startIndex, int endIndex, int[] result) {
+        int minIndex = startIndex;
+        int maxIndex = startIndex;
+        if (startIndex <= endIndex) {
+            C minValue = points.get(startIndex);
+            C maxValue = minValue;
+            for (int i = startIndex + 1; i <= endIndex; i++) {
+                C value = points.get(i);
+                if (value.compareTo(minValue) < 0) {
+                    minValue = value;
+                    minIndex = i;
+                } else if (value.compareTo(maxValue) > 0) {
+                    maxValue = value;
+                    maxIndex = i;
+                }
+            }
+        }
+        result[0] = minIndex;
+        result[1] = maxIndex;
+        return result;
+    }
+
+    /**
+     * Calculates sum of the points in the range
+     * @param zero - zero value of the points type
+     * @param result - where the sum will be stored
+     * @return result param
+     */
+    default C sum(List<C> points, int startIndex, int endIndex, C zero, C result) {
+        result.set(zero);
+        for (int i = startIndex; i <= endIndex; i++) {
+            result.add(points.get(i), result);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.dlutskov.chart_lib.data.coordinates;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+/**
+ * Extends LongCoordinate with custom name displaying
+ */
+public class DateCoordinate extends LongCoordinate {
+
+    private static final String DEFAULT_AXIS_DATE_FORMAT = "dd MMM";
+    private static final String DEFAULT_HEADER_DATE_FORMAT = "dd MMM yyyy";
+    private static final String DEFAULT_FULL_DATE_FORMAT = "E, MMM dd";
+    private static final String DEFAULT_EXPANDED_DATE_FORMAT = "HH:mm";
+
+    // Default formats are shared by all coordinates of the thread - creating them for each coordinate
+    // takes several kilobytes per point. Indexes in the array: axis, header, full, expanded
+    private static final ThreadLocal<DateFormat[]> sDefaultFormats = new ThreadLocal<DateFormat[]>() {
+        @Override
+        protected DateFormat[] initialValue() {
+            return new DateFormat[] {
+                    new SimpleDateFormat(DEFAULT_AXIS_DATE_FORMAT, Locale.getDefault()),
+                    new SimpleDateFormat(DEFAULT_HEADER_DATE_FORMAT, Locale.getDefault()),
+                    new SimpleDateFormat(DEFAULT_FULL_DATE_FORMAT, Locale.getDefault()),
+                    new SimpleDateFormat(DEFAULT_EXPANDED_DATE_FORMAT, Locale.getDefault())
+            };
+        }
+    };
+
+    // Custom formats. Default ones are used if null
+    private final DateFormat mAxisFormat;
+    private final DateFormat mHeaderFormat;
+    private final DateFormat mDetailsFormat;
+    private final DateFormat mExpandedFormat;
+
+    DateCoordinate(long value) {
+        this(value, null, null, null, null);
+    }
+
+    DateCoordinate(long value, DateFormat axisDateFormat, DateFormat headerFormat,
+                   DateFormat fullDateFormat, DateFormat expandedDateFormat) {
+        super(value);
+        mAxisFormat = axisDateFormat;
+        mHeaderFormat = headerFormat;
+        mDetailsFormat = fullDateFormat;
+        mExpandedFormat = expandedDateFormat;
+    }
+
+    // Labels are formatted lazily and reset by the value changes
+
+    @Override
+    public String getAxisName() {
+        if (mAxisName == null) {
+            mAxisName = getFormat(mAxisFormat, 0).format(mValue);
+        }
+        return mAxisName;
+    }
+
+    @Override
+    public String getHeaderName() {
+        if (mHeaderName == null) {
+            mHeaderName = getFormat(mHeaderFormat, 1).format(mValue);
+        }
+        return mHeaderName;
+    }
+
+    @Override
+    public String getFullName() {
+        if (mFullName == null) {
+            mFullName = getFormat(mDetailsFormat, 2).format(mValue);
+        }
+        return mFullName;
+    }
+
+    @Override
+    public String getExpandedName() {
+        if (mExpandedName == null) {
+            mExpandedName = getFormat(mExpandedFormat, 3).format(mValue);
+        }
+        return mExpandedName;
+    }
+
+    @Override
+    public DateCoordinate clone() {
+        return new DateCoordinate(mValue, mAxisFormat, mHeaderFormat, mDetailsFormat, mExpandedFormat);
+    }
+
+    private static DateFormat getFormat(DateFormat format, int defaultFormatIndex) {
+        return format != null ? format : sDefaultFormats.get()[defaultFormatIndex];
+    }
+
+    public static DateCoordinate valueOf(long value) {
+        return new DateCoordinate(value);
+    }
+}
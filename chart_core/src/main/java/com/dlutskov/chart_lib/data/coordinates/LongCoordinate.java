@@ -0,0 +1,237 @@
+package com.dlutskov.chart_lib.data.coordinates;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * ChartCoordinate implementation which contains simple Long value inside
+ */
+public class LongCoordinate implements ChartCoordinate<LongCoordinate> {
+
+    private static final ChartCoordinateKernel<LongCoordinate> sKernel = new Kernel();
+
+    private static final NavigableMap<Long, String> sNameFormatSuffixes = new TreeMap<>();
+    static {
+        sNameFormatSuffixes.put(1_000L, "k");
+        sNameFormatSuffixes.put(1_000_000L, "M");
+    }
+
+    long mValue;
+
+    // Names are formatted lazily as most of coordinates are used only for calculations
+    String mAxisName;
+    String mHeaderName;
+    String mFullName;
+    String mExpandedName;
+
+    LongCoordinate(long value) {
+        setInternal(value);
+    }
+
+    private LongCoordinate setInternal(long value) {
+        mValue = value;
+        mAxisName = null;
+        mHeaderName = null;
+        mFullName = null;
+        mExpandedName = null;
+        return this;
+    }
+
+    @Override
+    public int compareTo(LongCoordinate value) {
+        return Long.compare(mValue, value.mValue);
+    }
+
+    @Override
+    public float calcCoordinateRatio(LongCoordinate min, LongCoordinate max) {
+        if (max.mValue == min.mValue) return 0;
+        return (float)(mValue - min.mValue) / (max.mValue - min.mValue);
+    }
+
+    @Override
+    public LongCoordinate add(LongCoordinate coordinate) {
+        return LongCoordinate.valueOf(coordinate.mValue + mValue);
+    }
+
+    @Override
+    public LongCoordinate add(LongCoordinate coordinate, LongCoordinate result) {
+        return result.setInternal(coordinate.mValue + mValue);
+    }
+
+    @Override
+    public LongCoordinate subtract(LongCoordinate coordinate) {
+        return LongCoordinate.valueOf(mValue - coordinate.mValue);
+    }
+
+    @Override
+    public LongCoordinate subtract(LongCoordinate coordinate, LongCoordinate result) {
+        return result.setInternal(mValue - coordinate.mValue);
+    }
+
+    @Override
+    public LongCoordinate distanceTo(LongCoordinate coordinate) {
+        return LongCoordinate.valueOf(coordinate.mValue - mValue);
+    }
+
+    @Override
+    public LongCoordinate distanceTo(LongCoordinate coordinate, LongCoordinate result) {
+        return result.setInternal(coordinate.mValue - mValue);
+    }
+
+    @Override
+    public LongCoordinate getPart(float ratio) {
+        return LongCoordinate.valueOf((long) (mValue * ratio)) ;
+    }
+
+    @Override
+    public LongCoordinate getPart(float ratio, LongCoordinate result) {
+        return result.setInternal((long) (mValue * ratio));
+    }
+
+    @Override
+    public LongCoordinate set(LongCoordinate coordinate) {
+        return setInternal(coordinate.mValue);
+    }
+
+    @Override
+    public LongCoordinate zero() {
+        return valueOf(0);
+    }
+
+    @Override
+    public ChartCoordinateKernel<LongCoordinate> getKernel() {
+        return sKernel;
+    }
+
+    @Override
+    public String getAxisName() {
+        if (mAxisName == null) {
+            mAxisName = formatName(mValue);
+        }
+        return mAxisName;
+    }
+
+    @Override
+    public String getHeaderName() {
+        return getFullName();
+    }
+
+    @Override
+    public String getFullName() {
+        if (mFullName == null) {
+            mFullName = String.valueOf(mValue);
+        }
+        return mFullName;
+    }
+
+    @Override
+    public String getExpandedName() {
+        return getFullName();
+    }
+
+    @Override
+    public String toString() {
+        return getAxisName();
+    }
+
+    @Override
+    public LongCoordinate clone() {
+        return new LongCoordinate(mValue);
+    }
+
+    public long getValue() {
+        return mValue;
+    }
+
+    private static String formatName(long value) {
+        if (value == Long.MIN_VALUE) return formatName(Long.MIN_VALUE + 1);
+        if (value < 0) return "-" + formatName(-value);
+        if (value < 1000) return Long.toString(value); //deal with easy case
+
+        Map.Entry<Long, String> e = sNameFormatSuffixes.floorEntry(value);
+        Long divideBy = e.getKey();
+        String suffix = e.getValue();
+
+        long truncated = value / (divideBy / 10); //the number part of the output times 10
+        boolean hasDecimal = truncated < 100 && (truncated / 10d) != (truncated / 10);
+        return hasDecimal ? (truncated / 10d) + suffix : (truncated / 10) + suffix;
+    }
+
+    public static LongCoordinate valueOf(long value) {
+        return new LongCoordinate(value);
+    }
+
+    /**
+     * Works directly with long values of the coordinates, so the loops don't make interface calls for each point
+     */
+    private static class Kernel implements ChartCoordinateKernel<LongCoordinate> {
+
+        @Override
+        public void calcRatios(List<LongCoordinate> points, int startIndex, int endIndex, LongCoordinate min,
+                               LongCoordinate max, float[] result) {
+            long minValue = min.mValue;
+            if (max.mValue == minValue) {
+                for (int i = startIndex; i <= endIndex; i++) {
+                    result[i - startIndex] = 0;
+                }
+                return;
+            }
+            // Differences are exact long values, so the only rounding is of the multiplication
+            float scale = 1f / (max.mValue - minValue);
+            for (int i = startIndex; i <= endIndex; i++) {
+                result[i - startIndex] = (points.get(i).mValue - minValue) * scale;
+            }
+        }
+
+        @Override
+        public void normalize(List<LongCoordinate> points, int startIndex, int endIndex, LongCoordinate min,
+                              LongCoordinate max, double[] result) {
+            long minValue = min.mValue;
+            double scale = max.mValue == minValue ? 0 : 1d / (max.mValue - minValue);
+            for (int i = startIndex; i <= endIndex; i++) {
+                result[i] = (points.get(i).mValue - minValue) * scale;
+            }
+        }
+
+        @Override
+        public double normalize(LongCoordinate value, LongCoordinate min, LongCoordinate max) {
+            if (max.mValue == min.mValue) return 0;
+            return (double) (value.mValue - min.mValue) / (max.mValue - min.mValue);
+        }
+
+        @Override
+        public int[] findMinMaxIndexes(List<LongCoordinate> points, int startIndex, int endIndex, int[] result) {
+            int minIndex = startIndex;
+            int maxIndex = startIndex;
+            if (startIndex <= endIndex) {
+                long minValue = points.get(startIndex).mValue;
+                long maxValue = minValue;
+                for (int i = startIndex + 1; i <= endIndex; i++) {
+                    long value = points.get(i).mValue;
+                    if (value < minValue) {
+                        minValue = value;
+                        minIndex = i;
+                    } else if (value > maxValue) {
+                        maxValue = value;
+                        maxIndex = i;
+                    }
+                }
+            }
+            result[0] = minIndex;
+            result[1] = maxIndex;
+            return result;
+        }
+
+        @Override
+        public LongCoordinate sum(List<LongCoordinate> points, int startIndex, int endIndex, LongCoordinate zero,
+                                  LongCoordinate result) {
+            long sum = zero.mValue;
+            for (int i = startIndex; i <= endIndex; i++) {
+                sum += points.get(i).mValue;
+            }
+            return result.setInternal(sum);
+        }
+    }
+}
\ No newline at end of file
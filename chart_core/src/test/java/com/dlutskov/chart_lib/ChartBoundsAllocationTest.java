@@ -0,0 +1,107 @@
+package com.dlutskov.chart_lib;
+
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that bounds calculations which are performed on each pan event don't allocate objects
+ */
+public class ChartBoundsAllocationTest {
+
+    private static final int POINTS_COUNT = 1000;
+    private static final int LINES_COUNT = 4;
+    private static final int WINDOW_SIZE = 100;
+
+    private com.sun.management.ThreadMXBean mThreadMXBean;
+
+    private ChartLinesData<LongCoordinate, LongCoordinate> mData;
+    private final Set<String> mHiddenLines = new HashSet<>();
+
+    private final ChartBoundsCalculator<LongCoordinate, LongCoordinate> mCalculator = new ChartBoundsCalculator<>();
+    private final ChartBounds<LongCoordinate, LongCoordinate> mBounds = new ChartBounds<>(0, 0, null, null);
+    private final ChartBounds<LongCoordinate, LongCoordinate> mPrevBounds = new ChartBounds<>(0, 0, null, null);
+    private final int[] mMinMaxIndexes = new int[2];
+
+    @Before
+    public void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        mThreadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(mThreadMXBean.isThreadAllocatedMemorySupported());
+        mThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        List<LongCoordinate> xPoints = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            xPoints.add(LongCoordinate.valueOf(i));
+        }
+        List<ChartPointsData<LongCoordinate>> yLines = new ArrayList<>();
+        for (int line = 0; line < LINES_COUNT; line++) {
+            List<LongCoordinate> yPoints = new ArrayList<>();
+            for (int i = 0; i < POINTS_COUNT; i++) {
+                yPoints.add(LongCoordinate.valueOf((i * 31 + line * 17) % 1000));
+            }
+            yLines.add(new ChartPointsData<>("y" + line, "y" + line, ChartLinesData.CHART_TYPE_LINE, 0, yPoints));
+        }
+        mData = new ChartLinesData<>(new ChartPointsData<>("x", "x", ChartLinesData.CHART_TYPE_X, 0, xPoints), yLines);
+        mHiddenLines.add("y1");
+    }
+
+    @Test
+    public void panStep_doesNotAllocate() {
+        assertEquals(0, measurePanAllocations());
+    }
+
+    @Test
+    public void stackedPanStep_doesNotAllocate() {
+        mData.setStacked(true);
+        assertEquals(0, measurePanAllocations());
+    }
+
+    @Test
+    public void minYValuePanStep_doesNotAllocate() {
+        mCalculator.setMinYValue(LongCoordinate.valueOf(0));
+        assertEquals(0, measurePanAllocations());
+    }
+
+    private long measurePanAllocations() {
+        // Warm up to let all lazy buffers be created
+        pan();
+        pan();
+
+        long threadId = Thread.currentThread().getId();
+        // Measurement itself may allocate - exclude it from the result
+        long start = mThreadMXBean.getThreadAllocatedBytes(threadId);
+        long overhead = mThreadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+        start = mThreadMXBean.getThreadAllocatedBytes(threadId);
+        pan();
+        return mThreadMXBean.getThreadAllocatedBytes(threadId) - start - overhead;
+    }
+
+    // Emulates dragging of the chart from the first to the last point
+    private void pan() {
+        for (int minXIndex = 0; minXIndex + WINDOW_SIZE < POINTS_COUNT; minXIndex++) {
+            int maxXIndex = minXIndex + WINDOW_SIZE;
+            mPrevBounds.update(mBounds);
+            mCalculator.calculate(mData, minXIndex, maxXIndex, mHiddenLines, mBounds);
+            // Scaled lines bounds
+            ChartPointsData<LongCoordinate> line = mData.getYPoints().get(0);
+            ChartPointsData.calculateMinMaxIndexes(line, minXIndex, maxXIndex, mMinMaxIndexes);
+            mPrevBounds.setMinY(line.getPoints().get(mMinMaxIndexes[0]));
+            mPrevBounds.setMaxY(line.getPoints().get(mMinMaxIndexes[1]));
+        }
+    }
+
+}
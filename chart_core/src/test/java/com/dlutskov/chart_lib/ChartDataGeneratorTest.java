@@ -0,0 +1,145 @@
+package com.dlutskov.chart_lib;
+
+import com.dlutskov.chart_lib.data.ChartDataGenerator;
+import com.dlutskov.chart_lib.data.ChartDataParser;
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that generated data is deterministic and can be read back by the parser
+ */
+public class ChartDataGeneratorTest {
+
+    private static final int POINTS_COUNT = 500;
+
+    @Test
+    public void sameSeed_generatesSameData() {
+        ChartLinesData<DateCoordinate, LongCoordinate> data = createGenerator(42, 3).generate();
+        ChartLinesData<DateCoordinate, LongCoordinate> sameData = createGenerator(42, 3).generate();
+        ChartLinesData<DateCoordinate, LongCoordinate> otherData = createGenerator(43, 3).generate();
+
+        assertDataEquals(data, sameData);
+        assertFalse(isPointsEqual(data.getYPoints().get(0), otherData.getYPoints().get(0)));
+    }
+
+    @Test
+    public void seriesValues_dontDependOnSeriesCount() {
+        for (ChartDataGenerator.Distribution distribution : ChartDataGenerator.Distribution.values()) {
+            List<ChartPointsData<LongCoordinate>> fewSeries = createGenerator(7, 2)
+                    .setDistribution(distribution)
+                    .generate().getYPoints();
+            List<ChartPointsData<LongCoordinate>> manySeries = createGenerator(7, 10)
+                    .setDistribution(distribution)
+                    .generate().getYPoints();
+            for (int i = 0; i < fewSeries.size(); i++) {
+                assertPointsEquals(fewSeries.get(i), manySeries.get(i));
+            }
+            // Each series is seeded by its index, so the series are different
+            assertFalse(isPointsEqual(manySeries.get(0), manySeries.get(1)));
+        }
+    }
+
+    @Test
+    public void gaps_areRunsOfZerosOfGapLength() {
+        int gapLength = 5;
+        List<ChartPointsData<LongCoordinate>> yPoints = createGenerator(1, 4)
+                .setValuesRange(100, 1000)
+                .setGaps(0.2f, gapLength)
+                .generate().getYPoints();
+        int gapsCount = 0;
+        for (ChartPointsData<LongCoordinate> pointsData : yPoints) {
+            List<LongCoordinate> points = pointsData.getPoints();
+            int runLength = 0;
+            for (int i = 0; i <= points.size(); i++) {
+                if (i < points.size() && points.get(i).getValue() == 0) {
+                    runLength++;
+                    continue;
+                }
+                // Gap can start right after the previous one, and the last gap can be cut by the end of the series
+                if (runLength > 0 && i < points.size()) {
+                    assertEquals("Run of zeros which ends at " + i, 0, runLength % gapLength);
+                    gapsCount += runLength / gapLength;
+                }
+                runLength = 0;
+            }
+        }
+        assertTrue("Gaps should be generated", gapsCount > 0);
+    }
+
+    @Test
+    public void writtenJson_isParsedToTheSameData() throws IOException {
+        ChartDataGenerator generator = createGenerator(5, 3)
+                .setGaps(0.1f, 3)
+                .setStacked(true)
+                .setPercentage(true);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        generator.writeJson(stream);
+
+        ChartLinesData<DateCoordinate, LongCoordinate> parsedData =
+                ChartDataParser.parse(new ByteArrayInputStream(stream.toByteArray()));
+        ChartLinesData<DateCoordinate, LongCoordinate> data = generator.generate();
+
+        assertDataEquals(data, parsedData);
+        assertTrue(parsedData.isStacked());
+        assertTrue(parsedData.isPercentage());
+        assertFalse(parsedData.isYScaled());
+    }
+
+    private static ChartDataGenerator createGenerator(long seed, int seriesCount) {
+        return new ChartDataGenerator()
+                .setSeed(seed)
+                .setPointsCount(POINTS_COUNT)
+                .setSeriesCount(seriesCount);
+    }
+
+    private static void assertDataEquals(ChartLinesData<DateCoordinate, LongCoordinate> expected,
+                                         ChartLinesData<DateCoordinate, LongCoordinate> actual) {
+        assertPointsEquals(expected.getXPoints(), actual.getXPoints());
+        assertEquals(expected.getYPoints().size(), actual.getYPoints().size());
+        for (int i = 0; i < expected.getYPoints().size(); i++) {
+            ChartPointsData<LongCoordinate> expectedPoints = expected.getYPoints().get(i);
+            ChartPointsData<LongCoordinate> actualPoints = actual.getYPoints().get(i);
+            assertEquals(expectedPoints.getId(), actualPoints.getId());
+            assertEquals(expectedPoints.getName(), actualPoints.getName());
+            assertEquals(expectedPoints.getType(), actualPoints.getType());
+            assertEquals(expectedPoints.getColor(), actualPoints.getColor());
+            assertPointsEquals(expectedPoints, actualPoints);
+        }
+        assertEquals(expected.isPercentage(), actual.isPercentage());
+        assertEquals(expected.isStacked(), actual.isStacked());
+        assertEquals(expected.isYScaled(), actual.isYScaled());
+    }
+
+    private static <C extends ChartCoordinate> void assertPointsEquals(ChartPointsData<C> expected, ChartPointsData<C> actual) {
+        assertTrue("Points of " + expected.getId() + " are different", isPointsEqual(expected, actual));
+    }
+
+    private static <C extends ChartCoordinate> boolean isPointsEqual(ChartPointsData<C> first, ChartPointsData<C> second) {
+        List<C> firstPoints = first.getPoints();
+        List<C> secondPoints = second.getPoints();
+        if (firstPoints.size() != secondPoints.size()) {
+            return false;
+        }
+        for (int i = 0; i < firstPoints.size(); i++) {
+            if (firstPoints.get(i).compareTo(secondPoints.get(i)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.dlutskov.chart_lib;
+
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinateKernel;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that normalized values of the points are the ratios of the points between min and max values
+ * and that the kernel of the points type gives the same results as the generic one
+ */
+public class ChartPointsDataTest {
+
+    private static final int POINTS_COUNT = 1000;
+    private static final int WINDOW_SIZE = 100;
+
+    private ChartPointsData<LongCoordinate> mPointsData;
+
+    @Before
+    public void setUp() {
+        List<LongCoordinate> points = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            points.add(LongCoordinate.valueOf(100 + (i * 31) % 1000));
+        }
+        mPointsData = new ChartPointsData<>("y0", "y0", ChartLinesData.CHART_TYPE_LINE, 0, points);
+    }
+
+    @Test
+    public void normalizedValues_areRatiosBetweenMinAndMax() {
+        checkNormalizedValues();
+    }
+
+    @Test
+    public void normalizedValues_includeAppendedPoints() {
+        double[] values = mPointsData.getNormalizedValues();
+        mPointsData.addPoint(LongCoordinate.valueOf(500));
+
+        // Appended point is within the range - array has space for it
+        assertSame(values, mPointsData.getNormalizedValues());
+        checkNormalizedValues();
+
+        // Appended point changes the max value, so all points are normalized again
+        mPointsData.addPoint(LongCoordinate.valueOf(5000));
+        checkNormalizedValues();
+        assertEquals(1, mPointsData.getNormalizedValues()[POINTS_COUNT + 1], 0);
+    }
+
+    @Test
+    public void normalizedValues_ofNarrowRangeOfWideRangePoints_areDifferent() {
+        // Points climb to 1e9 and then vary only by 10
+        List<LongCoordinate> points = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            points.add(LongCoordinate.valueOf(i * 1_000_000L));
+        }
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            points.add(LongCoordinate.valueOf(1_000_000_000L + i % 11));
+        }
+        ChartPointsData<LongCoordinate> pointsData = new ChartPointsData<>("y1", "y1", ChartLinesData.CHART_TYPE_LINE, 0, points);
+
+        double[] values = pointsData.getNormalizedValues();
+        double min = pointsData.getKernel().normalize(LongCoordinate.valueOf(1_000_000_000L), pointsData.getMinValue(),
+                pointsData.getMaxValue());
+        double max = pointsData.getKernel().normalize(LongCoordinate.valueOf(1_000_000_010L), pointsData.getMinValue(),
+                pointsData.getMaxValue());
+        for (int i = POINTS_COUNT; i < POINTS_COUNT * 2; i++) {
+            assertEquals(((i - POINTS_COUNT) % 11) / 10d, (values[i] - min) / (max - min), 1e-6);
+        }
+    }
+
+    @Test
+    public void longKernel_matchesGenericKernel() {
+        ChartCoordinateKernel<LongCoordinate> kernel = mPointsData.getKernel();
+        ChartCoordinateKernel<LongCoordinate> genericKernel = ChartCoordinateKernel.GENERIC;
+        List<LongCoordinate> points = mPointsData.getPoints();
+        LongCoordinate zero = LongCoordinate.valueOf(0);
+        float[] ratios = new float[POINTS_COUNT];
+        float[] genericRatios = new float[POINTS_COUNT];
+        for (int start = 0; start + WINDOW_SIZE < POINTS_COUNT; start += 37) {
+            int end = start + WINDOW_SIZE;
+            assertArrayEquals(genericKernel.findMinMaxIndexes(points, start, end, new int[2]),
+                    kernel.findMinMaxIndexes(points, start, end, new int[2]));
+            assertEquals(0, genericKernel.sum(points, start, end, zero, LongCoordinate.valueOf(0))
+                    .compareTo(kernel.sum(points, start, end, zero, LongCoordinate.valueOf(0))));
+
+            LongCoordinate min = points.get(start);
+            LongCoordinate max = points.get(end);
+            genericKernel.calcRatios(points, start, end, min, max, genericRatios);
+            kernel.calcRatios(points, start, end, min, max, ratios);
+            // Kernel multiplies by the inverted range instead of the division, so the ratios can differ by the rounding
+            for (int i = 0; i <= end - start; i++) {
+                assertEquals(genericRatios[i], ratios[i], 1e-6f);
+            }
+        }
+    }
+
+    @Test
+    public void ratios_ofNarrowRangeOfWideRangePoints_areExact() {
+        // Points climb to 1e9 and then vary only by 10
+        List<LongCoordinate> points = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            points.add(LongCoordinate.valueOf(i * 1_000_000L));
+        }
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            points.add(LongCoordinate.valueOf(1_000_000_000L + i % 11));
+        }
+        int start = POINTS_COUNT + 100;
+        int end = start + WINDOW_SIZE;
+        LongCoordinate min = LongCoordinate.valueOf(1_000_000_000L);
+        LongCoordinate max = LongCoordinate.valueOf(1_000_000_010L);
+        float[] ratios = new float[WINDOW_SIZE + 1];
+        LongCoordinate.valueOf(0).getKernel().calcRatios(points, start, end, min, max, ratios);
+        for (int i = start; i <= end; i++) {
+            assertEquals(((i - POINTS_COUNT) % 11) / 10f, ratios[i - start], 1e-6f);
+        }
+    }
+
+    @Test
+    public void minMaxIndexes_areFoundWhenTheFirstPointIsMax() {
+        List<LongCoordinate> points = new ArrayList<>();
+        points.add(LongCoordinate.valueOf(0));
+        points.add(LongCoordinate.valueOf(10));
+        points.add(LongCoordinate.valueOf(5));
+        points.add(LongCoordinate.valueOf(3));
+        points.add(LongCoordinate.valueOf(4));
+        ChartPointsData<LongCoordinate> pointsData = new ChartPointsData<>("y1", "y1", ChartLinesData.CHART_TYPE_LINE, 0, points);
+
+        int[] minMaxIndexes = ChartPointsData.calculateMinMaxIndexes(pointsData, 2, 4, new int[2]);
+
+        assertEquals(3, minMaxIndexes[0]);
+        assertEquals(2, minMaxIndexes[1]);
+    }
+
+    private void checkNormalizedValues() {
+        double[] values = mPointsData.getNormalizedValues();
+        List<LongCoordinate> points = mPointsData.getPoints();
+        long min = mPointsData.getMinValue().getValue();
+        long max = mPointsData.getMaxValue().getValue();
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals((double) (points.get(i).getValue() - min) / (max - min), values[i], 1e-15);
+        }
+    }
+
+}
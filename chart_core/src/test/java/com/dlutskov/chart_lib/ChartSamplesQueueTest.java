@@ -0,0 +1,210 @@
+package com.dlutskov.chart_lib;
+
+import com.dlutskov.chart_lib.data.ChartSamplesQueue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks order of the samples and each backpressure mode of the samples queue
+ */
+public class ChartSamplesQueueTest {
+
+    private static final int LINES_COUNT = 3;
+
+    // Y values of the sample are derived from x, so the broken sample can be detected
+    private static final long Y_MULTIPLIER = 1000;
+
+    private final List<Long> mDrainedXValues = new ArrayList<>();
+
+    private final ChartSamplesQueue.Consumer mConsumer = (x, yValues) -> {
+        checkSample(x, yValues);
+        mDrainedXValues.add(x);
+    };
+
+    @Test
+    public void capacity_isRoundedUpToPowerOfTwo() {
+        assertEquals(1, createQueue(1, ChartSamplesQueue.Backpressure.DROP_OLDEST).getCapacity());
+        assertEquals(8, createQueue(5, ChartSamplesQueue.Backpressure.DROP_OLDEST).getCapacity());
+        assertEquals(8, createQueue(8, ChartSamplesQueue.Backpressure.DROP_OLDEST).getCapacity());
+        assertEquals(16, createQueue(9, ChartSamplesQueue.Backpressure.DROP_OLDEST).getCapacity());
+    }
+
+    @Test
+    public void samples_areDrainedInOfferOrderAfterWrapAround() {
+        ChartSamplesQueue queue = createQueue(4, ChartSamplesQueue.Backpressure.DROP_OLDEST);
+        long x = 0;
+        // Each round moves the positions by 3, so the samples are written over the end of the ring buffer
+        for (int round = 0; round < 10; round++) {
+            long firstX = x;
+            for (int i = 0; i < 3; i++) {
+                assertTrue(queue.offer(x, createSample(x)));
+                x++;
+            }
+            assertEquals(3, queue.size());
+            mDrainedXValues.clear();
+            assertEquals(3, queue.drain(mConsumer, Integer.MAX_VALUE));
+            assertTrue(queue.isEmpty());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(firstX + i, (long) mDrainedXValues.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void drain_takesNotMoreThanMaxSamples() {
+        ChartSamplesQueue queue = createQueue(8, ChartSamplesQueue.Backpressure.DROP_OLDEST);
+        for (long x = 0; x < 5; x++) {
+            queue.offer(x, createSample(x));
+        }
+        assertEquals(2, queue.drain(mConsumer, 2));
+        assertEquals(3, queue.size());
+        assertEquals(3, queue.drain(mConsumer, 10));
+        assertEquals(0, queue.drain(mConsumer, 10));
+    }
+
+    @Test
+    public void dropOldest_keepsLastSamplesWhenFull() {
+        ChartSamplesQueue queue = createQueue(4, ChartSamplesQueue.Backpressure.DROP_OLDEST);
+        for (long x = 0; x < 10; x++) {
+            assertTrue(queue.offer(x, createSample(x)));
+        }
+        assertEquals(4, queue.drain(mConsumer, Integer.MAX_VALUE));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(6 + i, (long) mDrainedXValues.get(i));
+        }
+    }
+
+    @Test
+    public void dropOldest_concurrentConsumerReceivesIntactSamples() throws InterruptedException {
+        ChartSamplesQueue queue = createQueue(16, ChartSamplesQueue.Backpressure.DROP_OLDEST);
+        long samplesCount = 200_000;
+        AtomicBoolean isProduced = new AtomicBoolean();
+        Thread producer = new Thread(() -> {
+            long[] sample = new long[LINES_COUNT];
+            for (long x = 0; x < samplesCount; x++) {
+                fillSample(x, sample);
+                queue.offer(x, sample);
+            }
+            isProduced.set(true);
+        });
+        long[] lastX = {-1};
+        ChartSamplesQueue.Consumer consumer = (x, yValues) -> {
+            checkSample(x, yValues);
+            assertTrue("X values should increase: " + lastX[0] + " -> " + x, x > lastX[0]);
+            lastX[0] = x;
+        };
+        producer.start();
+        while (!isProduced.get()) {
+            queue.drain(consumer, 8);
+        }
+        producer.join();
+        queue.drain(consumer, Integer.MAX_VALUE);
+        // The last sample can't be dropped because nothing is offered after it
+        assertEquals(samplesCount - 1, lastX[0]);
+    }
+
+    @Test
+    public void block_producerWaitsForRoom() throws InterruptedException {
+        ChartSamplesQueue queue = createQueue(2, ChartSamplesQueue.Backpressure.BLOCK);
+        queue.offer(0, createSample(0));
+        queue.offer(1, createSample(1));
+        boolean[] result = new boolean[1];
+        Thread producer = new Thread(() -> result[0] = queue.offer(2, createSample(2)));
+        producer.start();
+        producer.join(100);
+        assertTrue(producer.isAlive());
+        assertEquals(2, queue.size());
+
+        assertEquals(1, queue.drain(mConsumer, 1));
+        producer.join();
+        assertTrue(result[0]);
+        assertEquals(2, queue.drain(mConsumer, Integer.MAX_VALUE));
+        assertEquals(3, mDrainedXValues.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, (long) mDrainedXValues.get(i));
+        }
+    }
+
+    @Test
+    public void block_returnsFalseWhenProducerIsInterrupted() throws InterruptedException {
+        ChartSamplesQueue queue = createQueue(2, ChartSamplesQueue.Backpressure.BLOCK);
+        queue.offer(0, createSample(0));
+        queue.offer(1, createSample(1));
+        boolean[] result = {true};
+        Thread producer = new Thread(() -> result[0] = queue.offer(2, createSample(2)));
+        producer.start();
+        producer.join(100);
+        assertTrue(producer.isAlive());
+
+        producer.interrupt();
+        producer.join();
+        assertFalse(result[0]);
+        // Sample which wasn't offered isn't published
+        assertEquals(2, queue.drain(mConsumer, Integer.MAX_VALUE));
+        assertEquals(1, (long) mDrainedXValues.get(1));
+    }
+
+    @Test
+    public void coalesce_keepsLastSampleOfferedWhileFull() {
+        ChartSamplesQueue queue = createQueue(2, ChartSamplesQueue.Backpressure.COALESCE);
+        for (long x = 1; x <= 4; x++) {
+            assertTrue(queue.offer(x, createSample(x)));
+        }
+        // Sample 4 is pending - there is no room yet
+        assertFalse(queue.flush());
+        assertEquals(2, queue.drain(mConsumer, Integer.MAX_VALUE));
+        assertEquals(1, (long) mDrainedXValues.get(0));
+        assertEquals(2, (long) mDrainedXValues.get(1));
+
+        assertTrue(queue.flush());
+        assertTrue(queue.flush());
+        assertEquals(1, queue.drain(mConsumer, Integer.MAX_VALUE));
+        assertEquals(4, (long) mDrainedXValues.get(2));
+    }
+
+    @Test
+    public void coalesce_pendingSampleIsPublishedBeforeTheNextOne() {
+        ChartSamplesQueue queue = createQueue(2, ChartSamplesQueue.Backpressure.COALESCE);
+        for (long x = 1; x <= 3; x++) {
+            queue.offer(x, createSample(x));
+        }
+        queue.drain(mConsumer, Integer.MAX_VALUE);
+        queue.offer(4, createSample(4));
+        queue.drain(mConsumer, Integer.MAX_VALUE);
+        assertEquals(4, mDrainedXValues.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i + 1, (long) mDrainedXValues.get(i));
+        }
+    }
+
+    private static ChartSamplesQueue createQueue(int capacity, ChartSamplesQueue.Backpressure backpressure) {
+        return new ChartSamplesQueue(capacity, LINES_COUNT, backpressure);
+    }
+
+    private static long[] createSample(long x) {
+        long[] sample = new long[LINES_COUNT];
+        fillSample(x, sample);
+        return sample;
+    }
+
+    private static void fillSample(long x, long[] sample) {
+        for (int i = 0; i < LINES_COUNT; i++) {
+            sample[i] = x * Y_MULTIPLIER + i;
+        }
+    }
+
+    private static void checkSample(long x, long[] yValues) {
+        for (int i = 0; i < LINES_COUNT; i++) {
+            assertEquals("Broken sample " + x, x * Y_MULTIPLIER + i, yValues[i]);
+        }
+    }
+
+}
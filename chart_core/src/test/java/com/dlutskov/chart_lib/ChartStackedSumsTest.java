@@ -0,0 +1,146 @@
+package com.dlutskov.chart_lib;
+
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.ChartStackedSums;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.chart_lib.utils.Pair;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that stacked bounds calculated from the cached sums are the same as the sums of the lines values
+ */
+public class ChartStackedSumsTest {
+
+    private static final int POINTS_COUNT = 1000;
+    private static final int LINES_COUNT = 4;
+    private static final int WINDOW_SIZE = 100;
+
+    private ChartLinesData<LongCoordinate, LongCoordinate> mData;
+    private final Set<String> mHiddenLines = new HashSet<>();
+    private final Pair<LongCoordinate, LongCoordinate> mBounds = new Pair<>(null, null);
+
+    @Before
+    public void setUp() {
+        List<LongCoordinate> xPoints = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            xPoints.add(LongCoordinate.valueOf(i));
+        }
+        List<ChartPointsData<LongCoordinate>> yLines = new ArrayList<>();
+        for (int line = 0; line < LINES_COUNT; line++) {
+            List<LongCoordinate> yPoints = new ArrayList<>();
+            for (int i = 0; i < POINTS_COUNT; i++) {
+                yPoints.add(LongCoordinate.valueOf((i * 31 + line * 17) % 1000));
+            }
+            yLines.add(new ChartPointsData<>("y" + line, "y" + line, ChartLinesData.CHART_TYPE_AREA, 0, yPoints));
+        }
+        mData = new ChartLinesData<>(new ChartPointsData<>("x", "x", ChartLinesData.CHART_TYPE_X, 0, xPoints), yLines);
+        mData.setStacked(true);
+    }
+
+    @Test
+    public void stackedBounds_areSumsOfVisibleLines() {
+        checkBounds();
+        mHiddenLines.add("y1");
+        checkBounds();
+        mHiddenLines.add("y3");
+        checkBounds();
+    }
+
+    @Test
+    public void stackedBounds_allLinesHidden() {
+        for (int line = 0; line < LINES_COUNT; line++) {
+            mHiddenLines.add("y" + line);
+        }
+        mData.calculateYBounds(0, WINDOW_SIZE, mHiddenLines, mBounds);
+
+        assertEquals(0, mBounds.first.compareTo(LongCoordinate.valueOf(0)));
+        assertEquals(0, mBounds.second.compareTo(LongCoordinate.valueOf(0)));
+    }
+
+    @Test
+    public void stackedSums_areReusedForTheSameVisibleLines() {
+        mHiddenLines.add("y3");
+        ChartStackedSums<LongCoordinate> sums = mData.getStackedSums();
+        ChartStackedSums.Layers<LongCoordinate> layers = sums.getLayers(mHiddenLines);
+
+        // Weights of the drawer which animates the hidden line
+        float[] weights = {1, 1, 1, 0.5f};
+        ChartStackedSums.Layers<LongCoordinate> animatedLayers = sums.getLayers(weights);
+
+        assertTrue(layers != animatedLayers);
+        assertSame(layers, sums.getLayers(mHiddenLines));
+        assertSame(animatedLayers, sums.getLayers(weights));
+        assertEquals(2, layers.getTopLineIndex());
+        assertEquals(LINES_COUNT - 1, animatedLayers.getTopLineIndex());
+    }
+
+    @Test
+    public void stackedSums_includeAppendedPoints() {
+        ChartStackedSums.Layers<LongCoordinate> layers = mData.getStackedSums().getLayers(mHiddenLines);
+        LongCoordinate[] yValues = new LongCoordinate[LINES_COUNT];
+        for (int i = 0; i < LINES_COUNT; i++) {
+            yValues[i] = LongCoordinate.valueOf(5000);
+        }
+        mData.appendPoint(LongCoordinate.valueOf(POINTS_COUNT), yValues);
+
+        mData.calculateYBounds(POINTS_COUNT - WINDOW_SIZE, POINTS_COUNT, mHiddenLines, mBounds);
+
+        assertSame(layers, mData.getStackedSums().getLayers(mHiddenLines));
+        assertEquals(0, mBounds.second.compareTo(LongCoordinate.valueOf(5000 * LINES_COUNT)));
+        // Sum is bigger than the reference of the cached sums
+        assertTrue(layers.getReference().compareTo(mBounds.second) < 0);
+        assertEquals(0, layers.getSums(layers.getTopLineIndex()).get(POINTS_COUNT).compareTo(mBounds.second));
+    }
+
+    @Test
+    public void stackedBounds_ofNarrowRangeOfLargeSums_areExact() {
+        // Totals are about 4e9 and vary only by 3 - float ratios of the reference don't distinguish them
+        LongCoordinate[] yValues = new LongCoordinate[LINES_COUNT];
+        for (int i = 0; i < WINDOW_SIZE; i++) {
+            for (int line = 0; line < LINES_COUNT; line++) {
+                yValues[line] = LongCoordinate.valueOf(1_000_000_000L + (line == 0 ? i % 4 : 0));
+            }
+            mData.appendPoint(LongCoordinate.valueOf(POINTS_COUNT + i), yValues);
+        }
+
+        mData.calculateYBounds(POINTS_COUNT, POINTS_COUNT + WINDOW_SIZE - 1, mHiddenLines, mBounds);
+
+        assertEquals(0, mBounds.first.compareTo(LongCoordinate.valueOf(4_000_000_000L)));
+        assertEquals(0, mBounds.second.compareTo(LongCoordinate.valueOf(4_000_000_003L)));
+    }
+
+    private void checkBounds() {
+        for (int minXIndex = 0; minXIndex + WINDOW_SIZE < POINTS_COUNT; minXIndex += 7) {
+            int maxXIndex = minXIndex + WINDOW_SIZE;
+            mData.calculateYBounds(minXIndex, maxXIndex, mHiddenLines, mBounds);
+
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = minXIndex; i <= maxXIndex; i++) {
+                long sum = 0;
+                for (int line = 0; line < LINES_COUNT; line++) {
+                    if (!mHiddenLines.contains("y" + line)) {
+                        sum += (i * 31 + line * 17) % 1000;
+                    }
+                }
+                min = Math.min(min, sum);
+                max = Math.max(max, sum);
+            }
+            assertEquals(0, mBounds.first.compareTo(LongCoordinate.valueOf(min)));
+            assertEquals(0, mBounds.second.compareTo(LongCoordinate.valueOf(max)));
+        }
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.dlutskov.chart_lib;
+
+import android.content.Context;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+
+import com.dlutskov.chart_lib.canvas.RecordingChartCanvas;
+import com.dlutskov.chart_lib.data.ChartDataGenerator;
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.chart_lib.drawers.ChartAxisLabelsDrawer;
+import com.dlutskov.chart_lib.drawers.ChartBarsDrawer;
+import com.dlutskov.chart_lib.drawers.ChartLinesDrawer;
+import com.dlutskov.chart_lib.drawers.ChartPercentagesAreasDrawer;
+import com.dlutskov.chart_lib.drawers.ChartPercentagesBarsDrawer;
+import com.dlutskov.chart_lib.drawers.ChartPieDrawer;
+import com.dlutskov.chart_lib.drawers.ChartPointsDrawer;
+import com.dlutskov.chart_lib.drawers.ChartScaledLinesDrawer;
+import com.dlutskov.chart_lib.drawers.ChartStackedAreasDrawer;
+import com.dlutskov.chart_lib.drawers.ChartStackedBarsDrawer;
+import com.dlutskov.chart_lib.drawers.ChartYAxisLabelsDrawer;
+import com.dlutskov.chart_lib.drawers.ChartYAxisPercentagesDrawers;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drives scripted pan, select and visibility sequences through every drawer type and checks that
+ * steady-state frames don't allocate. Each sequence is run twice - the first run warms up caches and pools,
+ * and the second one, which replays the same frames, should not allocate anything.
+ * Runs on a device because allocations are counted by the ART runtime
+ */
+@RunWith(AndroidJUnit4.class)
+public class ChartFrameAllocationsTest {
+
+    private interface PointsDrawerFactory {
+        ChartPointsDrawer<DateCoordinate, LongCoordinate, ?> create(ChartView<DateCoordinate, LongCoordinate> chartView);
+    }
+
+    private interface FrameAction {
+        void onFrame(ChartFullView<DateCoordinate, LongCoordinate> chartView, int frame);
+    }
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 800;
+
+    private static final int POINTS_COUNT = 2000;
+    private static final int SERIES_COUNT = 4;
+    private static final int WINDOW_SIZE = 200;
+
+    private static final long FRAME_TIME_NANOS = 16_666_667;
+
+    // Enough frames to finish all bounds and visibility animations
+    private static final int SETTLE_FRAMES = 90;
+
+    private static final int PAN_FRAMES = 80;
+    private static final int PAN_STEP = 5;
+    private static final int PAN_START_INDEX = POINTS_COUNT - WINDOW_SIZE - PAN_STEP * PAN_FRAMES / 2;
+
+    private static final int SELECT_STEP = 4;
+
+    @Rule
+    public final UiThreadTestRule mUiThreadTestRule = new UiThreadTestRule();
+
+    private final RecordingChartCanvas mCanvas = new RecordingChartCanvas(WIDTH, HEIGHT);
+
+    private long mFrameTimeNanos;
+
+    @Test
+    @UiThreadTest
+    public void linesChart_steadyFramesDoNotAllocate() {
+        checkAllSequences(updateData(createChart(ChartLinesDrawer::new), createGenerator()), true);
+    }
+
+    @Test
+    @UiThreadTest
+    public void barsChart_steadyFramesDoNotAllocate() {
+        checkAllSequences(updateData(createChart(ChartBarsDrawer::new), createGenerator()
+                .setChartType(ChartLinesData.CHART_TYPE_BAR)), true);
+    }
+
+    @Test
+    @UiThreadTest
+    public void stackedBarsChart_steadyFramesDoNotAllocate() {
+        checkAllSequences(updateData(createChart(ChartStackedBarsDrawer::new), createGenerator()
+                .setChartType(ChartLinesData.CHART_TYPE_BAR)
+                .setStacked(true)), true);
+    }
+
+    @Test
+    @UiThreadTest
+    public void stackedAreasChart_steadyFramesDoNotAllocate() {
+        checkAllSequences(updateData(createChart(ChartStackedAreasDrawer::new), createGenerator()
+                .setChartType(ChartLinesData.CHART_TYPE_AREA)
+                .setStacked(true)), true);
+    }
+
+    @Test
+    @UiThreadTest
+    public void scaledLinesChart_steadyFramesDoNotAllocate() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createChart(ChartScaledLinesDrawer::new);
+        // The same Y labels as the app uses for the scaled charts
+        ChartYAxisLabelsDrawer<DateCoordinate, LongCoordinate> rightLabelsDrawer =
+                new ChartYAxisLabelsDrawer<>(chartView, ChartAxisLabelsDrawer.SIZE_MATCH_PARENT);
+        rightLabelsDrawer.setSide(ChartYAxisLabelsDrawer.SIDE_RIGHT);
+        rightLabelsDrawer.setScaledPointsId("y1", 0);
+        chartView.getYLabelsDrawer().setScaledPointsId("y0", 0);
+        chartView.addDrawer(rightLabelsDrawer);
+
+        checkAllSequences(updateData(chartView, createGenerator().setYScaled(true)), true);
+    }
+
+    @Test
+    @UiThreadTest
+    public void percentagesAreasChart_steadyFramesDoNotAllocate() {
+        checkAllSequences(createPercentagesChart(ChartPercentagesAreasDrawer::new, ChartLinesData.CHART_TYPE_AREA), true);
+    }
+
+    @Test
+    @UiThreadTest
+    public void percentagesBarsChart_steadyFramesDoNotAllocate() {
+        checkAllSequences(createPercentagesChart(ChartPercentagesBarsDrawer::new, ChartLinesData.CHART_TYPE_BAR), true);
+    }
+
+    @Test
+    @UiThreadTest
+    public void pieChart_steadyFramesDoNotAllocate() {
+        // Points of the pie chart can't be selected
+        checkAllSequences(createPercentagesChart(ChartPieDrawer::new, ChartLinesData.CHART_TYPE_AREA), false);
+    }
+
+    private void checkAllSequences(ChartFullView<DateCoordinate, LongCoordinate> chartView, boolean checkSelection) {
+        checkFrames("pan", chartView, PAN_FRAMES + SETTLE_FRAMES, (view, frame) -> {
+            if (frame < PAN_FRAMES) {
+                // Move window forward for the first half of the frames and back for the second half
+                int shift = frame < PAN_FRAMES / 2 ? frame + 1 : PAN_FRAMES - frame - 1;
+                int minXIndex = PAN_START_INDEX + shift * PAN_STEP;
+                view.updateHorizontalBounds(minXIndex, minXIndex + WINDOW_SIZE - 1);
+            }
+        });
+
+        if (checkSelection) {
+            int selectFrames = (WINDOW_SIZE - 2) / SELECT_STEP;
+            checkFrames("select", chartView, selectFrames + SETTLE_FRAMES, (view, frame) -> {
+                if (frame < selectFrames) {
+                    view.showPointsDetails(PAN_START_INDEX + 1 + frame * SELECT_STEP);
+                } else if (frame == selectFrames) {
+                    view.hidePointsDetails(0);
+                }
+            });
+        }
+
+        // Visibility is changed by the click, so only frames of the visibility animations are checked
+        for (int i = 0; i < 2; i++) {
+            chartView.updatePointsVisibility("y1", false);
+            int hideAllocations = countFramesAllocations(chartView, SETTLE_FRAMES, null);
+            chartView.updatePointsVisibility("y1", true);
+            int showAllocations = countFramesAllocations(chartView, SETTLE_FRAMES, null);
+            if (i > 0) {
+                assertEquals("Hide frames allocated objects", 0, hideAllocations);
+                assertEquals("Show frames allocated objects", 0, showAllocations);
+            }
+        }
+    }
+
+    private void checkFrames(String sequence, ChartFullView<DateCoordinate, LongCoordinate> chartView,
+                             int framesCount, FrameAction action) {
+        // Warm up
+        countFramesAllocations(chartView, framesCount, action);
+        int allocations = countFramesAllocations(chartView, framesCount, action);
+        assertEquals("Frames of the " + sequence + " sequence allocated objects", 0, allocations);
+    }
+
+    @SuppressWarnings("deprecation")
+    private int countFramesAllocations(ChartFullView<DateCoordinate, LongCoordinate> chartView, int framesCount,
+                                       FrameAction action) {
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        for (int frame = 0; frame < framesCount; frame++) {
+            if (action != null) {
+                action.onFrame(chartView, frame);
+            }
+            mFrameTimeNanos += FRAME_TIME_NANOS;
+            chartView.onFrame(mFrameTimeNanos);
+            mCanvas.reset();
+            chartView.drawChart(mCanvas);
+        }
+        Debug.stopAllocCounting();
+        return Debug.getThreadAllocCount();
+    }
+
+    private static ChartFullView<DateCoordinate, LongCoordinate> createPercentagesChart(PointsDrawerFactory drawerFactory,
+                                                                                 String chartType) {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createChart(drawerFactory);
+        chartView.setYLabelsDrawer(new ChartYAxisPercentagesDrawers<>(chartView, ChartAxisLabelsDrawer.SIZE_MATCH_PARENT, 0));
+        return updateData(chartView, createGenerator()
+                .setChartType(chartType)
+                .setPercentage(true));
+    }
+
+    private static ChartFullView<DateCoordinate, LongCoordinate> createChart(PointsDrawerFactory drawerFactory) {
+        Context context = InstrumentationRegistry.getTargetContext();
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = new ChartFullView<>(context);
+        chartView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        chartView.layout(0, 0, WIDTH, HEIGHT);
+        chartView.setPointsDrawer(drawerFactory.create(chartView));
+        return chartView;
+    }
+
+    private static ChartFullView<DateCoordinate, LongCoordinate> updateData(ChartFullView<DateCoordinate, LongCoordinate> chartView,
+                                                                            ChartDataGenerator generator) {
+        ChartLinesData<DateCoordinate, LongCoordinate> data = generator.generate();
+        chartView.updateChartData(data, PAN_START_INDEX, PAN_START_INDEX + WINDOW_SIZE - 1, false);
+        return chartView;
+    }
+
+    private static ChartDataGenerator createGenerator() {
+        return new ChartDataGenerator()
+                .setPointsCount(POINTS_COUNT)
+                .setSeriesCount(SERIES_COUNT);
+    }
+
+}
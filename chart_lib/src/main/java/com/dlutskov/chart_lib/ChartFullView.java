@@ -15,6 +15,7 @@ import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.AccelerateInterpolator;
 import android.view.animation.DecelerateInterpolator;
 
+import com.dlutskov.chart_lib.animation.ChartAnimation;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 import com.dlutskov.chart_lib.drawers.ChartAxisLabelsDrawer;
@@ -27,6 +28,8 @@ import com.dlutskov.chart_lib.drawers.ChartYAxisLabelsDrawer;
 import com.dlutskov.chart_lib.utils.ChartUtils;
 import com.dlutskov.chart_lib.utils.Pair;
 
+import java.util.Map;
+
 /**
  * Extends {@link ChartView} by adding own {@link ChartXAxisLabelsDrawer} and {@link ChartYAxisLabelsDrawer}
  * for drawing labels on x and axis and {@link ChartPointsDetailsDrawer} for drawing window with details of selected
@@ -55,7 +58,26 @@ public class ChartFullView<X extends ChartCoordinate, Y extends ChartCoordinate>
     private ChartPointsDetailsDrawer<X, Y> mPointsDetailsDrawer;
 
     // Pints details
-    private ValueAnimator mPointsDetailsAnimator;
+    private ChartAnimation mPointsDetailsAnimation;
+    private int mPointsDetailsAlphaFrom;
+    private boolean mPointsDetailsAppear;
+    private final ChartAnimation.Listener mPointsDetailsAnimationListener = new ChartAnimation.Listener() {
+        @Override
+        public void onAnimationUpdate(ChartAnimation animation, float progress) {
+            int targetAlpha = mPointsDetailsAppear ? 255 : 0;
+            mPointsDetailsAlpha = (int) (mPointsDetailsAlphaFrom + (targetAlpha - mPointsDetailsAlphaFrom) * progress);
+            mPointsDrawer.setSelectedPointAlpha(mPointsDetailsAlpha);
+            mPointsDetailsDrawer.setAlpha(mPointsDetailsAlpha);
+        }
+
+        @Override
+        public void onAnimationEnd(ChartAnimation animation, boolean cancelled) {
+            mPointsDetailsAnimation = null;
+            if (!mPointsDetailsAppear) {
+                mPointsDetailsDrawer.setShown(false);
+            }
+        }
+    };
     private int mPointsDetailsXIndex = -1;
     private int mPointsDetailsAlpha;
     private long mPointsDetailsAnimDuration;
@@ -125,6 +147,16 @@ public class ChartFullView<X extends ChartCoordinate, Y extends ChartCoordinate>
     @Override
     public void updatePointsVisibility(String pointsId, boolean visible) {
         super.updatePointsVisibility(pointsId, visible);
+        onPointsVisibilityUpdated();
+    }
+
+    @Override
+    public void updatePointsVisibility(Map<String, Boolean> visibility) {
+        super.updatePointsVisibility(visibility);
+        onPointsVisibilityUpdated();
+    }
+
+    private void onPointsVisibilityUpdated() {
         if (mLinesData.getYPoints().size() == mHiddenChartLines.size()) {
             // Hide points details if there are no visible points
             instantlyHidePointsDetails();
@@ -152,14 +184,18 @@ public class ChartFullView<X extends ChartCoordinate, Y extends ChartCoordinate>
         }
     }
 
-    private void showPointsDetails(int xIndex) {
+    /**
+     * Selects points with the specified x index and shows details window for them
+     */
+    public void showPointsDetails(int xIndex) {
         removeCallbacks(mHidePointsDetailsTask);
 
         mPointsDetailsXIndex = xIndex;
         mPointsDrawer.setSelectedPointIndex(xIndex);
         mPointsDetailsDrawer.setSelectedPointIndex(xIndex);
-        if (mPointsDetailsAlpha > 0 || (mPointsDetailsAnimator != null && mPointsDetailsAnimator.isRunning())) {
-            invalidate();
+        if (mPointsDetailsAlpha > 0 || mPointsDetailsAnimation != null) {
+            // Only selection is changed - the content is kept
+            invalidateOverlay();
         } else {
             startPointsDetailsAnimator(true);
         }
@@ -183,27 +219,14 @@ public class ChartFullView<X extends ChartCoordinate, Y extends ChartCoordinate>
     }
 
     private void startPointsDetailsAnimator(boolean appear) {
-        if (mPointsDetailsAnimator != null) {
-            mPointsDetailsAnimator.cancel();
-        }
-        mPointsDetailsAnimator = ValueAnimator.ofInt(mPointsDetailsAlpha, appear ? 255 : 0).setDuration(mPointsDetailsAnimDuration);
-        mPointsDetailsAnimator.addUpdateListener(animation -> {
-            mPointsDetailsAlpha = (int) animation.getAnimatedValue();
-            mPointsDrawer.setSelectedPointAlpha(mPointsDetailsAlpha);
-            mPointsDetailsDrawer.setAlpha(mPointsDetailsAlpha);
-            invalidate();
-        });
-        if (!appear) {
-            mPointsDetailsAnimator.addListener(new AnimatorListenerAdapter() {
-                @Override
-                public void onAnimationEnd(Animator animation) {
-                    super.onAnimationEnd(animation);
-                    mPointsDetailsDrawer.setShown(false);
-                }
-            });
+        if (mPointsDetailsAnimation != null) {
+            mPointsDetailsAnimation.cancel();
         }
+        mPointsDetailsAlphaFrom = mPointsDetailsAlpha;
+        mPointsDetailsAppear = appear;
         mPointsDetailsDrawer.setShown(true);
-        mPointsDetailsAnimator.start();
+        mPointsDetailsAnimation = getAnimationScheduler().start(mPointsDetailsAnimDuration, null,
+                mPointsDetailsAnimationListener, true);
     }
 
     public void expand(ChartPointsDrawer<X, Y, ?> pointsDrawer, ChartLinesData<X, Y> expandedData, int selectedXIndex,
@@ -293,7 +316,7 @@ public class ChartFullView<X extends ChartCoordinate, Y extends ChartCoordinate>
             @Override
             public void onAnimationEnd(Animator animation) {
                 super.onAnimationEnd(animation);
-                mDisappearingPointsDrawer = null;
+                removeDisappearingPointsDrawer();
             }
         });
         return hideAnimator;
@@ -411,7 +434,9 @@ public class ChartFullView<X extends ChartCoordinate, Y extends ChartCoordinate>
         rotateAndHideAnimator.addListener(new AnimatorListenerAdapter() {
             @Override
             public void onAnimationEnd(Animator animation) {
-                mDisappearingPointsDrawer = null;
+                // Hidden drawer isn't clipped anymore - releases software layer on the old versions
+                disappearingPointsDrawer.setClipValue(0);
+                removeDisappearingPointsDrawer();
             }
         });
 
@@ -466,7 +491,7 @@ public class ChartFullView<X extends ChartCoordinate, Y extends ChartCoordinate>
             @Override
             public void onAnimationEnd(Animator animation) {
                 super.onAnimationEnd(animation);
-                mDisappearingPointsDrawer = null;
+                removeDisappearingPointsDrawer();
             }
         });
 
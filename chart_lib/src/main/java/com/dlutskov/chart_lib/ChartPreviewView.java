@@ -167,6 +167,16 @@ public class ChartPreviewView<X extends ChartCoordinate, Y extends ChartCoordina
         }
     }
 
+    @Override
+    protected void onPointsAppended(int minXIndex, int maxXIndex) {
+        // Preview always displays all points - selected area keeps its indexes
+        mXPointsCount = mLinesData.getXPoints().getPoints().size();
+        super.onPointsAppended(0, mXPointsCount - 1);
+        if (getWidth() != 0) {
+            calculateCurrentCoordinates();
+        }
+    }
+
     @Override
     protected void onShowDataAnimatorUpdate(ChartPointsDrawer<X, Y, ?> pointsDrawer, float progress) {
         super.onShowDataAnimatorUpdate(pointsDrawer, progress);
@@ -7,36 +7,61 @@ import android.animation.ValueAnimator;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Rect;
+import android.view.View;
 import android.view.animation.AccelerateInterpolator;
 import android.view.animation.DecelerateInterpolator;
 import android.widget.FrameLayout;
 
+import com.dlutskov.chart_lib.animation.ChartAnimationScheduler;
+import com.dlutskov.chart_lib.canvas.AndroidChartCanvas;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
+import com.dlutskov.chart_lib.canvas.RecordingChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartSamplesQueue;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 import com.dlutskov.chart_lib.drawers.ChartDataDrawer;
 import com.dlutskov.chart_lib.drawers.ChartLinesDrawer;
 import com.dlutskov.chart_lib.drawers.ChartPointsDrawer;
+import com.dlutskov.chart_lib.metrics.ChartDrawerMetrics;
+import com.dlutskov.chart_lib.metrics.ChartMetrics;
+import com.dlutskov.chart_lib.utils.ChartFrameClock;
 import com.dlutskov.chart_lib.utils.ChartUtils;
-import com.dlutskov.chart_lib.utils.Pair;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Base view for drawing chart according to specified {@link ChartLinesData}.
  * Call {@link #updateChartData(ChartLinesData, boolean)} to draw chart with specified data
+ * For high rate updates use {@link #publishChartData(ChartLinesData, int, int, boolean)} and
+ * {@link #publishHorizontalBounds(int, int)} - all published updates are applied once per display frame.
+ * Samples produced on another thread can be streamed through the {@link ChartSamplesQueue}
+ * attached by {@link #setSamplesQueue(ChartSamplesQueue, ChartSamplesQueue.Consumer)}
+ * Drawers animations are ticked on the same frame by the {@link ChartAnimationScheduler}
  * All drawing is performed on the {@link #onDraw(Canvas)} callback by delegating drawing
- * to all registered {@link ChartDataDrawer} instances.
+ * to all registered {@link ChartDataDrawer} instances through the {@link ChartCanvas}.
+ * Chart is drawn on two layers: the content with Y axis and chart lines, and the overlay above it with
+ * selected points, points details and X axis labels, so the selection and labels fades are redrawn by
+ * {@link #invalidateOverlay()} without redrawing the content. Overlay is a child view which has own display list when the view is hardware accelerated
  * To draw something more - register own ChartDataDrawer by calling {@link #addDrawer(ChartDataDrawer)}
  * Chart's lines drawing performed by the {@link ChartPointsDrawer}. Call {@link #setPointsDrawer(ChartPointsDrawer)}
  * to use your own drawer
+ * Rebuild and draw durations of each drawer can be collected by {@link #setMetricsListener(ChartMetrics.Listener)}
+ * If adaptive quality is enabled by {@link #setAdaptiveQuality(boolean)} - drawers switch to cheaper drawing
+ * while the chart is in motion and frames exceed the budget. Full quality is restored when the chart is idle
  * @param <X> type of x axis chart coordinates
  * @param <Y> type of Y axis chart coordinates
  */
 public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> extends FrameLayout {
 
+    public static final long DEFAULT_FRAME_BUDGET_NANOS = 16_000_000;
+
+    // Chart is idle when there were no frames during this delay
+    private static final long IDLE_DELAY_MS = 150;
+
     /**
      * Data set which will be displayed by the chart drawers
      */
@@ -51,10 +76,14 @@ public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> ext
     /**
      * Contains actual chart bounds. According to all visible lines and lines bounds - chart's Y bounds
      * are calculated automatically when new data is added or x bounds are changed
-     * If {@link #mMinYValue} and {@link #mMaxYValue} are specified (not null) - bounds can be less or more that values
+     * If {@link #setMinYValue(ChartCoordinate)} and {@link #setMaxYValue(ChartCoordinate)} are specified (not null) -
+     * bounds can be less or more that values
      */
     protected ChartBounds<X, Y> mBounds;
 
+    // Bounds before the last update. Reused for each bounds update
+    private ChartBounds<X, Y> mPrevBounds;
+
     /**
      * Main drawer which draws chart lines
      */
@@ -70,13 +99,8 @@ public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> ext
      */
     protected Rect mDrawingRect = new Rect();
 
-    // By default each time when bounds or data changed - min/max Y values will be recalculated depends on
-    // the visible data on the chart. Values below used to force use specified min max values not depend on the chart's data
-    private Y mMinYValue;
-    private Y mMaxYValue;
-
-    // Used to calculate minY and maxY to not create new instance on each calculations
-    private Pair<Y, Y> mYBoundsPair = new Pair<>(null, null);
+    // Calculates bounds each time when bounds or data changed
+    private final ChartBoundsCalculator<X, Y> mBoundsCalculator = new ChartBoundsCalculator<>();
 
     // Update data with animation
     private AnimatorSet mDataUpdateAnimator;
@@ -85,6 +109,45 @@ public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> ext
     protected int mDataDisappearAnimationDuration = 600;
     protected int mDataAnimationAppearDelay = 100;
 
+    // Updates which were published but not applied yet. Latest published values win.
+    // Guarded by mPendingUpdatesLock as they can be published from any thread
+    private final Object mPendingUpdatesLock = new Object();
+    private ChartLinesData<X, Y> mPendingData;
+    private boolean mPendingKeepHiddenChartLines;
+    private boolean mHasPendingBounds;
+    private int mPendingMinXIndex;
+    private int mPendingMaxXIndex;
+
+    // Applies pending updates and ticks running animations on the next frame
+    private ChartFrameClock mFrameClock;
+
+    // Ticks all drawers animations and invalidates the view once per frame
+    private ChartAnimationScheduler mAnimationScheduler;
+
+    // Wraps the view canvas for the drawers. Reused for each frame by the content and overlay layers
+    private final AndroidChartCanvas mChartCanvas = new AndroidChartCanvas();
+
+    // Layer above the content which is redrawn separately
+    private OverlayView mOverlayView;
+    // True while the content is drawn and its frame is not finished - overlay is drawn as a part of the same frame
+    private boolean isContentFrameDrawing;
+    private long mContentFrameStart;
+
+    // Queue with samples published by the data producer thread. Drained on frame time
+    private ChartSamplesQueue mSamplesQueue;
+    // Appends drained samples to the current lines data
+    private ChartSamplesQueue.Consumer mSamplesConsumer;
+
+    // Not null only when metrics are collected
+    private ChartMetrics mMetrics;
+
+    // Adaptive quality
+    private boolean isAdaptiveQuality;
+    private boolean isReducedQuality;
+    private long mFrameBudgetNanos = DEFAULT_FRAME_BUDGET_NANOS;
+    private long mLastFrameEndNanos;
+    private final Runnable mRestoreQualityRunnable = this::restoreFullQuality;
+
     public ChartView(Context context) {
         super(context);
         init();
@@ -92,12 +155,19 @@ public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> ext
 
     protected void init() {
         mBounds = new ChartBounds<>(0, 0, null, null);
+        mPrevBounds = new ChartBounds<>(mBounds);
         mPointsDrawer = new ChartLinesDrawer<>(this);
+        mFrameClock = new ChartFrameClock(this::onFrame);
         // Set small top padding by default to have some space above the highest point
         int topPadding = ChartUtils.getPixelForDp(getContext(), 6);
         setPadding(0, topPadding, 0, 0);
         // Used to force onDraw callback
         setWillNotDraw(false);
+        // Overlay is drawn over the whole view as the drawers use view coordinates
+        setClipToPadding(false);
+        mOverlayView = new OverlayView(getContext());
+        addView(mOverlayView, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+        mAnimationScheduler = new ChartAnimationScheduler(mFrameClock, this, mOverlayView);
     }
 
     public void updateChartData(ChartLinesData<X, Y> chartData, boolean keepHiddenChartLines) {
@@ -108,6 +178,141 @@ public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> ext
         updateChartDataInternal(chartData, minXIndex, maxXindex, keepHiddenChartLines);
     }
 
+    /**
+     * Publishes new chart data which will be applied on the next display frame.
+     * Can be called from any thread at any rate - only the last published data will be applied,
+     * so bounds will be calculated and drawers will be rebuilt once per frame.
+     * Published data shouldn't be modified until it's applied
+     */
+    public void publishChartData(ChartLinesData<X, Y> chartData, int minXIndex, int maxXIndex, boolean keepHiddenChartLines) {
+        synchronized (mPendingUpdatesLock) {
+            mPendingData = chartData;
+            mPendingKeepHiddenChartLines = keepHiddenChartLines;
+            mPendingMinXIndex = minXIndex;
+            mPendingMaxXIndex = maxXIndex;
+            mHasPendingBounds = true;
+        }
+        mFrameClock.schedule();
+    }
+
+    /**
+     * Publishes new horizontal bounds which will be applied on the next display frame.
+     * The same as {@link #publishChartData(ChartLinesData, int, int, boolean)} - all bounds published
+     * during one frame will be coalesced to the last one
+     */
+    public void publishHorizontalBounds(int minXIndex, int maxXIndex) {
+        synchronized (mPendingUpdatesLock) {
+            mPendingMinXIndex = minXIndex;
+            mPendingMaxXIndex = maxXIndex;
+            mHasPendingBounds = true;
+        }
+        mFrameClock.schedule();
+    }
+
+    /**
+     * Attaches queue which is used to hand off samples from the producer thread.
+     * Producer should call {@link #notifySamplesPublished()} after publishing samples - all published samples
+     * will be drained on the next frame to the specified consumer, which should append them to the current
+     * {@link ChartLinesData} (e.g. by {@link ChartLinesData#appendPoint(ChartCoordinate, ChartCoordinate[])})
+     */
+    public void setSamplesQueue(ChartSamplesQueue samplesQueue, ChartSamplesQueue.Consumer consumer) {
+        mSamplesQueue = samplesQueue;
+        mSamplesConsumer = consumer;
+    }
+
+    /**
+     * Requests draining of the attached samples queue on the next frame. Can be called from any thread
+     */
+    public void notifySamplesPublished() {
+        mFrameClock.schedule();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        // Continue applying of the updates and animations which were requested while the view was detached
+        mFrameClock.resume();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        mFrameClock.pause();
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Called on the main thread once per frame when there are published updates or running animations.
+     * Updates are applied before animations are ticked, so animations started by the updates are ticked on the next frame
+     */
+    protected void onFrame(long frameTimeNanos) {
+        drainSamples();
+        applyPendingUpdates();
+        mAnimationScheduler.onFrame(frameTimeNanos);
+    }
+
+    /**
+     * Drains all samples from the attached queue and updates the chart once for all of them.
+     * If the chart displays the last points - bounds are moved to keep displaying the last points
+     */
+    private void drainSamples() {
+        if (mSamplesQueue == null || mLinesData == null) {
+            return;
+        }
+        int prevPointsCount = mLinesData.getXPoints().getPoints().size();
+        if (mSamplesQueue.drain(mSamplesConsumer, Integer.MAX_VALUE) == 0) {
+            return;
+        }
+        int pointsCount = mLinesData.getXPoints().getPoints().size();
+        int minXIndex = mBounds.getMinXIndex();
+        int maxXIndex = mBounds.getMaxXIndex();
+        if (maxXIndex == prevPointsCount - 1) {
+            // Follow the last points
+            int shift = pointsCount - prevPointsCount;
+            minXIndex += shift;
+            maxXIndex += shift;
+        }
+        onPointsAppended(minXIndex, maxXIndex);
+    }
+
+    /**
+     * Called after the points were appended to the current data. Drawing data of the drawers is kept, only bounds are
+     * updated for the new window, so running bounds and visibility animations continue with the appended points
+     */
+    protected void onPointsAppended(int minXIndex, int maxXIndex) {
+        updateHorizontalBounds(minXIndex, maxXIndex);
+        // Appended points can change the drawn data even if the bounds are the same
+        mPointsDrawer.invalidate();
+        for (int i = 0; i < mDrawers.size(); i++) {
+            mDrawers.get(i).invalidate();
+        }
+        invalidate();
+    }
+
+    /**
+     * Applies all updates which were published since previous frame with single bounds calculation
+     */
+    private void applyPendingUpdates() {
+        ChartLinesData<X, Y> data;
+        boolean keepHiddenChartLines;
+        boolean hasBounds;
+        int minXIndex;
+        int maxXIndex;
+        synchronized (mPendingUpdatesLock) {
+            data = mPendingData;
+            keepHiddenChartLines = mPendingKeepHiddenChartLines;
+            hasBounds = mHasPendingBounds;
+            minXIndex = mPendingMinXIndex;
+            maxXIndex = mPendingMaxXIndex;
+            mPendingData = null;
+            mHasPendingBounds = false;
+        }
+        if (data != null) {
+            updateChartData(data, minXIndex, maxXIndex, keepHiddenChartLines);
+        } else if (hasBounds && mLinesData != null) {
+            updateHorizontalBounds(minXIndex, maxXIndex);
+        }
+    }
+
     public void updateChartDataWithAnimation(ChartLinesData<X, Y> chartData, int minXIndex, int maxXindex,
                                              ChartPointsDrawer<X, Y, ?> newPointsDrawer, boolean keepHiddenChartLines) {
         if (isDataAnimatorRunning()) {
@@ -131,12 +336,22 @@ public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> ext
             @Override
             public void onAnimationEnd(Animator animation) {
                 super.onAnimationEnd(animation);
-                mDisappearingPointsDrawer = null;
+                removeDisappearingPointsDrawer();
             }
         });
         return hideAnimator;
     }
 
+    /**
+     * Stops drawing of the disappearing points drawer and returns its buffers to the pool if it was replaced
+     */
+    protected void removeDisappearingPointsDrawer() {
+        if (mDisappearingPointsDrawer != null && mDisappearingPointsDrawer != mPointsDrawer) {
+            mDisappearingPointsDrawer.releaseBuffers();
+        }
+        mDisappearingPointsDrawer = null;
+    }
+
     protected void onHideDataAnimatorUpdate(ChartPointsDrawer<X, Y, ?> pointsDrawer, float progress) {
         int alpha = (int) (255 * (1 - progress));
         pointsDrawer.setPointsAlpha(alpha);
@@ -177,15 +392,15 @@ public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> ext
         // Calculate initial bounds
         calculateCurrentBounds(mLinesData, minXIndex, maxXindex, mBounds);
         mPointsDrawer.updateData(mLinesData, mBounds, mHiddenChartLines);
-        for (ChartDataDrawer<X, Y> drawer : mDrawers) {
-            drawer.updateData(chartData, mBounds, mHiddenChartLines);
+        for (int i = 0; i < mDrawers.size(); i++) {
+            mDrawers.get(i).updateData(chartData, mBounds, mHiddenChartLines);
         }
     }
 
     public void updateHorizontalBounds(int minXIndex, int maxXIndex) {
-        ChartBounds<X, Y> currentBounds = new ChartBounds<>(mBounds);
+        mPrevBounds.update(mBounds);
         calculateCurrentBounds(mLinesData, minXIndex, maxXIndex, mBounds);
-        onBoundsUpdated(currentBounds, mBounds);
+        onBoundsUpdated(mPrevBounds, mBounds);
     }
 
     public boolean hasVisiblePoints() {
@@ -199,77 +414,230 @@ public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> ext
             mHiddenChartLines.add(pointsId);
         }
 
+        updateVisibleBounds();
+        // Update points
+        mPointsDrawer.updatePointsVisibility(pointsId, visible);
+        for (int i = 0; i < mDrawers.size(); i++) {
+            mDrawers.get(i).updatePointsVisibility(pointsId, visible);
+        }
+    }
+
+    /**
+     * Changes visibility of several points at once. Bounds are calculated once for all changes and
+     * the points drawer animates all changed points by the single animation
+     * @param visibility - new visibility of the points by their ids
+     */
+    public void updatePointsVisibility(Map<String, Boolean> visibility) {
+        for (Map.Entry<String, Boolean> entry : visibility.entrySet()) {
+            if (entry.getValue()) {
+                mHiddenChartLines.remove(entry.getKey());
+            } else {
+                mHiddenChartLines.add(entry.getKey());
+            }
+        }
+
+        updateVisibleBounds();
+        // Update points
+        mPointsDrawer.updatePointsVisibility(visibility);
+        for (int i = 0; i < mDrawers.size(); i++) {
+            mDrawers.get(i).updatePointsVisibility(visibility);
+        }
+    }
+
+    private void updateVisibleBounds() {
         // Calculate and update new bounds
         if (mHiddenChartLines.size() != mLinesData.getYPoints().size()) {
-            ChartBounds<X, Y> currentBounds = new ChartBounds<>(mBounds);
+            mPrevBounds.update(mBounds);
             calculateCurrentBounds(mLinesData, mBounds.getMinXIndex(), mBounds.getMaxXIndex(), mBounds);
-            onBoundsUpdated(currentBounds, mBounds);
-        }
-        // Update points
-        mPointsDrawer.updatePointsVisibility(pointsId, visible);
-        for (ChartDataDrawer<X, Y> drawer : mDrawers) {
-            drawer.updatePointsVisibility(pointsId, visible);
+            onBoundsUpdated(mPrevBounds, mBounds);
         }
     }
 
     protected void onBoundsUpdated(ChartBounds<X, Y> oldBounds, ChartBounds<X, Y> newBounds) {
         mPointsDrawer.updateBounds(oldBounds, newBounds);
-        for (ChartDataDrawer<X, Y> drawer : mDrawers) {
-            drawer.updateBounds(oldBounds, newBounds);
+        for (int i = 0; i < mDrawers.size(); i++) {
+            mDrawers.get(i).updateBounds(oldBounds, newBounds);
         }
     }
 
+
+    protected void updatePointsDrawingRect(Rect drawingRect) {
+        drawingRect.set(getPaddingLeft(), getPaddingTop(),
+                getWidth() - getPaddingRight(), getHeight() - getPaddingBottom());
+    }
+
     @Override
     public void draw(Canvas canvas) {
         updatePointsDrawingRect(mDrawingRect);
         super.draw(canvas);
     }
 
-    protected void updatePointsDrawingRect(Rect drawingRect) {
-        drawingRect.set(getPaddingLeft(), getPaddingTop(),
-                getWidth() - getPaddingRight(), getHeight() - getPaddingBottom());
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+        mOverlayView.layout(0, 0, right - left, bottom - top);
+    }
+
+    /**
+     * Invalidates both the content and the overlay layers
+     */
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        // Can be called by the parent constructor before the overlay is created
+        if (mOverlayView != null) {
+            mOverlayView.invalidate();
+        }
+    }
+
+    /**
+     * Redraws only the overlay layer - selected points and the drawers which return true from {@link ChartDataDrawer#isOverlay()}
+     * Should be used when nothing is changed in the content, e.g. when only the selected point is changed
+     */
+    public void invalidateOverlay() {
+        mOverlayView.invalidate();
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
+        mChartCanvas.setCanvas(canvas);
+        mContentFrameStart = startFrame();
+        isContentFrameDrawing = true;
+        drawContent(mChartCanvas);
+        mChartCanvas.setCanvas(null);
+    }
 
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        // Invalidated overlay is drawn by the children drawing, so the frame is finished after it
+        super.dispatchDraw(canvas);
+        if (isContentFrameDrawing) {
+            isContentFrameDrawing = false;
+            finishFrame(mContentFrameStart);
+        }
+    }
+
+    /**
+     * Draws the chart by all registered drawers on the specified canvas - both the content and the overlay layers.
+     * Can be called directly to draw the chart without a display, e.g. on the {@link RecordingChartCanvas}
+     */
+    public void drawChart(ChartCanvas canvas) {
+        long frameStart = startFrame();
+        drawContent(canvas);
+        drawOverlay(canvas);
+        finishFrame(frameStart);
+    }
+
+    /**
+     * Draws only the overlay layer on the specified canvas as a separate frame, the same as it's redrawn
+     * after {@link #invalidateOverlay()}. Can be called directly the same as {@link #drawChart(ChartCanvas)}
+     */
+    public void drawChartOverlay(ChartCanvas canvas) {
+        long frameStart = startFrame();
+        drawOverlay(canvas);
+        finishFrame(frameStart);
+    }
+
+    private long startFrame() {
+        // Already updated by draw() for the view drawing, but required for the direct calls
+        updatePointsDrawingRect(mDrawingRect);
+        return mMetrics != null || isAdaptiveQuality ? System.nanoTime() : 0;
+    }
+
+    private void finishFrame(long frameStart) {
+        ChartMetrics metrics = mMetrics;
+        if (metrics != null || isAdaptiveQuality) {
+            long frameEnd = System.nanoTime();
+            if (isAdaptiveQuality) {
+                updateQuality(frameStart, frameEnd);
+            }
+            if (metrics != null) {
+                metrics.onFrameDrawn(frameEnd - frameStart, mAnimationScheduler.getActiveCount());
+            }
+        }
+    }
+
+    private void drawContent(ChartCanvas canvas) {
+        // Drawers are iterated by indexes to not allocate iterators on each frame
         // Pre Drawing
-        for (ChartDataDrawer<X, Y> drawer : mDrawers) {
-            drawer.draw(canvas, mDrawingRect);
+        for (int i = 0; i < mDrawers.size(); i++) {
+            ChartDataDrawer<X, Y> drawer = mDrawers.get(i);
+            if (!drawer.isOverlay()) {
+                drawer.draw(canvas, mDrawingRect);
+            }
         }
-       drawPoints(canvas, mDrawingRect);
+        drawPoints(canvas, mDrawingRect);
         // Post Drawing
-        for (ChartDataDrawer<X, Y> drawer : mDrawers) {
-            drawer.onAfterDraw(canvas, mDrawingRect);
+        for (int i = 0; i < mDrawers.size(); i++) {
+            ChartDataDrawer<X, Y> drawer = mDrawers.get(i);
+            if (!drawer.isOverlay()) {
+                drawer.afterDraw(canvas, mDrawingRect);
+            }
         }
     }
 
-    protected void drawPoints(Canvas canvas, Rect drawingRect) {
+    private void drawOverlay(ChartCanvas canvas) {
         if (mDisappearingPointsDrawer != null) {
-            mDisappearingPointsDrawer.draw(canvas, drawingRect);
+            mDisappearingPointsDrawer.drawOverlay(canvas, mDrawingRect);
+        }
+        mPointsDrawer.drawOverlay(canvas, mDrawingRect);
+        for (int i = 0; i < mDrawers.size(); i++) {
+            ChartDataDrawer<X, Y> drawer = mDrawers.get(i);
+            drawer.drawOverlay(canvas, mDrawingRect);
+            if (drawer.isOverlay()) {
+                drawer.draw(canvas, mDrawingRect);
+                drawer.afterDraw(canvas, mDrawingRect);
+            }
         }
-        mPointsDrawer.draw(canvas, drawingRect);
     }
 
-    protected void calculateCurrentBounds(ChartLinesData<X, Y> data, int minXIndex, int maxXIndex, ChartBounds<X, Y> resultBounds) {
-        if (resultBounds.getMinY() != null && resultBounds.getMaxY() != null && (data.isYScaled() || data.isPercentage())) {
-            // For scaled graphs - each drawer will calculate local bounds for related graph
-            // For percentage graphs - all percentages also will be calculated by the drawer
-            // No need to calculate common Y bounds
-            resultBounds.setMinXIndex(minXIndex);
-            resultBounds.setMaxXIndex(maxXIndex);
-            return;
+    /**
+     * Reduces quality if the frame exceeds the budget while the chart is in motion - when the frame
+     * is started soon after the previous one. Reduced quality is kept until there are no frames during the idle delay
+     */
+    private void updateQuality(long frameStartNanos, long frameEndNanos) {
+        boolean inMotion = mLastFrameEndNanos != 0 && frameStartNanos - mLastFrameEndNanos < IDLE_DELAY_MS * 1_000_000;
+        mLastFrameEndNanos = frameEndNanos;
+        if (!isReducedQuality && inMotion && frameEndNanos - frameStartNanos > mFrameBudgetNanos) {
+            setReducedQuality(true);
+        }
+        if (isReducedQuality) {
+            removeCallbacks(mRestoreQualityRunnable);
+            postDelayed(mRestoreQualityRunnable, IDLE_DELAY_MS);
+        }
+    }
+
+    private void restoreFullQuality() {
+        setReducedQuality(false);
+        invalidate();
+    }
+
+    private void setReducedQuality(boolean reducedQuality) {
+        isReducedQuality = reducedQuality;
+        mPointsDrawer.setReducedQuality(reducedQuality);
+        if (mDisappearingPointsDrawer != null) {
+            mDisappearingPointsDrawer.setReducedQuality(reducedQuality);
+        }
+        for (int i = 0; i < mDrawers.size(); i++) {
+            mDrawers.get(i).setReducedQuality(reducedQuality);
         }
+    }
 
-        mYBoundsPair = data.calculateYBounds(minXIndex, maxXIndex, mHiddenChartLines, mYBoundsPair);
-        if (mMinYValue != null && mMinYValue.compareTo(mYBoundsPair.first) < 0) {
-            mYBoundsPair.first = mMinYValue;
+    protected void drawPoints(ChartCanvas canvas, Rect drawingRect) {
+        if (mDisappearingPointsDrawer != null) {
+            mDisappearingPointsDrawer.draw(canvas, drawingRect);
         }
-        if (mMaxYValue != null && mMaxYValue.compareTo(mYBoundsPair.second) > 0) {
-            mYBoundsPair.second = mMaxYValue;
+        mPointsDrawer.draw(canvas, drawingRect);
+    }
+
+    protected void calculateCurrentBounds(ChartLinesData<X, Y> data, int minXIndex, int maxXIndex, ChartBounds<X, Y> resultBounds) {
+        ChartMetrics metrics = mMetrics;
+        long start = metrics != null ? System.nanoTime() : 0;
+        mBoundsCalculator.calculate(data, minXIndex, maxXIndex, mHiddenChartLines, resultBounds);
+        if (metrics != null) {
+            metrics.onBoundsCalculated(System.nanoTime() - start);
         }
-        resultBounds.update(minXIndex, maxXIndex, mYBoundsPair.first, mYBoundsPair.second);
     }
 
     public boolean isDataAnimatorRunning() {
@@ -280,29 +648,155 @@ public class ChartView<X extends ChartCoordinate, Y extends ChartCoordinate> ext
         return mBounds;
     }
 
+    /**
+     * @return scheduler which should be used by drawers to run animations
+     */
+    public ChartAnimationScheduler getAnimationScheduler() {
+        return mAnimationScheduler;
+    }
+
     public ChartPointsDrawer<X, Y, ?> getPointsDrawer() {
         return mPointsDrawer;
     }
 
     public void setPointsDrawer(ChartPointsDrawer<X, Y, ?> pointsDrawer) {
+        detachMetrics(mPointsDrawer);
+        // Disappearing drawer releases its buffers when it isn't drawn anymore
+        if (mPointsDrawer != pointsDrawer && mPointsDrawer != mDisappearingPointsDrawer) {
+            mPointsDrawer.releaseBuffers();
+        }
         mPointsDrawer = pointsDrawer;
+        mPointsDrawer.setReducedQuality(isReducedQuality);
+        attachMetrics(mPointsDrawer);
         invalidate();
     }
 
     public void addDrawer(ChartDataDrawer<X, Y> drawer) {
         mDrawers.add(drawer);
+        drawer.setReducedQuality(isReducedQuality);
+        attachMetrics(drawer);
     }
 
     public void removeDrawer(ChartDataDrawer<X, Y> drawer) {
-        mDrawers.remove(drawer);
+        if (mDrawers.remove(drawer)) {
+            detachMetrics(drawer);
+        }
+    }
+
+    /**
+     * Enables switching to the cheaper drawing while the chart is in motion and frames exceed the budget:
+     * coarser lines, antialiasing off and axis labels skipped. Full quality is restored when the chart is idle
+     */
+    public void setAdaptiveQuality(boolean adaptiveQuality) {
+        isAdaptiveQuality = adaptiveQuality;
+        if (!adaptiveQuality && isReducedQuality) {
+            removeCallbacks(mRestoreQualityRunnable);
+            restoreFullQuality();
+        }
+    }
+
+    /**
+     * @param frameBudgetNanos - max frame drawing duration before quality is reduced. {@link #DEFAULT_FRAME_BUDGET_NANOS} by default
+     */
+    public void setFrameBudget(long frameBudgetNanos) {
+        mFrameBudgetNanos = frameBudgetNanos;
+    }
+
+    /**
+     * @return true while the chart is drawn with reduced quality
+     */
+    public boolean isReducedQuality() {
+        return isReducedQuality;
+    }
+
+    /**
+     * Starts collecting of the drawing metrics. Listener is notified after each drawn frame.
+     * Metrics aren't collected by default, and collecting adds only a few time measurements per drawer to each frame
+     * @param listener - null to stop collecting metrics
+     */
+    public void setMetricsListener(ChartMetrics.Listener listener) {
+        setMetrics(listener != null ? new ChartMetrics(listener) : null);
+    }
+
+    /**
+     * Starts collecting of the drawing metrics without the listener, so they can be read by {@link #getMetrics()},
+     * e.g. by the {@link com.dlutskov.chart_lib.drawers.ChartDebugOverlayDrawer}. Already collected metrics are kept
+     * @param isEnabled - false to stop collecting metrics
+     */
+    public void setMetricsEnabled(boolean isEnabled) {
+        if (isEnabled != (mMetrics != null)) {
+            setMetrics(isEnabled ? new ChartMetrics(null) : null);
+        }
+    }
+
+    private void setMetrics(ChartMetrics metrics) {
+        if (mMetrics != null) {
+            detachMetrics(mPointsDrawer);
+            for (int i = 0; i < mDrawers.size(); i++) {
+                detachMetrics(mDrawers.get(i));
+            }
+        }
+        mMetrics = metrics;
+        attachMetrics(mPointsDrawer);
+        for (int i = 0; i < mDrawers.size(); i++) {
+            attachMetrics(mDrawers.get(i));
+        }
+    }
+
+    /**
+     * @return collected metrics or null if metrics aren't collected
+     */
+    public ChartMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    private void attachMetrics(ChartDataDrawer<X, Y> drawer) {
+        if (mMetrics != null && drawer != null) {
+            drawer.setMetrics(mMetrics.addDrawer(drawer));
+        }
+    }
+
+    private void detachMetrics(ChartDataDrawer<X, Y> drawer) {
+        if (drawer == null) {
+            return;
+        }
+        ChartDrawerMetrics drawerMetrics = drawer.getMetrics();
+        if (mMetrics != null && drawerMetrics != null) {
+            mMetrics.removeDrawer(drawerMetrics);
+        }
+        drawer.setMetrics(null);
     }
 
     public void setMinYValue(Y minYValue) {
-        mMinYValue = minYValue;
+        mBoundsCalculator.setMinYValue(minYValue);
     }
 
     public void setMaxYValue(Y maxYValue) {
-        mMaxYValue = maxYValue;
+        mBoundsCalculator.setMaxYValue(maxYValue);
+    }
+
+    /**
+     * Draws the overlay layer of the chart. Has the same size as the chart view
+     */
+    private class OverlayView extends View {
+
+        OverlayView(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void onDraw(Canvas canvas) {
+            mChartCanvas.setCanvas(canvas);
+            if (isContentFrameDrawing) {
+                // Drawing rect can be changed since the content was drawn
+                updatePointsDrawingRect(mDrawingRect);
+                drawOverlay(mChartCanvas);
+            } else {
+                // Overlay is redrawn without the content, so it's timed as own frame
+                drawChartOverlay(mChartCanvas);
+            }
+            mChartCanvas.setCanvas(null);
+        }
     }
 
 }
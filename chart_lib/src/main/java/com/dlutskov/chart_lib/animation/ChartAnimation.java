@@ -0,0 +1,142 @@
+package com.dlutskov.chart_lib.animation;
+
+import android.animation.TimeInterpolator;
+
+/**
+ * Time based animation which is ticked by the {@link ChartAnimationScheduler}.
+ * Instances are pooled by the scheduler - obtain them by {@link ChartAnimationScheduler#start(long, TimeInterpolator, Listener)}
+ * and do not keep references after {@link Listener#onAnimationEnd(ChartAnimation, boolean)} was called
+ */
+public final class ChartAnimation {
+
+    /**
+     * Receives animation updates on the main thread
+     */
+    public interface Listener {
+        /**
+         * Called once per frame while animation is running
+         * @param progress - interpolated progress value. Goes from 0 to 1 for default interpolator
+         */
+        void onAnimationUpdate(ChartAnimation animation, float progress);
+
+        /**
+         * Called when animation finished or cancelled. Animation will be returned to the pool after this call
+         */
+        default void onAnimationEnd(ChartAnimation animation, boolean cancelled) {}
+    }
+
+    private ChartAnimationScheduler mScheduler;
+
+    private Listener mListener;
+    private TimeInterpolator mInterpolator;
+    private long mDuration;
+    private long mStartDelay;
+
+    // True if the animation changes only the overlay layer of the chart
+    private boolean isOverlayOnly;
+
+    // Frame time of the first tick. Negative until the first tick
+    private long mStartTime = -1;
+
+    private float mFraction;
+
+    private boolean isRunning;
+
+    // Any object which is bound to the animation, so single listener can handle several animations
+    private Object mTag;
+
+    ChartAnimation() {}
+
+    void init(ChartAnimationScheduler scheduler, long duration, TimeInterpolator interpolator, Listener listener,
+              boolean overlayOnly) {
+        mScheduler = scheduler;
+        mDuration = duration;
+        mInterpolator = interpolator;
+        mListener = listener;
+        isOverlayOnly = overlayOnly;
+        mStartDelay = 0;
+        mStartTime = -1;
+        mFraction = 0;
+        mTag = null;
+        isRunning = true;
+    }
+
+    void recycle() {
+        mScheduler = null;
+        mListener = null;
+        mInterpolator = null;
+        mTag = null;
+    }
+
+    /**
+     * @return false when animation was finished or cancelled
+     */
+    boolean tick(long frameTimeMillis) {
+        if (!isRunning) {
+            return false;
+        }
+        if (mStartTime < 0) {
+            mStartTime = frameTimeMillis;
+        }
+        long playTime = frameTimeMillis - mStartTime - mStartDelay;
+        if (playTime < 0) {
+            // Delay is not passed yet
+            return true;
+        }
+        mFraction = mDuration <= 0 ? 1f : Math.min(1f, playTime / (float) mDuration);
+        float progress = mInterpolator == null ? mFraction : mInterpolator.getInterpolation(mFraction);
+        mListener.onAnimationUpdate(this, progress);
+        if (isRunning && mFraction >= 1f) {
+            finish(false);
+        }
+        return isRunning;
+    }
+
+    /**
+     * Stops the animation without applying the final value
+     */
+    public void cancel() {
+        if (isRunning) {
+            finish(true);
+        }
+    }
+
+    private void finish(boolean cancelled) {
+        isRunning = false;
+        mListener.onAnimationEnd(this, cancelled);
+    }
+
+    public ChartAnimation setStartDelay(long startDelay) {
+        mStartDelay = startDelay;
+        return this;
+    }
+
+    public ChartAnimation setTag(Object tag) {
+        mTag = tag;
+        return this;
+    }
+
+    public Object getTag() {
+        return mTag;
+    }
+
+    public long getDuration() {
+        return mDuration;
+    }
+
+    /**
+     * @return not interpolated part of the passed duration (from 0 to 1)
+     */
+    public float getFraction() {
+        return mFraction;
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    public boolean isOverlayOnly() {
+        return isOverlayOnly;
+    }
+
+}
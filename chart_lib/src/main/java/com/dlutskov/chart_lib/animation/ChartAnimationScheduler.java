@@ -0,0 +1,149 @@
+package com.dlutskov.chart_lib.animation;
+
+import android.animation.TimeInterpolator;
+import android.view.View;
+
+import com.dlutskov.chart_lib.utils.ChartFrameClock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chart level frame scheduler which ticks all running chart animations from the single frame callback
+ * and invalidates the chart view once per frame, so frame overhead doesn't depend on the number
+ * of simultaneously running animations. If all ticked animations change only the overlay layer of the chart -
+ * only the overlay is invalidated.
+ * Besides time based {@link ChartAnimation} it can tick any custom {@link Ticker} (e.g. physics based animations)
+ * All methods should be called from the main thread
+ */
+public class ChartAnimationScheduler {
+
+    /**
+     * Custom frame based animation
+     */
+    public interface Ticker {
+        /**
+         * @param frameTimeMillis - time of the current frame
+         * @return true if ticker need next frames, false - if it's finished and should be removed
+         */
+        boolean onTick(long frameTimeMillis);
+    }
+
+    private final ChartFrameClock mFrameClock;
+    private final View mView;
+    private final View mOverlayView;
+
+    private final List<ChartAnimation> mAnimations = new ArrayList<>();
+    private final List<Ticker> mTickers = new ArrayList<>();
+
+    // Recycled animations
+    private final List<ChartAnimation> mPool = new ArrayList<>();
+
+    /**
+     * @param frameClock - clock which calls {@link #onFrame(long)} for the scheduler
+     * @param view - view which will be invalidated after each frame
+     * @param overlayView - view which will be invalidated instead of the view if only overlay animations were ticked
+     */
+    public ChartAnimationScheduler(ChartFrameClock frameClock, View view, View overlayView) {
+        mFrameClock = frameClock;
+        mView = view;
+        mOverlayView = overlayView;
+    }
+
+    /**
+     * Starts new animation from the next frame
+     * @param interpolator - can be null for linear progress
+     * @return started animation, which can be used to cancel it until it's ended
+     */
+    public ChartAnimation start(long duration, TimeInterpolator interpolator, ChartAnimation.Listener listener) {
+        return start(duration, interpolator, listener, false);
+    }
+
+    /**
+     * Starts new animation from the next frame
+     * @param interpolator - can be null for linear progress
+     * @param overlayOnly - true if the animation changes only the overlay layer of the chart, e.g. selection fade
+     * @return started animation, which can be used to cancel it until it's ended
+     */
+    public ChartAnimation start(long duration, TimeInterpolator interpolator, ChartAnimation.Listener listener,
+                                boolean overlayOnly) {
+        ChartAnimation animation = mPool.isEmpty() ? new ChartAnimation() : mPool.remove(mPool.size() - 1);
+        animation.init(this, duration, interpolator, listener, overlayOnly);
+        mAnimations.add(animation);
+        mFrameClock.schedule();
+        return animation;
+    }
+
+    public void addTicker(Ticker ticker) {
+        if (!mTickers.contains(ticker)) {
+            mTickers.add(ticker);
+        }
+        mFrameClock.schedule();
+    }
+
+    public void removeTicker(Ticker ticker) {
+        mTickers.remove(ticker);
+    }
+
+    /**
+     * @return number of currently running animations and tickers
+     */
+    public int getActiveCount() {
+        return mAnimations.size() + mTickers.size();
+    }
+
+    public boolean hasActiveAnimations() {
+        return !mAnimations.isEmpty() || !mTickers.isEmpty();
+    }
+
+    /**
+     * Ticks all running animations. Animations which are started during the tick will be ticked on the next frame
+     */
+    public void onFrame(long frameTimeNanos) {
+        if (!hasActiveAnimations()) {
+            return;
+        }
+        long frameTimeMillis = frameTimeNanos / 1_000_000;
+        // Tickers are bounds animations, which change the content
+        boolean isContentChanged = !mTickers.isEmpty();
+
+        int count = mAnimations.size();
+        for (int i = 0; i < count; i++) {
+            ChartAnimation animation = mAnimations.get(i);
+            if (!animation.isOverlayOnly()) {
+                isContentChanged = true;
+            }
+            animation.tick(frameTimeMillis);
+        }
+        // Remove finished animations without changing order of the rest ones
+        int size = 0;
+        for (int i = 0; i < mAnimations.size(); i++) {
+            ChartAnimation animation = mAnimations.get(i);
+            if (animation.isRunning()) {
+                mAnimations.set(size++, animation);
+            } else {
+                animation.recycle();
+                mPool.add(animation);
+            }
+        }
+        for (int i = mAnimations.size() - 1; i >= size; i--) {
+            mAnimations.remove(i);
+        }
+
+        for (int i = mTickers.size() - 1; i >= 0; i--) {
+            if (i < mTickers.size() && !mTickers.get(i).onTick(frameTimeMillis)) {
+                mTickers.remove(i);
+            }
+        }
+
+        if (isContentChanged) {
+            mView.invalidate();
+        } else {
+            mOverlayView.invalidate();
+        }
+        if (hasActiveAnimations()) {
+            mFrameClock.schedule();
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.dlutskov.chart_lib.canvas;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Build;
+
+/**
+ * ChartCanvas which draws on the android.graphics.Canvas.
+ * Wrapped canvas can be changed by {@link #setCanvas(Canvas)}, so the same instance is reused for each frame
+ */
+public class AndroidChartCanvas implements ChartCanvas {
+
+    // Build.VERSION_CODES.Q - the first version where the hardware accelerated canvas draws vertices
+    private static final int HARDWARE_VERTICES_SDK = 29;
+
+    private Canvas mCanvas;
+
+    public AndroidChartCanvas() {}
+
+    public AndroidChartCanvas(Canvas canvas) {
+        mCanvas = canvas;
+    }
+
+    public void setCanvas(Canvas canvas) {
+        mCanvas = canvas;
+    }
+
+    public Canvas getCanvas() {
+        return mCanvas;
+    }
+
+    @Override
+    public int getWidth() {
+        return mCanvas.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return mCanvas.getHeight();
+    }
+
+    @Override
+    public int save() {
+        return mCanvas.save();
+    }
+
+    @Override
+    public void restore() {
+        mCanvas.restore();
+    }
+
+    @Override
+    public void rotate(float degrees, float px, float py) {
+        mCanvas.rotate(degrees, px, py);
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        mCanvas.translate(dx, dy);
+    }
+
+    @Override
+    public boolean clipPath(Path path) {
+        return mCanvas.clipPath(path);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        mCanvas.drawLine(startX, startY, stopX, stopY, paint);
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        mCanvas.drawLines(pts, offset, count, paint);
+    }
+
+    @Override
+    public void drawPolyline(float[] pts, int offset, int count, Paint paint) {
+        // Each point is the end of one segment and the start of the next one, so the segments are drawn from the same
+        // array by two calls: (p0, p1), (p2, p3)... and (p1, p2), (p3, p4)...
+        int evenSegmentsCount = count / 4 * 4;
+        if (evenSegmentsCount > 0) {
+            mCanvas.drawLines(pts, offset, evenSegmentsCount, paint);
+        }
+        int oddSegmentsCount = (count - 2) / 4 * 4;
+        if (oddSegmentsCount > 0) {
+            mCanvas.drawLines(pts, offset + 2, oddSegmentsCount, paint);
+        }
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        mCanvas.drawRect(left, top, right, bottom, paint);
+    }
+
+    @Override
+    public void drawRect(Rect rect, Paint paint) {
+        mCanvas.drawRect(rect, paint);
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        mCanvas.drawRoundRect(rect, rx, ry, paint);
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        mCanvas.drawCircle(cx, cy, radius, paint);
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+        mCanvas.drawArc(oval, startAngle, sweepAngle, useCenter, paint);
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        mCanvas.drawPath(path, paint);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        mCanvas.drawText(text, x, y, paint);
+    }
+
+    @Override
+    public void drawTriangleStrip(float[] verts, int offset, int count, Paint paint) {
+        mCanvas.drawVertices(Canvas.VertexMode.TRIANGLE_STRIP, count, verts, offset,
+                null, 0, null, 0, null, 0, 0, paint);
+    }
+
+    @Override
+    public boolean isVerticesSupported() {
+        return Build.VERSION.SDK_INT >= HARDWARE_VERTICES_SDK || !mCanvas.isHardwareAccelerated();
+    }
+
+}
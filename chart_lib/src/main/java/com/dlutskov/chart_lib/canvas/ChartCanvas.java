@@ -0,0 +1,77 @@
+package com.dlutskov.chart_lib.canvas;
+
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * Drawing operations which are used by the chart drawers.
+ * Drawers don't use android.graphics.Canvas directly, so the chart can be drawn on any implementation,
+ * e.g. {@link RecordingChartCanvas} which measures drawing workload without a display.
+ * Methods have the same meaning as the same android.graphics.Canvas methods
+ */
+public interface ChartCanvas {
+
+    int getWidth();
+
+    int getHeight();
+
+    int save();
+
+    void restore();
+
+    void rotate(float degrees, float px, float py);
+
+    void translate(float dx, float dy);
+
+    boolean clipPath(Path path);
+
+    void drawLine(float startX, float startY, float stopX, float stopY, Paint paint);
+
+    /**
+     * @param pts - array of points, each line takes 4 values
+     * @param offset - number of values to skip before the first line
+     * @param count - number of values to draw
+     */
+    void drawLines(float[] pts, int offset, int count, Paint paint);
+
+    /**
+     * Draws lines between each two consecutive points, so interior points are stored once.
+     * Segments are the same as if they were drawn by {@link #drawLines(float[], int, int, Paint)}
+     * @param pts - array of points, each point takes 2 values - x and y
+     * @param offset - number of values to skip before the first point
+     * @param count - number of values to draw
+     */
+    void drawPolyline(float[] pts, int offset, int count, Paint paint);
+
+    void drawRect(float left, float top, float right, float bottom, Paint paint);
+
+    void drawRect(Rect rect, Paint paint);
+
+    void drawRoundRect(RectF rect, float rx, float ry, Paint paint);
+
+    void drawCircle(float cx, float cy, float radius, Paint paint);
+
+    void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint);
+
+    void drawPath(Path path, Paint paint);
+
+    /**
+     * Draws triangle strip filled with the paint color. Same as android.graphics.Canvas#drawVertices
+     * with the TRIANGLE_STRIP mode and without textures, colors and indices
+     * @param verts - array of vertices, each vertex takes 2 values - x and y
+     * @param offset - number of values to skip before the first vertex
+     * @param count - number of values to draw
+     */
+    void drawTriangleStrip(float[] verts, int offset, int count, Paint paint);
+
+    /**
+     * @return true if {@link #drawTriangleStrip(float[], int, int, Paint)} is drawn by the canvas.
+     *         Hardware accelerated android canvas draws vertices only since API 29
+     */
+    boolean isVerticesSupported();
+
+    void drawText(String text, float x, float y, Paint paint);
+
+}
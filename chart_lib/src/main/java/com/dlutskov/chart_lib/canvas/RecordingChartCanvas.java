@@ -0,0 +1,280 @@
+package com.dlutskov.chart_lib.canvas;
+
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ChartCanvas which doesn't draw anything but counts drawing operations.
+ * Used to measure and check drawing workload of the drawers without a display (e.g. in JVM tests).
+ * Vertices are counted for the primitives which are drawn by lines, polylines, rects and triangle strips:
+ * 2 for each line (including each segment of the polyline), 4 for each rect and each vertex of the strip.
+ * Draw calls are counted as they are issued to the android canvas, e.g. polyline takes two calls if it has more than two points.
+ * If operations recording is enabled by {@link #setRecordOperations(boolean)} - description of each operation is
+ * kept and can be compared with the expected one by {@link #getOperations()}
+ */
+public class RecordingChartCanvas implements ChartCanvas {
+
+    private final int mWidth;
+    private final int mHeight;
+
+    private int mDrawCalls;
+    private int mVertices;
+    private int mTextDraws;
+    private int mTextChars;
+    private int mPathOps;
+    private int mSaveCount;
+
+    private boolean isRecordOperations;
+    private boolean isVerticesSupported = true;
+    private final List<String> mOperations = new ArrayList<>();
+
+    public RecordingChartCanvas(int width, int height) {
+        mWidth = width;
+        mHeight = height;
+    }
+
+    /**
+     * Resets all counters and recorded operations. Should be called before each measured frame
+     */
+    public void reset() {
+        mDrawCalls = 0;
+        mVertices = 0;
+        mTextDraws = 0;
+        mTextChars = 0;
+        mPathOps = 0;
+        mSaveCount = 0;
+        mOperations.clear();
+    }
+
+    public void setRecordOperations(boolean recordOperations) {
+        isRecordOperations = recordOperations;
+    }
+
+    /**
+     * Used to check drawing of the canvas which doesn't support vertices, e.g. hardware accelerated canvas before API 29
+     */
+    public void setVerticesSupported(boolean verticesSupported) {
+        isVerticesSupported = verticesSupported;
+    }
+
+    /**
+     * @return count of all draw operations (including text and paths)
+     */
+    public int getDrawCalls() {
+        return mDrawCalls;
+    }
+
+    public int getVertices() {
+        return mVertices;
+    }
+
+    public int getTextDraws() {
+        return mTextDraws;
+    }
+
+    public int getTextChars() {
+        return mTextChars;
+    }
+
+    /**
+     * @return count of path draws and path clips
+     */
+    public int getPathOps() {
+        return mPathOps;
+    }
+
+    /**
+     * @return count of saves which weren't restored yet
+     */
+    public int getSaveCount() {
+        return mSaveCount;
+    }
+
+    public List<String> getOperations() {
+        return mOperations;
+    }
+
+    @Override
+    public int getWidth() {
+        return mWidth;
+    }
+
+    @Override
+    public int getHeight() {
+        return mHeight;
+    }
+
+    @Override
+    public int save() {
+        if (isRecordOperations) {
+            record("save");
+        }
+        return ++mSaveCount;
+    }
+
+    @Override
+    public void restore() {
+        if (mSaveCount == 0) {
+            throw new IllegalStateException("Underflow in restore - more restores than saves");
+        }
+        if (isRecordOperations) {
+            record("restore");
+        }
+        mSaveCount--;
+    }
+
+    @Override
+    public void rotate(float degrees, float px, float py) {
+        if (isRecordOperations) {
+            record("rotate(%.1f, %.1f, %.1f)", degrees, px, py);
+        }
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        if (isRecordOperations) {
+            record("translate(%.1f, %.1f)", dx, dy);
+        }
+    }
+
+    @Override
+    public boolean clipPath(Path path) {
+        mPathOps++;
+        if (isRecordOperations) {
+            record("clipPath");
+        }
+        return true;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        onDraw(2);
+        if (isRecordOperations) {
+            record("drawLine(%.1f, %.1f, %.1f, %.1f) %08X", startX, startY, stopX, stopY, paint.getColor());
+        }
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        if (offset < 0 || count < 0 || offset + count > pts.length) {
+            throw new ArrayIndexOutOfBoundsException("Wrong lines range: " + offset + ", " + count);
+        }
+        onDraw(count / 2);
+        if (isRecordOperations) {
+            record("drawLines(%d, %d) %08X", offset, count, paint.getColor());
+        }
+    }
+
+    @Override
+    public void drawPolyline(float[] pts, int offset, int count, Paint paint) {
+        if (offset < 0 || count < 0 || offset + count > pts.length) {
+            throw new ArrayIndexOutOfBoundsException("Wrong polyline range: " + offset + ", " + count);
+        }
+        // Polyline is drawn by two lines draws of the even and odd segments, the same as by AndroidChartCanvas
+        int evenSegmentsCount = count / 4 * 4;
+        if (evenSegmentsCount > 0) {
+            onDraw(evenSegmentsCount / 2);
+        }
+        int oddSegmentsCount = (count - 2) / 4 * 4;
+        if (oddSegmentsCount > 0) {
+            onDraw(oddSegmentsCount / 2);
+        }
+        if (isRecordOperations) {
+            record("drawPolyline(%d, %d) %08X", offset, count, paint.getColor());
+        }
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        onDraw(4);
+        if (isRecordOperations) {
+            record("drawRect(%.1f, %.1f, %.1f, %.1f) %08X", left, top, right, bottom, paint.getColor());
+        }
+    }
+
+    @Override
+    public void drawRect(Rect rect, Paint paint) {
+        drawRect(rect.left, rect.top, rect.right, rect.bottom, paint);
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        onDraw(4);
+        if (isRecordOperations) {
+            record("drawRoundRect(%.1f, %.1f, %.1f, %.1f, %.1f, %.1f) %08X", rect.left, rect.top, rect.right, rect.bottom,
+                    rx, ry, paint.getColor());
+        }
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        onDraw(0);
+        if (isRecordOperations) {
+            record("drawCircle(%.1f, %.1f, %.1f) %08X", cx, cy, radius, paint.getColor());
+        }
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+        onDraw(0);
+        if (isRecordOperations) {
+            record("drawArc(%.1f, %.1f, %.1f, %.1f, %.1f, %.1f, %b) %08X", oval.left, oval.top, oval.right, oval.bottom,
+                    startAngle, sweepAngle, useCenter, paint.getColor());
+        }
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        onDraw(0);
+        mPathOps++;
+        if (isRecordOperations) {
+            record("drawPath %08X", paint.getColor());
+        }
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        onDraw(0);
+        mTextDraws++;
+        mTextChars += text.length();
+        if (isRecordOperations) {
+            record("drawText(%s, %.1f, %.1f) %08X", text, x, y, paint.getColor());
+        }
+    }
+
+    @Override
+    public void drawTriangleStrip(float[] verts, int offset, int count, Paint paint) {
+        if (!isVerticesSupported) {
+            throw new IllegalStateException("Vertices are drawn while they are not supported by the canvas");
+        }
+        if (offset < 0 || count < 0 || offset + count > verts.length) {
+            throw new ArrayIndexOutOfBoundsException("Wrong vertices range: " + offset + ", " + count);
+        }
+        onDraw(count / 2);
+        if (isRecordOperations) {
+            record("drawTriangleStrip(%d, %d) %08X", offset, count, paint.getColor());
+        }
+    }
+
+    @Override
+    public boolean isVerticesSupported() {
+        return isVerticesSupported;
+    }
+
+    private void onDraw(int vertices) {
+        mDrawCalls++;
+        mVertices += vertices;
+    }
+
+    // Should be called only if recording is enabled to not allocate varargs for each operation
+    private void record(String format, Object... args) {
+        mOperations.add(String.format(Locale.US, format, args));
+    }
+
+}
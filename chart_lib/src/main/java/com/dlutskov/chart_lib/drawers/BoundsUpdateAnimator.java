@@ -1,110 +1,222 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
-
 import com.dlutskov.chart_lib.ChartBounds;
+import com.dlutskov.chart_lib.animation.ChartAnimationScheduler;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 import com.dlutskov.chart_lib.utils.Pair;
 
 /**
- * Handles updates from current ChartBounds to new one by the Animator
+ * Animates Y values of the ChartBounds to the target ones by critically damped springs, which are ticked
+ * by the chart's {@link ChartAnimationScheduler}.
+ * Target can be changed at any time by {@link #animateTo(ChartBounds, ChartBounds)} - running animation
+ * continues from the current values keeping current velocity, so frequent bounds changes (e.g. while dragging)
+ * don't restart the animation and don't create new objects
  * @param <X> type of x axis chart coordinates
  * @param <Y> type of Y axis chart coordinates
  */
-class BoundsUpdateAnimator<X extends ChartCoordinate, Y extends ChartCoordinate> implements
-        ValueAnimator.AnimatorUpdateListener {
+class BoundsUpdateAnimator<X extends ChartCoordinate, Y extends ChartCoordinate> implements ChartAnimationScheduler.Ticker {
 
     /**
      * Notifies about each ChartBounds changes by the Animator
      */
     interface Listener<Y extends ChartCoordinate> {
         /**
-         * @param yBounds - newly updated Y bounds
-         * @param updateProgress - animator update progress (value from 0 to 1)
+         * @param yBounds - newly updated Y bounds. Values are reused by the animator
          */
-        void onBoundsAnimationUpdated(Pair<Y, Y> yBounds, float updateProgress);
+        void onBoundsAnimationUpdated(Pair<Y, Y> yBounds);
     }
 
-    private final Pair<Y, Y> mInitialYBounds;
-    private final Pair<Y, Y> mTargetYBounds;
-    private final Pair<Y, Y> mCurrentYBounds;
+    // Spring with this angular frequency settles to 0.1% of the distance in (SETTLE_FACTOR / frequency) seconds
+    private static final float SETTLE_FACTOR = 9.2f;
+
+    // Frame time which is used for the first frame and max frame time (to not jump after long frames)
+    private static final float DEFAULT_FRAME_TIME = 0.016f;
+    private static final float MAX_FRAME_TIME = 0.05f;
+
+    // Progress and velocity (progress per second) thresholds when animation is finished
+    private static final float PROGRESS_THRESHOLD = 0.001f;
+    private static final float VELOCITY_THRESHOLD = 0.01f;
+
+    private final ChartAnimationScheduler mScheduler;
+
+    private final Listener<Y> mListener;
 
-    private ValueAnimator mAnimator;
+    private Spring<Y> mMinSpring;
+    private Spring<Y> mMaxSpring;
 
-    private final Listener mListener;
+    private final Pair<Y, Y> mCurrentYBounds = new Pair<>(null, null);
 
-    private long mStartTime;
+    // Angular frequency of the springs
+    private float mFrequency;
 
-    BoundsUpdateAnimator(ChartBounds<X, Y> initialBounds, ChartBounds<X, Y> targetBounds,
-                         Listener<Y> listener) {
-        mInitialYBounds = new Pair<>(initialBounds.getMinY(), initialBounds.getMaxY());
-        mTargetYBounds = new Pair<>(targetBounds.getMinY(), targetBounds.getMaxY());
-        mCurrentYBounds = new Pair<>((Y)initialBounds.getMinY().clone(), (Y)initialBounds.getMaxY().clone());
+    private boolean isRunning;
+
+    // Frame time of the last tick. Negative if there were no ticks since animation start
+    private long mLastFrameTime = -1;
+
+    BoundsUpdateAnimator(ChartAnimationScheduler scheduler, Listener<Y> listener) {
+        mScheduler = scheduler;
         mListener = listener;
+        setDuration(1000);
+    }
+
+    /**
+     * Sets approximate time which is required to reach the target from rest
+     */
+    void setDuration(long duration) {
+        mFrequency = SETTLE_FACTOR * 1000 / Math.max(duration, 1);
     }
 
-    void start(long duration, Animator.AnimatorListener animatorListener) {
-        mStartTime = System.currentTimeMillis();
-
-        cancel();
-        mAnimator = ValueAnimator.ofFloat(0f, 1f).setDuration(duration);
-        mAnimator.addUpdateListener(this);
-        mAnimator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                super.onAnimationEnd(animation);
-                mAnimator = null;
+    /**
+     * Starts animation from the Y values of the current bounds to the target bounds.
+     * If animation is already running - changes its target keeping current values and velocity
+     */
+    void animateTo(ChartBounds<X, Y> currentBounds, ChartBounds<X, Y> targetBounds) {
+        if (mMinSpring == null) {
+            mMinSpring = new Spring<>((Y) currentBounds.getMinY());
+            mMaxSpring = new Spring<>((Y) currentBounds.getMaxY());
+            mCurrentYBounds.first = mMinSpring.mCurrent;
+            mCurrentYBounds.second = mMaxSpring.mCurrent;
+        }
+        if (isRunning) {
+            if (isTargetTheSame(targetBounds)) {
+                // No need to update springs which already move to the same target
+                return;
             }
-        });
-        mAnimator.addListener(animatorListener);
-        mAnimator.start();
+            mMinSpring.retarget((Y) targetBounds.getMinY());
+            mMaxSpring.retarget((Y) targetBounds.getMaxY());
+        } else {
+            mMinSpring.start((Y) currentBounds.getMinY(), (Y) targetBounds.getMinY());
+            mMaxSpring.start((Y) currentBounds.getMaxY(), (Y) targetBounds.getMaxY());
+        }
+        if (mMinSpring.isSettled() && mMaxSpring.isSettled()) {
+            // Current values are already the target ones - no need to tick and redraw the same bounds
+            cancel();
+            return;
+        }
+        if (!isRunning) {
+            isRunning = true;
+            mLastFrameTime = -1;
+            mScheduler.addTicker(this);
+        }
     }
 
     void cancel() {
-        if (mAnimator != null) {
-            mAnimator.cancel();
+        if (isRunning) {
+            isRunning = false;
+            mScheduler.removeTicker(this);
         }
     }
 
-    Pair<Y, Y> getCurrentYBounds() {
-        return mCurrentYBounds;
+    boolean isRunning() {
+        return isRunning;
     }
 
     /**
      * @return true when target Y values are the same with Y values of specified bounds param
      */
     boolean isTargetTheSame(ChartBounds<X, Y> bounds) {
-        return bounds.getMinY().compareTo(mTargetYBounds.first) == 0
-                && bounds.getMaxY().compareTo(mTargetYBounds.second) == 0;
+        return mMinSpring != null && bounds.getMinY().compareTo(mMinSpring.mTarget) == 0
+                && bounds.getMaxY().compareTo(mMaxSpring.mTarget) == 0;
     }
 
     @Override
-    public void onAnimationUpdate(ValueAnimator animation) {
-        float progress = (float) animation.getAnimatedValue();
-        update(progress);
+    public boolean onTick(long frameTimeMillis) {
+        if (!isRunning) {
+            return false;
+        }
+        float dt = mLastFrameTime < 0 ? DEFAULT_FRAME_TIME : Math.min((frameTimeMillis - mLastFrameTime) / 1000f, MAX_FRAME_TIME);
+        mLastFrameTime = frameTimeMillis;
+
+        boolean minSettled = mMinSpring.step(mFrequency, dt);
+        boolean maxSettled = mMaxSpring.step(mFrequency, dt);
+        isRunning = !minSettled || !maxSettled;
+
+        mListener.onBoundsAnimationUpdated(mCurrentYBounds);
+        return isRunning;
     }
 
-    public void update(float progress) {
-        progress = Math.min(progress, 1f);
-        mInitialYBounds.first.distanceTo(mTargetYBounds.first, mCurrentYBounds.first);
-        mCurrentYBounds.first.getPart(progress, mCurrentYBounds.first);
-        mInitialYBounds.first.add(mCurrentYBounds.first, mCurrentYBounds.first);
+    /**
+     * Critically damped spring which moves coordinate from the start value to the target one.
+     * Position is stored as progress from start (0) to target (1), so the spring math doesn't depend on the coordinate type
+     */
+    private static class Spring<C extends ChartCoordinate> {
+
+        private final C mStart;
+        private final C mTarget;
+        private final C mCurrent;
+
+        // Temporary values for calculations
+        private final C mDistance;
+        private final C mNewDistance;
+        private final C mZero;
+
+        private float mProgress;
+        // Progress change per second
+        private float mVelocity;
+
+        Spring(C initial) {
+            mStart = (C) initial.clone();
+            mTarget = (C) initial.clone();
+            mCurrent = (C) initial.clone();
+            mDistance = (C) initial.clone();
+            mNewDistance = (C) initial.clone();
+            mZero = (C) initial.zero();
+        }
 
-        mInitialYBounds.second.distanceTo(mTargetYBounds.second, mCurrentYBounds.second);
-        mCurrentYBounds.second.getPart(progress, mCurrentYBounds.second);
-        mInitialYBounds.second.add(mCurrentYBounds.second, mCurrentYBounds.second);
+        void start(C start, C target) {
+            mStart.set(start);
+            mTarget.set(target);
+            mCurrent.set(start);
+            mProgress = 0;
+            mVelocity = 0;
+        }
 
-        mListener.onBoundsAnimationUpdated(mCurrentYBounds, progress);
-    }
+        /**
+         * Moves target keeping current value and velocity in coordinate units
+         */
+        void retarget(C target) {
+            mStart.distanceTo(mTarget, mDistance);
+            mCurrent.distanceTo(target, mNewDistance);
+            // Velocity is relative to the start-target distance - rescale it for the new distance
+            // Ratio is 0 when the new distance is 0, so velocity is dropped in this case
+            float scale = mDistance.calcCoordinateRatio(mZero, mNewDistance);
+            mVelocity *= scale;
+            mStart.set(mCurrent);
+            mTarget.set(target);
+            mProgress = 0;
+        }
 
-    public long getStartTime() {
-        return mStartTime;
-    }
+        /**
+         * @return true if the current value is the target one and the spring doesn't move
+         */
+        boolean isSettled() {
+            return mCurrent.compareTo(mTarget) == 0 && Math.abs(mVelocity) < VELOCITY_THRESHOLD;
+        }
 
-    public long getDuration() {
-        return mAnimator == null ? 0 : mAnimator.getDuration();
+        /**
+         * Applies exact critically damped spring solution for the specified time
+         * @return true if the spring reached the target
+         */
+        boolean step(float frequency, float dt) {
+            float error = mProgress - 1;
+            float decay = (float) Math.exp(-frequency * dt);
+            float c = mVelocity + frequency * error;
+            error = (error + c * dt) * decay;
+            mVelocity = (mVelocity - frequency * c * dt) * decay;
+            mProgress = 1 + error;
+
+            if (Math.abs(error) < PROGRESS_THRESHOLD && Math.abs(mVelocity) < VELOCITY_THRESHOLD) {
+                mProgress = 1;
+                mVelocity = 0;
+                mCurrent.set(mTarget);
+                return true;
+            }
+            mStart.distanceTo(mTarget, mCurrent);
+            mCurrent.getPart(mProgress, mCurrent);
+            mStart.add(mCurrent, mCurrent);
+            return false;
+        }
     }
 
 }
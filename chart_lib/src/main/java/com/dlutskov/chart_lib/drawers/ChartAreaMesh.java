@@ -0,0 +1,100 @@
+package com.dlutskov.chart_lib.drawers;
+
+import android.graphics.Paint;
+import android.graphics.Path;
+
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
+import com.dlutskov.chart_lib.utils.ChartFloatBufferPool;
+
+/**
+ * Area between two curves which is drawn as a triangle strip. Each x point adds 2 vertices - on the top and
+ * on the bottom curve, so areas of the stacked series share their vertices and don't overlap.
+ * Vertices array is obtained from the {@link ChartFloatBufferPool} by the first build, reused by the next builds
+ * and replaced only when more points are added.
+ * If the canvas doesn't support vertices - the area is drawn by the path which is built from the same vertices
+ * once after each build
+ */
+class ChartAreaMesh {
+
+    // Each point takes 4 values: x and top y, x and bottom y
+    private static final int POINT_VALUES_COUNT = 4;
+
+    private float[] mVertices = ChartFloatBufferPool.EMPTY;
+    private int mValuesCount;
+
+    // Used only if vertices are not supported by the canvas
+    private final Path mPath = new Path();
+    private boolean isPathInvalidated = true;
+
+    /**
+     * Clears the mesh before adding points of the new build
+     * @param pointsCount - count of points which will be added
+     */
+    void reset(int pointsCount) {
+        if (mVertices.length < pointsCount * POINT_VALUES_COUNT) {
+            ChartFloatBufferPool pool = ChartFloatBufferPool.getInstance();
+            pool.release(mVertices);
+            mVertices = pool.obtain(pointsCount * POINT_VALUES_COUNT);
+        }
+        mValuesCount = 0;
+        isPathInvalidated = true;
+    }
+
+    /**
+     * Returns vertices to the pool. Mesh is empty until the next {@link #reset(int)}
+     */
+    void release() {
+        ChartFloatBufferPool.getInstance().release(mVertices);
+        mVertices = ChartFloatBufferPool.EMPTY;
+        mValuesCount = 0;
+        mPath.rewind();
+        isPathInvalidated = true;
+    }
+
+    /**
+     * Adds the next point of the area. Points should be added from left to right
+     */
+    void addPoint(float x, float top, float bottom) {
+        float[] vertices = mVertices;
+        vertices[mValuesCount++] = x;
+        vertices[mValuesCount++] = top;
+        vertices[mValuesCount++] = x;
+        vertices[mValuesCount++] = bottom;
+    }
+
+    int getVerticesCount() {
+        return mValuesCount / 2;
+    }
+
+    void draw(ChartCanvas canvas, Paint paint) {
+        if (mValuesCount < POINT_VALUES_COUNT * 2) {
+            // Area requires at least 2 points
+            return;
+        }
+        if (canvas.isVerticesSupported()) {
+            canvas.drawTriangleStrip(mVertices, 0, mValuesCount, paint);
+            return;
+        }
+        if (isPathInvalidated) {
+            buildPath();
+            isPathInvalidated = false;
+        }
+        canvas.drawPath(mPath, paint);
+    }
+
+    private void buildPath() {
+        float[] vertices = mVertices;
+        mPath.rewind();
+        // Top curve from left to right
+        mPath.moveTo(vertices[0], vertices[1]);
+        for (int i = POINT_VALUES_COUNT; i < mValuesCount; i += POINT_VALUES_COUNT) {
+            mPath.lineTo(vertices[i], vertices[i + 1]);
+        }
+        // Bottom curve from right to left
+        for (int i = mValuesCount - 2; i >= 0; i -= POINT_VALUES_COUNT) {
+            mPath.lineTo(vertices[i], vertices[i + 1]);
+        }
+        mPath.close();
+    }
+
+}
@@ -1,17 +1,19 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
 
 import com.dlutskov.chart_lib.ChartBounds;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.ChartPointsData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 import com.dlutskov.chart_lib.utils.ChartUtils;
 
+import java.util.List;
+
 public class ChartBarsDrawer<X extends ChartCoordinate, Y extends ChartCoordinate> extends ChartLinesDrawer<X, Y> {
 
     // MAX Alpha of rect which will cover unselected bars
@@ -36,41 +38,60 @@ public class ChartBarsDrawer<X extends ChartCoordinate, Y extends ChartCoordinat
         int columnWidth = drawingRect.width() / pointsCount;
         // Adjust columnWidth to get rid of gaps between bars
         int columnWidthAdjustment = (drawingRect.width() % pointsCount) / pointsCount + 2;
-        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
-            DrawingData<Y> drawingData = findDrawingData(pointsData.getId());
-            if (drawingData == null) {
-                drawingData = new DrawingData<>(pointsData, columnWidth);
-                this.drawingDataList.add(drawingData);
-            }
+        List<ChartPointsData<Y>> yPoints = data.getYPoints();
+        for (int pointsIndex = 0; pointsIndex < yPoints.size(); pointsIndex++) {
+            ChartPointsData<Y> pointsData = yPoints.get(pointsIndex);
+            DrawingData<Y> drawingData = drawingDataList.get(pointsIndex);
             if (!drawingData.isVisible()) continue;
 
             drawingData.paint.setStrokeWidth(columnWidth + columnWidthAdjustment);
             drawingData.paint.setAlpha(mPointsAlpha);
-
-            // Build lines
+            drawingData.ensureLinesCapacity(getLinesCapacity(bounds));
+
+            // Build lines. Top of the bar is the affine transform of the normalized value - bar height is reduced
+            // with reducing bar visibility, so y is moved to the bottom by the visibility ratio
+            double[] values = pointsData.getNormalizedValues();
+            int minXIndex = bounds.getMinXIndex();
+            float xScale = ChartUtils.calcXScale(bounds, drawingRect);
+            float xOffset = drawingRect.left + columnWidth / 2;
+            float appearingRatio = drawingData.getAlpha() / (float) 255;
+            float bottom = drawingRect.bottom;
+            double yOffset = ChartUtils.calcYOffset(bounds, drawingRect, pointsData) * appearingRatio + bottom * (1 - appearingRatio);
+            double yScale = ChartUtils.calcYScale(bounds, drawingRect, pointsData) * appearingRatio;
+            float[] lines = drawingData.mLines;
             int lineIndex = 0;
-            for (int i = bounds.getMinXIndex(); i < bounds.getMaxXIndex(); i++) {
-                float x = ChartUtils.calcXCoordinate(bounds, drawingRect, i);
-                float y = ChartUtils.calcYCoordinate(bounds, drawingRect, pointsData.getPoints().get(i));
-                float appearingRatio = drawingData.getAlpha() / (float) 255; // Reduce bar height with reducing bar visibility
-                drawingData.mLines[lineIndex++] = x + columnWidth / 2;
-                drawingData.mLines[lineIndex++] = drawingRect.bottom;
-                drawingData.mLines[lineIndex++] = x + columnWidth / 2;
-                drawingData.mLines[lineIndex++] = y + (drawingRect.height() - y) * (1 - appearingRatio);
+            for (int i = minXIndex; i < bounds.getMaxXIndex(); i++) {
+                float x = xOffset + (i - minXIndex) * xScale;
+                lines[lineIndex++] = x;
+                lines[lineIndex++] = bottom;
+                lines[lineIndex++] = x;
+                lines[lineIndex++] = (float) (yOffset + values[i] * yScale);
             }
         }
     }
 
     @Override
-    public void onDraw(Canvas canvas, Rect drawingRect) {
-        super.onDraw(canvas, drawingRect);
+    public void onDraw(ChartCanvas canvas, Rect drawingRect) {
+        // Each bar is a separate line, so the lines aren't drawn as polylines
+        int linesCount = (getBounds().getMaxXIndex() - getBounds().getMinXIndex()) * 4;
+        for (int i = 0; i < drawingDataList.size(); i++) {
+            DrawingData<Y> drawingData = drawingDataList.get(i);
+            if (drawingData.isVisible()) {
+                drawingData.getPaint().setAlpha(getDrawDataAlpha(drawingData));
+                canvas.drawLines(drawingData.mLines, 0, linesCount, drawingData.getPaint());
+            }
+        }
+    }
 
+    @Override
+    protected void onDrawOverlay(ChartCanvas canvas, Rect drawingRect) {
         if (mSelectedPointIndex > 0 && mSelectedPointAlpha > 0) {
             // Draw semi transparent rect above all tabs
             mCoverPaint.setAlpha((int) (UNSELECTED_BARS_COVER_ALPHA * mSelectedPointAlpha / (float) 255));
             canvas.drawRect(drawingRect, mCoverPaint);
             // Draw selected lines again to highlight them
-            for (DrawingData<Y> drawingData : drawingDataList) {
+            for (int i = 0; i < drawingDataList.size(); i++) {
+                DrawingData<Y> drawingData = drawingDataList.get(i);
                 if (drawingData.isVisible()) {
                     int offset = (mSelectedPointIndex - getBounds().getMinXIndex()) * 4;
                     canvas.drawLines(drawingData.mLines, offset, 4, drawingData.getPaint());
@@ -90,7 +111,7 @@ public class ChartBarsDrawer<X extends ChartCoordinate, Y extends ChartCoordinat
     }
 
     @Override
-    protected void drawSelectedPoints(Canvas canvas, Rect drawingRect, float xPosition) {
+    protected void drawSelectedPoints(ChartCanvas canvas, Rect drawingRect, float xPosition) {
         // Only selected bar will be with 100% opacity
     }
 
@@ -1,13 +1,15 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.graphics.Canvas;
 import android.graphics.Rect;
 
 import com.dlutskov.chart_lib.ChartBounds;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.metrics.ChartDrawerMetrics;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -36,13 +38,28 @@ public abstract class ChartDataDrawer<X extends ChartCoordinate, Y extends Chart
      */
     private boolean mInvalidated = true;
 
+    // Not null only when the chart collects metrics
+    private ChartDrawerMetrics mMetrics;
+
+    // True while the chart is drawn with reduced quality to fit the frame budget
+    private boolean isReducedQuality;
+
+    // Reflects whether current quality need to be applied before the next rebuild
+    private boolean mQualityInvalidated;
+
     protected ChartDataDrawer(ChartView<X, Y> chartView) {
         this.mChartView = chartView;
     }
 
     public void updateData(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Set<String> hiddenPoints) {
         mData = data;
-        mBounds = new ChartBounds<>(bounds);
+        if (mBounds == null) {
+            mBounds = new ChartBounds<>(bounds);
+        } else {
+            mBounds.update(bounds);
+        }
+        // Quality is applied to the drawing data which is created for the new data
+        mQualityInvalidated = true;
         mInvalidated = true;
         mChartView.invalidate();
     }
@@ -71,13 +88,23 @@ public abstract class ChartDataDrawer<X extends ChartCoordinate, Y extends Chart
 
     public void updatePointsVisibility(String pointsId, boolean visibility) {}
 
+    /**
+     * Changes visibility of several points at once. Applies each change separately by default
+     * @param visibility - new visibility of the points by their ids
+     */
+    public void updatePointsVisibility(Map<String, Boolean> visibility) {
+        for (Map.Entry<String, Boolean> entry : visibility.entrySet()) {
+            updatePointsVisibility(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Called from the {@link ChartView} onDraw callback for ech drawer added to the view
      * Will be called for all drawers before {@link ChartLinesDrawer}.
      * @param canvas
      * @param drawingRect - rect where drawer's data need to be drawn
      */
-    public final void draw(Canvas canvas, Rect drawingRect) {
+    public final void draw(ChartCanvas canvas, Rect drawingRect) {
         if (mData == null) {
             // There are no data to draw yet
             return;
@@ -86,11 +113,38 @@ public abstract class ChartDataDrawer<X extends ChartCoordinate, Y extends Chart
             mDrawingRect.set(drawingRect);
             mInvalidated = true;
         }
+        if (mQualityInvalidated) {
+            onQualityChanged(isReducedQuality);
+            mQualityInvalidated = false;
+        }
+        ChartDrawerMetrics metrics = mMetrics;
         if (mInvalidated) {
+            long rebuildStart = metrics != null ? System.nanoTime() : 0;
             rebuild(mData, mBounds, mDrawingRect);
             mInvalidated = false;
+            if (metrics != null) {
+                metrics.onRebuild(System.nanoTime() - rebuildStart, getEmittedPointsCount());
+            }
         }
+        long drawStart = metrics != null ? System.nanoTime() : 0;
         onDraw(canvas, drawingRect);
+        if (metrics != null) {
+            metrics.onDraw(System.nanoTime() - drawStart);
+        }
+    }
+
+    /**
+     * Called from the {@link ChartView} for each drawer after points drawer is drawn
+     * @param canvas
+     * @param drawingRect - rect where drawer's data need to be drawn
+     */
+    public final void afterDraw(ChartCanvas canvas, Rect drawingRect) {
+        ChartDrawerMetrics metrics = mMetrics;
+        long drawStart = metrics != null ? System.nanoTime() : 0;
+        onAfterDraw(canvas, drawingRect);
+        if (metrics != null) {
+            metrics.onDraw(System.nanoTime() - drawStart);
+        }
     }
 
     /**
@@ -98,7 +152,84 @@ public abstract class ChartDataDrawer<X extends ChartCoordinate, Y extends Chart
      * @param canvas
      * @param drawingRect
      */
-    public void onAfterDraw(Canvas canvas, Rect drawingRect) {}
+    public void onAfterDraw(ChartCanvas canvas, Rect drawingRect) {}
+
+    /**
+     * Called from the {@link ChartView} overlay layer which is redrawn without redrawing the chart content,
+     * e.g. when only the selected point is changed. Drawing data is not rebuilt here - the overlay
+     * uses the data which was built for the content
+     * @param canvas
+     * @param drawingRect - rect where drawer's data need to be drawn
+     */
+    public final void drawOverlay(ChartCanvas canvas, Rect drawingRect) {
+        if (mData == null) {
+            return;
+        }
+        ChartDrawerMetrics metrics = mMetrics;
+        long drawStart = metrics != null ? System.nanoTime() : 0;
+        onDrawOverlay(canvas, drawingRect);
+        if (metrics != null) {
+            metrics.onDraw(System.nanoTime() - drawStart);
+        }
+    }
+
+    /**
+     * Used for drawing the state which changes more often than the chart content, e.g. selected points.
+     * Drawn over all drawers of the content layer
+     * @param canvas
+     * @param drawingRect
+     */
+    protected void onDrawOverlay(ChartCanvas canvas, Rect drawingRect) {}
+
+    /**
+     * @return true if the whole drawer should be drawn on the overlay layer of the {@link ChartView}
+     *         instead of the content layer. Such drawer is drawn by {@link #draw(ChartCanvas, Rect)} and
+     *         {@link #afterDraw(ChartCanvas, Rect)} each time when the overlay is invalidated
+     */
+    public boolean isOverlay() {
+        return false;
+    }
+
+    /**
+     * Switches drawer to the cheaper drawing while the chart is in motion and frames exceed the budget.
+     * Called by the {@link ChartView}. Drawer is rebuilt on the next draw
+     */
+    public void setReducedQuality(boolean reducedQuality) {
+        if (isReducedQuality != reducedQuality) {
+            isReducedQuality = reducedQuality;
+            mQualityInvalidated = true;
+            mInvalidated = true;
+        }
+    }
+
+    public boolean isReducedQuality() {
+        return isReducedQuality;
+    }
+
+    /**
+     * Called before the rebuild when quality was changed or the data was updated.
+     * Drawers should switch their paints here. The rest cheaper drawing can be checked by {@link #isReducedQuality()}
+     */
+    protected void onQualityChanged(boolean reducedQuality) {}
+
+    /**
+     * Sets metrics which will be updated on each rebuild and draw. Called by the {@link ChartView}
+     * @param metrics - null to stop collecting metrics
+     */
+    public void setMetrics(ChartDrawerMetrics metrics) {
+        mMetrics = metrics;
+    }
+
+    public ChartDrawerMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * @return count of the data points which were built by the last rebuild. Reported to the metrics
+     */
+    protected int getEmittedPointsCount() {
+        return 0;
+    }
 
     /**
      * Invalidates current drawer state to rebuild drawing data on next draw callback
@@ -113,11 +244,11 @@ public abstract class ChartDataDrawer<X extends ChartCoordinate, Y extends Chart
     protected abstract void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect);
 
     /**
-     * Used to drawing below chart lines as it's called from {@link #draw(Canvas, Rect)}
-     * Use {@link #onAfterDraw(Canvas, Rect)} to draw over chart lines
+     * Used to drawing below chart lines as it's called from {@link #draw(ChartCanvas, Rect)}
+     * Use {@link #onAfterDraw(ChartCanvas, Rect)} to draw over chart lines
      * @param canvas
      * @param drawingRect
      */
-    protected abstract void onDraw(Canvas canvas, Rect drawingRect);
+    protected abstract void onDraw(ChartCanvas canvas, Rect drawingRect);
 
 }
\ No newline at end of file
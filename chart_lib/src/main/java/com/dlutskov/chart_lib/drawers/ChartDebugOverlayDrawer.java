@@ -0,0 +1,204 @@
+package com.dlutskov.chart_lib.drawers;
+
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+import com.dlutskov.chart_lib.ChartBounds;
+import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.metrics.ChartDrawerMetrics;
+import com.dlutskov.chart_lib.metrics.ChartDurationHistogram;
+import com.dlutskov.chart_lib.metrics.ChartMetrics;
+import com.dlutskov.chart_lib.utils.ChartUtils;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Debug drawer which displays drawing stats over the chart: FPS, percentiles of the time between frames,
+ * drawers rebuilds per frame, points emitted by the drawers, density of the displayed points and current quality.
+ * Rebuilds and points are taken from the {@link ChartMetrics}, so they are displayed only when
+ * metrics are enabled by {@link ChartView#setMetricsEnabled(boolean)}.
+ * Stats are calculated for the frames which were drawn during the last second, and texts are rebuilt
+ * once per second, so the overlay doesn't allocate on each frame.
+ * Drawn on the overlay layer, so it should be added the last to be drawn over the rest overlay drawers
+ * @param <X> type of x axis chart coordinates
+ * @param <Y> type of Y axis chart coordinates
+ */
+public class ChartDebugOverlayDrawer<X extends ChartCoordinate, Y extends ChartCoordinate> extends ChartDataDrawer<X, Y> {
+
+    private static final long UPDATE_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static final int LINES_COUNT = 6;
+
+    private static final String QUALITY_FULL_TEXT = "Quality full";
+    private static final String QUALITY_REDUCED_TEXT = "Quality reduced";
+
+    private final Paint mTextPaint;
+    private final Paint mBackgroundPaint;
+
+    private final int mPadding;
+    private final int mLineHeight;
+
+    // Time between frames of the current interval
+    private final ChartDurationHistogram mFrameIntervals = new ChartDurationHistogram();
+
+    private long mLastFrameNanos;
+    private long mIntervalStartNanos;
+    private long mIntervalStartRebuilds;
+
+    private final String[] mTexts = new String[LINES_COUNT];
+    private float mTextsWidth;
+
+    public ChartDebugOverlayDrawer(ChartView<X, Y> chartView) {
+        super(chartView);
+        int textSize = ChartUtils.getPixelForDp(chartView.getContext(), 10);
+        mPadding = ChartUtils.getPixelForDp(chartView.getContext(), 4);
+        mLineHeight = textSize + mPadding / 2;
+
+        mTextPaint = new Paint();
+        mTextPaint.setAntiAlias(true);
+        mTextPaint.setTextSize(textSize);
+        mTextPaint.setTypeface(Typeface.MONOSPACE);
+        mTextPaint.setColor(Color.WHITE);
+
+        mBackgroundPaint = new Paint();
+        mBackgroundPaint.setStyle(Paint.Style.FILL);
+        mBackgroundPaint.setColor(0xB0000000);
+
+        updateTexts(0, 0, 0);
+    }
+
+    public void setTextColor(int color) {
+        mTextPaint.setColor(color);
+    }
+
+    public void setBackgroundColor(int color) {
+        mBackgroundPaint.setColor(color);
+    }
+
+    @Override
+    public boolean isOverlay() {
+        return true;
+    }
+
+    @Override
+    protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {
+        // Nothing depends on the data - stats are updated on each frame
+    }
+
+    @Override
+    protected void onDraw(ChartCanvas canvas, Rect drawingRect) {
+        // Drawn over the rest drawers in onAfterDraw
+    }
+
+    @Override
+    public void onAfterDraw(ChartCanvas canvas, Rect drawingRect) {
+        super.onAfterDraw(canvas, drawingRect);
+        onFrame(System.nanoTime(), drawingRect);
+        mTexts[5] = mChartView.isReducedQuality() ? QUALITY_REDUCED_TEXT : QUALITY_FULL_TEXT;
+
+        float left = drawingRect.left + mPadding;
+        float top = drawingRect.top + mPadding;
+        canvas.drawRect(left, top, left + mTextsWidth + mPadding * 2, top + mLineHeight * LINES_COUNT + mPadding * 2,
+                mBackgroundPaint);
+        float y = top + mPadding;
+        for (int i = 0; i < LINES_COUNT; i++) {
+            y += mLineHeight;
+            canvas.drawText(mTexts[i], left + mPadding, y - mPadding / 2, mTextPaint);
+        }
+    }
+
+    private void onFrame(long frameTimeNanos, Rect drawingRect) {
+        if (mLastFrameNanos == 0 || frameTimeNanos - mLastFrameNanos > UPDATE_INTERVAL_NANOS) {
+            // First frame after idle - start new interval without the idle time
+            startInterval(frameTimeNanos);
+            return;
+        }
+        mFrameIntervals.record(frameTimeNanos - mLastFrameNanos);
+        mLastFrameNanos = frameTimeNanos;
+
+        long intervalNanos = frameTimeNanos - mIntervalStartNanos;
+        if (intervalNanos < UPDATE_INTERVAL_NANOS) {
+            return;
+        }
+        long rebuilds = getRebuildsCount();
+        if (rebuilds < mIntervalStartRebuilds) {
+            // Metrics were reset
+            mIntervalStartRebuilds = 0;
+        }
+        long frames = mFrameIntervals.getCount();
+        updateTexts(frames * 1e9f / intervalNanos, (float) (rebuilds - mIntervalStartRebuilds) / frames,
+                getPointsDensity(drawingRect));
+        startInterval(frameTimeNanos);
+    }
+
+    private void startInterval(long frameTimeNanos) {
+        mLastFrameNanos = frameTimeNanos;
+        mIntervalStartNanos = frameTimeNanos;
+        mIntervalStartRebuilds = getRebuildsCount();
+        mFrameIntervals.reset();
+    }
+
+    private void updateTexts(float fps, float rebuildsPerFrame, float pointsDensity) {
+        ChartMetrics metrics = mChartView.getMetrics();
+        mTexts[0] = String.format(Locale.US, "FPS %.1f", fps);
+        mTexts[1] = String.format(Locale.US, "Frame p50 %.1f p90 %.1f p99 %.1f ms",
+                mFrameIntervals.getPercentileNanos(0.5f) / 1e6f,
+                mFrameIntervals.getPercentileNanos(0.9f) / 1e6f,
+                mFrameIntervals.getPercentileNanos(0.99f) / 1e6f);
+        mTexts[2] = metrics != null
+                ? String.format(Locale.US, "Rebuilds/frame %.2f", rebuildsPerFrame)
+                : "Rebuilds/frame - (metrics disabled)";
+        mTexts[3] = metrics != null ? "Points " + getEmittedPointsCount(metrics) : "Points -";
+        mTexts[4] = String.format(Locale.US, "Density %.2f pts/px", pointsDensity);
+        // Longest quality text is measured, the actual one is set on each frame
+        mTexts[5] = QUALITY_REDUCED_TEXT;
+
+        mTextsWidth = 0;
+        for (int i = 0; i < LINES_COUNT; i++) {
+            mTextsWidth = Math.max(mTextsWidth, mTextPaint.measureText(mTexts[i]));
+        }
+    }
+
+    private long getRebuildsCount() {
+        ChartMetrics metrics = mChartView.getMetrics();
+        if (metrics == null) {
+            return 0;
+        }
+        long rebuilds = 0;
+        List<ChartDrawerMetrics> drawersMetrics = metrics.getDrawersMetrics();
+        for (int i = 0; i < drawersMetrics.size(); i++) {
+            // Overlay itself is rebuilt on each change, but it doesn't do anything
+            if (drawersMetrics.get(i) != getMetrics()) {
+                rebuilds += drawersMetrics.get(i).getRebuildsCount();
+            }
+        }
+        return rebuilds;
+    }
+
+    private static long getEmittedPointsCount(ChartMetrics metrics) {
+        long points = 0;
+        List<ChartDrawerMetrics> drawersMetrics = metrics.getDrawersMetrics();
+        for (int i = 0; i < drawersMetrics.size(); i++) {
+            points += drawersMetrics.get(i).getEmittedPointsCount();
+        }
+        return points;
+    }
+
+    /**
+     * @return count of the displayed x points per pixel of the drawing rect width
+     */
+    private float getPointsDensity(Rect drawingRect) {
+        ChartBounds<X, Y> bounds = mChartView.getBounds();
+        if (drawingRect.width() <= 0) {
+            return 0;
+        }
+        return (float) (bounds.getMaxXIndex() - bounds.getMinXIndex() + 1) / drawingRect.width();
+    }
+
+}
@@ -1,17 +1,19 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
 
 import com.dlutskov.chart_lib.ChartBounds;
+import com.dlutskov.chart_lib.utils.ChartFloatBufferPool;
 import com.dlutskov.chart_lib.utils.ChartUtils;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.ChartPointsData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -26,8 +28,18 @@ public class ChartLinesDrawer<X extends ChartCoordinate, Y extends ChartCoordina
     // Default drawing line stroke width in DP
     private static final int DEFAULT_LINE_STROKE_WIDTH = 2;
 
+    // Min distance in pixels between drawn points when quality is reduced
+    private static final int REDUCED_QUALITY_POINTS_DISTANCE = 4;
+
+    // Visible lines count above which the lines are drawn as the single density band
+    private static final int DEFAULT_DENSITY_BAND_THRESHOLD = 50;
+    private static final int DENSITY_BAND_ALPHA = 128;
+
     private int mLineStrokeWidth;
 
+    // Count of the polyline coordinates which were built by the last rebuild
+    int mLinesCoordinatesCount;
+
     // Paints for drawing selected points
     private final Paint mSelectedPointCircleBackgroundPaint;
     private final Paint mSelectedPointCircleStokePaint;
@@ -38,6 +50,15 @@ public class ChartLinesDrawer<X extends ChartCoordinate, Y extends ChartCoordina
 
     private boolean mDrawSelectedPointsDivider = true;
 
+    // Band between min and max values of all visible lines. Created when it's drawn the first time
+    private final Paint mDensityBandPaint;
+    private ChartAreaMesh mDensityBand;
+    // Top and bottom screen y of the band at each drawn point. Taken from the pool and reused for each rebuild
+    private float[] mDensityBandTops = ChartFloatBufferPool.EMPTY;
+    private float[] mDensityBandBottoms = ChartFloatBufferPool.EMPTY;
+    private int mDensityBandThreshold = DEFAULT_DENSITY_BAND_THRESHOLD;
+    private boolean isDensityBandDrawn;
+
     public ChartLinesDrawer(ChartView<X, Y> chartView) {
         super(chartView);
         mLineStrokeWidth = ChartUtils.getPixelForDp(chartView.getContext(), DEFAULT_LINE_STROKE_WIDTH);
@@ -57,6 +78,11 @@ public class ChartLinesDrawer<X extends ChartCoordinate, Y extends ChartCoordina
         mSelectedPointsDividerPaint.setAntiAlias(true);
         mSelectedPointsDividerPaint.setStyle(Paint.Style.STROKE);
         mSelectedPointsDividerPaint.setStrokeWidth(mLineStrokeWidth);
+
+        mDensityBandPaint = new Paint();
+        mDensityBandPaint.setAntiAlias(true);
+        mDensityBandPaint.setStyle(Paint.Style.FILL);
+        mDensityBandPaint.setColor(Color.GRAY);
     }
 
     public void setLineStrokeWidth(int lineStrokeWidth) {
@@ -81,6 +107,22 @@ public class ChartLinesDrawer<X extends ChartCoordinate, Y extends ChartCoordina
         mDrawSelectedPointsDivider = drawSelectedPointsDivider;
     }
 
+    /**
+     * If count of the visible lines exceeds the threshold - lines are not drawn separately, but as the single band
+     * between min and max values of the visible lines. It keeps drawing time and memory of the lines bounded
+     * for charts with hundreds of lines
+     */
+    public void setDensityBandThreshold(int visibleLinesCount) {
+        mDensityBandThreshold = visibleLinesCount;
+        invalidate();
+        mChartView.invalidate();
+    }
+
+    public void setDensityBandColor(int color) {
+        mDensityBandPaint.setColor(color);
+        mChartView.invalidate();
+    }
+
     @Override
     public void updateData(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Set<String> hiddenChartPoints) {
         super.updateData(data, bounds, hiddenChartPoints);
@@ -96,49 +138,152 @@ public class ChartLinesDrawer<X extends ChartCoordinate, Y extends ChartCoordina
 
     @Override
     protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {
-        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
-            DrawingData<Y> drawingData = findDrawingData(pointsData.getId());
+        List<ChartPointsData<Y>> yPoints = data.getYPoints();
+        int step = getPointsStep(bounds, drawingRect);
+        boolean wasDensityBandDrawn = isDensityBandDrawn;
+        isDensityBandDrawn = getVisibleCount() > mDensityBandThreshold;
+        if (isDensityBandDrawn) {
+            if (!wasDensityBandDrawn) {
+                // Lines aren't drawn separately until visible lines count decreases
+                super.releaseBuffers();
+            }
+            buildDensityBand(yPoints, bounds, drawingRect, step);
+            return;
+        }
+        if (wasDensityBandDrawn) {
+            releaseDensityBand();
+        }
+        int polylineCapacity = getPolylineCapacity(bounds);
+        for (int i = 0; i < yPoints.size(); i++) {
+            ChartPointsData<Y> pointsData = yPoints.get(i);
+            DrawingData<Y> drawingData = drawingDataList.get(i);
             if (!drawingData.isVisible()) continue;
 
-            buildLines(drawingData.mLines, pointsData.getPoints(), bounds, drawingRect);
+            mLinesCoordinatesCount = buildPolyline(drawingData.ensureLinesCapacity(polylineCapacity), pointsData,
+                    bounds, drawingRect, step);
+        }
+    }
+
+    private void buildDensityBand(List<ChartPointsData<Y>> yPoints, ChartBounds<X, Y> bounds, Rect drawingRect, int step) {
+        if (mDensityBand == null) {
+            mDensityBand = new ChartAreaMesh();
+        }
+        int minXIndex = bounds.getMinXIndex();
+        int maxXIndex = bounds.getMaxXIndex();
+        int bandPointsCount = (maxXIndex - minXIndex) / step + 2;
+        if (mDensityBandTops.length < bandPointsCount) {
+            ChartFloatBufferPool pool = ChartFloatBufferPool.getInstance();
+            pool.release(mDensityBandTops);
+            pool.release(mDensityBandBottoms);
+            mDensityBandTops = pool.obtain(bandPointsCount);
+            mDensityBandBottoms = pool.obtain(bandPointsCount);
+        }
+        Arrays.fill(mDensityBandTops, 0, bandPointsCount, Float.MAX_VALUE);
+        Arrays.fill(mDensityBandBottoms, 0, bandPointsCount, -Float.MAX_VALUE);
+        // Screen y of each line is the affine transform of its normalized values
+        for (int dataIndex = 0; dataIndex < drawingDataList.size(); dataIndex++) {
+            if (!drawingDataList.get(dataIndex).isVisible()) continue;
+
+            ChartPointsData<Y> pointsData = yPoints.get(dataIndex);
+            double[] values = pointsData.getNormalizedValues();
+            double yOffset = ChartUtils.calcYOffset(bounds, drawingRect, pointsData);
+            double yScale = ChartUtils.calcYScale(bounds, drawingRect, pointsData);
+            int bandIndex = 0;
+            // The last point in bounds is always included
+            for (int i = minXIndex; ; i = Math.min(i + step, maxXIndex)) {
+                float y = (float) (yOffset + values[i] * yScale);
+                mDensityBandTops[bandIndex] = Math.min(mDensityBandTops[bandIndex], y);
+                mDensityBandBottoms[bandIndex] = Math.max(mDensityBandBottoms[bandIndex], y);
+                bandIndex++;
+                if (i == maxXIndex) {
+                    break;
+                }
+            }
+        }
+        float xScale = ChartUtils.calcXScale(bounds, drawingRect);
+        mDensityBand.reset(bandPointsCount);
+        int bandIndex = 0;
+        for (int i = minXIndex; ; i = Math.min(i + step, maxXIndex)) {
+            mDensityBand.addPoint(drawingRect.left + (i - minXIndex) * xScale, mDensityBandTops[bandIndex],
+                    mDensityBandBottoms[bandIndex]);
+            bandIndex++;
+            if (i == maxXIndex) {
+                break;
+            }
         }
     }
 
     @Override
-    public void onDraw(Canvas canvas, Rect drawingRect) {
+    public void onDraw(ChartCanvas canvas, Rect drawingRect) {
+        if (isDensityBandDrawn) {
+            mDensityBandPaint.setAlpha(Math.min(mPointsAlpha, DENSITY_BAND_ALPHA));
+            mDensityBand.draw(canvas, mDensityBandPaint);
+            return;
+        }
+        // Draw lines
+        int linesCount = mLinesCoordinatesCount;
+        for (int i = 0; i < drawingDataList.size(); i++) {
+            DrawingData<Y> drawingData = drawingDataList.get(i);
+            if (drawingData.isVisible()) {
+                drawingData.getPaint().setAlpha(getDrawDataAlpha(drawingData));
+                canvas.drawPolyline(drawingData.mLines, 0, linesCount, drawingData.getPaint());
+            }
+        }
+    }
+
+    @Override
+    protected void onDrawOverlay(ChartCanvas canvas, Rect drawingRect) {
+        if (mSelectedPointIndex <= 0 || mSelectedPointAlpha <= 0) {
+            return;
+        }
         float xPointsPosition = ChartUtils.calcXCoordinate(getBounds(), drawingRect, mSelectedPointIndex);
 
         // Draw vertical line
-        if (mDrawSelectedPointsDivider && mSelectedPointIndex > 0 && mSelectedPointAlpha > 0) {
+        if (mDrawSelectedPointsDivider) {
             mSelectedPointsDividerPaint.setAlpha(Math.min(MAX_GRID_ALPHA, mSelectedPointAlpha));
             canvas.drawLine(xPointsPosition, drawingRect.top, xPointsPosition, drawingRect.bottom, mSelectedPointsDividerPaint);
         }
-
-        // Draw lines
-        int linesCount = (getBounds().getMaxXIndex() - getBounds().getMinXIndex()) * 4;
-        for (DrawingData<Y> drawingData : drawingDataList) {
-            if (drawingData.isVisible()) {
-                drawingData.getPaint().setAlpha(getDrawDataAlpha(drawingData));
-                canvas.drawLines(drawingData.mLines, 0, linesCount, drawingData.getPaint());
-            }
+        // Points of the lines which are drawn as density band aren't selected
+        if (!isDensityBandDrawn) {
+            drawSelectedPoints(canvas, drawingRect, xPointsPosition);
         }
-        // Draw selected points
-        if (mSelectedPointIndex > 0 && mSelectedPointAlpha > 0) {
-           drawSelectedPoints(canvas, drawingRect, xPointsPosition);
+    }
+
+    @Override
+    public void releaseBuffers() {
+        super.releaseBuffers();
+        releaseDensityBand();
+    }
+
+    private void releaseDensityBand() {
+        if (mDensityBand != null) {
+            mDensityBand.release();
         }
+        ChartFloatBufferPool pool = ChartFloatBufferPool.getInstance();
+        pool.release(mDensityBandTops);
+        pool.release(mDensityBandBottoms);
+        mDensityBandTops = ChartFloatBufferPool.EMPTY;
+        mDensityBandBottoms = ChartFloatBufferPool.EMPTY;
+    }
+
+    @Override
+    protected int getEmittedPointsCount() {
+        return isDensityBandDrawn ? mDensityBand.getVerticesCount() : super.getEmittedPointsCount();
     }
 
     protected int getDrawDataAlpha(DrawingData<Y> drawingData) {
         return Math.min(mPointsAlpha, drawingData.getAlpha());
     }
 
-    protected void drawSelectedPoints(Canvas canvas, Rect drawingRect, float xPointsPosition) {
+    protected void drawSelectedPoints(ChartCanvas canvas, Rect drawingRect, float xPointsPosition) {
         // Draw circles
-        for (ChartPointsData<Y> pointsData : getData().getYPoints()) {
-            DrawingData<Y> drawingData = findDrawingData(pointsData.getId());
+        List<ChartPointsData<Y>> yPoints = getData().getYPoints();
+        for (int i = 0; i < yPoints.size(); i++) {
+            ChartPointsData<Y> pointsData = yPoints.get(i);
+            DrawingData<Y> drawingData = drawingDataList.get(i);
             if (!drawingData.isVisible()) continue;
 
-            ChartBounds<X, Y> pointBounds = getSelectedPointsBounds(pointsData.getId());
+            ChartBounds<X, Y> pointBounds = getSelectedPointsBounds(i);
             // Calculate selected points y position
             Y pointY = pointsData.getPoints().get(mSelectedPointIndex);
             float y = ChartUtils.calcYCoordinate(pointBounds, drawingRect, pointY);
@@ -156,35 +301,92 @@ public class ChartLinesDrawer<X extends ChartCoordinate, Y extends ChartCoordina
         }
     }
 
-    void buildLines(float lines[], List<Y> yPoints, ChartBounds<X, Y> bounds, Rect drawingRect) {
-        int lineIndex = 0;
-        for (int i = bounds.getMinXIndex(); i < bounds.getMaxXIndex(); i++) {
-            float x = ChartUtils.calcXCoordinate(bounds, drawingRect, i);
-            float y = ChartUtils.calcYCoordinate(bounds, drawingRect, yPoints.get(i));
-            lines[lineIndex++] = x;
-            lines[lineIndex++] = y;
-            x = ChartUtils.calcXCoordinate(bounds, drawingRect, i + 1);
-            y = ChartUtils.calcYCoordinate(bounds, drawingRect, yPoints.get(i + 1));
-            lines[lineIndex++] = x;
-            lines[lineIndex++] = y;
+    /**
+     * @return step between the drawn points. Each point is drawn at full quality, and with reduced quality
+     *         points are skipped to keep at least {@link #REDUCED_QUALITY_POINTS_DISTANCE} pixels between drawn points
+     */
+    int getPointsStep(ChartBounds<X, Y> bounds, Rect drawingRect) {
+        if (!isReducedQuality() || drawingRect.width() <= 0) {
+            return 1;
+        }
+        int pointsCount = bounds.getMaxXIndex() - bounds.getMinXIndex() + 1;
+        int maxDrawnPoints = Math.max(2, drawingRect.width() / REDUCED_QUALITY_POINTS_DISTANCE);
+        return Math.max(1, (pointsCount + maxDrawnPoints - 1) / maxDrawnPoints);
+    }
+
+    /**
+     * @return count of the lines coordinates which is enough to build a separate line for each point within the bounds
+     */
+    static int getLinesCapacity(ChartBounds<?, ?> bounds) {
+        return (bounds.getMaxXIndex() - bounds.getMinXIndex() + 1) * 4;
+    }
+
+    /**
+     * @return count of the polyline coordinates which is enough to build polyline of all points within the bounds
+     */
+    static int getPolylineCapacity(ChartBounds<?, ?> bounds) {
+        return (bounds.getMaxXIndex() - bounds.getMinXIndex() + 1) * 2;
+    }
+
+    /**
+     * Builds polyline of each step point within the bounds. The last point in bounds is always included.
+     * Coordinates are affine transforms of the point index and of the normalized point value, which are calculated
+     * once for the whole polyline
+     * @return count of the written polyline coordinates
+     */
+    int buildPolyline(float polyline[], ChartPointsData<Y> pointsData, ChartBounds<X, Y> bounds, Rect drawingRect, int step) {
+        double[] values = pointsData.getNormalizedValues();
+        int minXIndex = bounds.getMinXIndex();
+        int maxXIndex = bounds.getMaxXIndex();
+        float left = drawingRect.left;
+        float xScale = ChartUtils.calcXScale(bounds, drawingRect);
+        double yOffset = ChartUtils.calcYOffset(bounds, drawingRect, pointsData);
+        double yScale = ChartUtils.calcYScale(bounds, drawingRect, pointsData);
+        int index = 0;
+        int i = minXIndex;
+        for (; i < maxXIndex; i += step) {
+            polyline[index++] = left + (i - minXIndex) * xScale;
+            polyline[index++] = (float) (yOffset + values[i] * yScale);
         }
+        polyline[index++] = left + (maxXIndex - minXIndex) * xScale;
+        polyline[index++] = (float) (yOffset + values[maxXIndex] * yScale);
+        return index;
     }
 
-    ChartBounds<X, Y> getSelectedPointsBounds(String pointsId) {
+    ChartBounds<X, Y> getSelectedPointsBounds(int pointsIndex) {
         return getBounds();
     }
 
     static class DrawingData<C extends ChartCoordinate> extends ChartPointsDrawer.DrawingData<C> {
 
-        protected float[] mLines;
+        // Lines of the displayed points - polyline points for the lines drawers and pairs of points for the bars drawers.
+        // Obtained from the pool by the first build, so lines which are never shown don't take memory
+        protected float[] mLines = ChartFloatBufferPool.EMPTY;
 
         DrawingData(ChartPointsData<C> pointsData, int strokeWidth) {
             super(pointsData);
 
             paint.setStyle(Paint.Style.STROKE);
             paint.setStrokeWidth(strokeWidth);
+        }
+
+        /**
+         * @return lines array which fits at least the specified count of coordinates.
+         *         Array grows only when more points are displayed
+         */
+        float[] ensureLinesCapacity(int coordinatesCount) {
+            if (mLines.length < coordinatesCount) {
+                ChartFloatBufferPool pool = ChartFloatBufferPool.getInstance();
+                pool.release(mLines);
+                mLines = pool.obtain(coordinatesCount);
+            }
+            return mLines;
+        }
 
-            mLines = new float[pointsData.getPoints().size() * 4];
+        @Override
+        void releaseBuffers() {
+            ChartFloatBufferPool.getInstance().release(mLines);
+            mLines = ChartFloatBufferPool.EMPTY;
         }
 
     }
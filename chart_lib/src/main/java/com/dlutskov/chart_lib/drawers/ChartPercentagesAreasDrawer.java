@@ -1,15 +1,17 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.Rect;
+import android.os.Build;
 import android.view.View;
 
 import com.dlutskov.chart_lib.ChartBounds;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.ChartPointsSums;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 import com.dlutskov.chart_lib.utils.ChartUtils;
 
@@ -26,6 +28,9 @@ public class ChartPercentagesAreasDrawer<X extends ChartCoordinate, Y extends Ch
     private float mClipProgress;
     private Path mClipPath = new Path();
 
+    // True while the chart view is switched to the software layer by this drawer to support clipping
+    private boolean isSoftwareLayerEnabled;
+
     private int mRotationAngle = 0;
 
     private final Paint mSelectedPointsDividerPaint;
@@ -34,9 +39,11 @@ public class ChartPercentagesAreasDrawer<X extends ChartCoordinate, Y extends Ch
     private Y mYMaxValue;
     private Y mYBuf;
 
+    // Bounds of the current x point. Reused for each rebuild
+    private ChartBounds<X, Y> mLocalBounds;
+
     public ChartPercentagesAreasDrawer(ChartView<X, Y> chartView) {
         super(chartView);
-        chartView.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
 
         setAnimDuration(300);
 
@@ -73,43 +80,42 @@ public class ChartPercentagesAreasDrawer<X extends ChartCoordinate, Y extends Ch
             mYBuf = (Y) mYMaxValue.clone();
         }
 
-        ChartBounds<X, Y> localBounds = new ChartBounds<>(bounds);
+        if (mLocalBounds == null) {
+            mLocalBounds = new ChartBounds<>(bounds);
+        } else {
+            mLocalBounds.update(bounds);
+        }
+        ChartBounds<X, Y> localBounds = mLocalBounds;
+        List<ChartPointsData<Y>> lines = data.getYPoints();
+        float[] weights = calculateVisibilityWeights();
+        int pointsCount = bounds.getMaxXIndex() - bounds.getMinXIndex() + 1;
+        for (int dataIndex = 0; dataIndex < drawingDataList.size(); dataIndex++) {
+            DrawingData<Y> drawingData = drawingDataList.get(dataIndex);
+            // Meshes of hidden lines are not built, so they don't take memory until the lines are shown
+            if (drawingData.isVisible()) {
+                drawingData.mesh.reset(pointsCount);
+            }
+        }
         for (int i = bounds.getMinXIndex(); i <= bounds.getMaxXIndex(); i++) {
 
             // Calculate local bounds
-            mYMaxValue.set(mZero);
-            for (DrawingData<Y> drawingData : drawingDataList) {
-                if (!drawingData.isVisible()) continue;
-                Y value = drawingData.pointsData.getPoints().get(i);
-                value.getPart(drawingData.getAlpha() / 255f, mYBuf);
-                mYMaxValue.add(mYBuf, mYMaxValue);
-            }
+            ChartPointsSums.sumWeighted(lines, i, weights, mZero, mYBuf, mYMaxValue);
             localBounds.setMaxY(mYMaxValue);
 
             float prevY = drawingRect.bottom;
-            for (DrawingData<Y> drawingData : drawingDataList) {
+            for (int dataIndex = 0; dataIndex < drawingDataList.size(); dataIndex++) {
+                DrawingData<Y> drawingData = drawingDataList.get(dataIndex);
                 if (!drawingData.isVisible()) continue;
 
                 List<Y> points = drawingData.pointsData.getPoints();
 
-                // First point
-                if (i == bounds.getMinXIndex()) {
-                    drawingData.path.reset();
-                    drawingData.path.moveTo(drawingRect.left, drawingRect.bottom);
-                }
-
                 float x = ChartUtils.calcXCoordinate(localBounds, drawingRect, i);
                 float y = ChartUtils.calcYCoordinate(localBounds, drawingRect, points.get(i));
                 float appearingRatio = drawingData.getAlpha() / 255f; // Reduce bar height with reducing bar visibility
                 float yCoordinate = prevY - (drawingRect.bottom - y) * appearingRatio;
-                drawingData.path.lineTo(x, yCoordinate);
+                // Area of the series is placed between its curve and the curve of the previous one
+                drawingData.mesh.addPoint(x, yCoordinate, prevY);
                 prevY = yCoordinate;
-
-                // Last point - connect to the first point
-                if (i == bounds.getMaxXIndex()) {
-                    drawingData.path.lineTo(drawingRect.right, drawingRect.bottom);
-                    drawingData.path.lineTo(drawingRect.left, drawingRect.bottom);
-                }
             }
         }
     }
@@ -121,38 +127,46 @@ public class ChartPercentagesAreasDrawer<X extends ChartCoordinate, Y extends Ch
     }
 
     @Override
-    public void onDraw(Canvas canvas, Rect drawingRect) {
+    public void onDraw(ChartCanvas canvas, Rect drawingRect) {
         float centerX = drawingRect.width() / 2;
         float centerY = drawingRect.height() / 2 + mChartView.getPaddingTop();
         float circleSize = drawingRect.height() / 2;
 
+        // Clip and rotation are applied only to the areas, not to the drawers which are drawn after them
+        boolean isTransformed = mClipProgress > 0 || mRotationAngle != 0;
+        if (isTransformed) {
+            canvas.save();
+        }
+
         // Clip all chart to circle
         if (mClipProgress > 0) {
             float clipCircleSize = circleSize + centerX * (1 - mClipProgress);
-            mClipPath.reset();
+            mClipPath.rewind();
             mClipPath.addCircle(centerX, centerY, clipCircleSize, Path.Direction.CW);
             canvas.clipPath(mClipPath);
         }
 
         // Rotate canvas if need
         if (mRotationAngle != 0) {
-            canvas.save();
             canvas.rotate(mRotationAngle, centerX, centerY);
         }
 
-        // Draw paths
-        for (int i = drawingDataList.size() - 1; i >= 0; i--) {
+        // Draw areas
+        for (int i = 0; i < drawingDataList.size(); i++) {
             DrawingData<Y> data = drawingDataList.get(i);
             if (data.isVisible()) {
                 data.paint.setAlpha(mPointsAlpha);
-                canvas.drawPath(data.path, data.paint);
+                data.mesh.draw(canvas, data.paint);
             }
         }
 
-        if (mRotationAngle != 0) {
+        if (isTransformed) {
             canvas.restore();
         }
+    }
 
+    @Override
+    protected void onDrawOverlay(ChartCanvas canvas, Rect drawingRect) {
         // Draw selected point divider
         if (mSelectedPointIndex > 0) {
             float xPointsPosition = ChartUtils.calcXCoordinate(getBounds(), drawingRect, mSelectedPointIndex);
@@ -161,8 +175,22 @@ public class ChartPercentagesAreasDrawer<X extends ChartCoordinate, Y extends Ch
         }
     }
 
+    /**
+     * Sets clip ratio of the pie chart transition. Clipping is drawn by the hardware canvas since API 18,
+     * on older versions the chart view uses software layer only while the chart is clipped
+     */
     public void setClipValue(float clipValue) {
         mClipProgress = clipValue;
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            updateSoftwareLayer(clipValue > 0);
+        }
+    }
+
+    private void updateSoftwareLayer(boolean enabled) {
+        if (isSoftwareLayerEnabled != enabled) {
+            isSoftwareLayerEnabled = enabled;
+            mChartView.setLayerType(enabled ? View.LAYER_TYPE_SOFTWARE : View.LAYER_TYPE_NONE, null);
+        }
     }
 
     public void setRotationAngle(int angle) {
@@ -175,14 +203,19 @@ public class ChartPercentagesAreasDrawer<X extends ChartCoordinate, Y extends Ch
 
     static class DrawingData<C extends ChartCoordinate> extends ChartPointsDrawer.DrawingData<C> {
 
-        Path path;
+        final ChartAreaMesh mesh;
 
         DrawingData(ChartPointsData<C> pointsData) {
             super(pointsData);
 
             paint.setStyle(Paint.Style.FILL);
 
-            path = new Path();
+            mesh = new ChartAreaMesh();
+        }
+
+        @Override
+        void releaseBuffers() {
+            mesh.release();
         }
 
     }
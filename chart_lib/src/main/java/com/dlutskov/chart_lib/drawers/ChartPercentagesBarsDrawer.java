@@ -5,49 +5,45 @@ import android.graphics.Rect;
 import com.dlutskov.chart_lib.ChartBounds;
 import com.dlutskov.chart_lib.ChartView;
 import com.dlutskov.chart_lib.data.ChartLinesData;
-import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.ChartStackedSums;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.utils.ChartFloatBufferPool;
 
 public class ChartPercentagesBarsDrawer <X extends ChartCoordinate, Y extends ChartCoordinate>
         extends ChartStackedBarsDrawer<X, Y> {
 
+    // Visible total of each x point. Reused for each rebuild
+    private float[] mTotals = ChartFloatBufferPool.EMPTY;
+
     public ChartPercentagesBarsDrawer(ChartView chartView) {
         super(chartView);
     }
 
     @Override
     protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {
-        int pointsCount = bounds.getMaxXIndex() - bounds.getMinXIndex();
-        int columnWidth = drawingRect.width() / pointsCount;
-        // Adjust columnWidth to get rid of gaps between bars
-        int columnWidthAdjustment = (drawingRect.width() % pointsCount) / pointsCount + 2;
-
-        // Set column widths
-        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
-            DrawingData<Y> drawingData = findDrawingData(pointsData.getId());
-            drawingData.paint.setStrokeWidth(columnWidth + columnWidthAdjustment);
-            drawingData.paint.setAlpha(mPointsAlpha);
+        int columnWidth = setColumnWidths(bounds, drawingRect);
+
+        float[] weights = calculateVisibilityWeights();
+        ChartStackedSums.Layers<Y> layers = data.getStackedSums().getLayers(weights);
+        int pointsCount = bounds.getMaxXIndex() - bounds.getMinXIndex() + 1;
+        if (mTotals.length < pointsCount) {
+            ChartFloatBufferPool pool = ChartFloatBufferPool.getInstance();
+            pool.release(mTotals);
+            mTotals = pool.obtain(pointsCount);
         }
+        // Only proportions of the sums are required, so they are stacked as ratios of the reference.
+        // Visible total of each x point fills the whole height
+        Y zero = getZero(bounds);
+        calculateStackedTotals(layers, weights, bounds.getMinXIndex(), pointsCount, zero, layers.getReference(), mTotals);
+        buildStackedBars(layers, weights, bounds, drawingRect, columnWidth, pointsCount, zero, layers.getReference(),
+                0, mTotals);
+    }
 
-        Y zero = (Y) bounds.getMinY().zero();
-        Y maxValue = (Y) zero.clone();
-        Y buf = (Y) maxValue.clone();
-        ChartBounds<X, Y> localBounds = new ChartBounds<>(bounds);
-        int lineIndex = 0;
-        for (int i = bounds.getMinXIndex(); i <= bounds.getMaxXIndex(); i++) {
-
-            // Calculate local bounds
-            maxValue.set(zero);
-            for (DrawingData<Y> drawingData : drawingDataList) {
-                if (!drawingData.isVisible()) continue;
-                drawingData.pointsData.getPoints().get(i).getPart(drawingData.getAlpha() / 255f, buf);
-                maxValue.add(buf, maxValue);
-            }
-            localBounds.setMaxY(maxValue);
-
-            drawStackedBars(data, localBounds, drawingRect, columnWidth, lineIndex, i);
-            lineIndex += 4;
-        }
+    @Override
+    public void releaseBuffers() {
+        super.releaseBuffers();
+        ChartFloatBufferPool.getInstance().release(mTotals);
+        mTotals = ChartFloatBufferPool.EMPTY;
     }
 
 }
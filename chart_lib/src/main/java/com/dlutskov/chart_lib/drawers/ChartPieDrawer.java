@@ -1,6 +1,5 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
@@ -8,14 +7,14 @@ import android.graphics.RectF;
 
 import com.dlutskov.chart_lib.ChartBounds;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.ChartPointsSums;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 import com.dlutskov.chart_lib.utils.ChartUtils;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 public class ChartPieDrawer<X extends ChartCoordinate, Y extends ChartCoordinate>
@@ -25,6 +24,10 @@ public class ChartPieDrawer<X extends ChartCoordinate, Y extends ChartCoordinate
 
     private int mRotationAngle = 0;
 
+    // Reusable values for the sums calculations
+    private Y mZero;
+    private Y mTotalSum;
+
     public ChartPieDrawer(ChartView chartView) {
         super(chartView);
     }
@@ -33,7 +36,9 @@ public class ChartPieDrawer<X extends ChartCoordinate, Y extends ChartCoordinate
     public void updateData(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Set<String> hiddenChartPoints) {
         super.updateData(data, bounds, hiddenChartPoints);
         this.drawingDataList.clear();
-        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
+        List<ChartPointsData<Y>> yPoints = data.getYPoints();
+        for (int i = 0; i < yPoints.size(); i++) {
+            ChartPointsData<Y> pointsData = yPoints.get(i);
             DrawingData<Y> drawingData = new DrawingData<>(pointsData);
             boolean isVisible = !hiddenChartPoints.contains(pointsData.getId());
             drawingData.setVisible(isVisible);
@@ -44,34 +49,32 @@ public class ChartPieDrawer<X extends ChartCoordinate, Y extends ChartCoordinate
 
     @Override
     protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {
-        Map<String, Y> sumMap = new HashMap<>();
-        Y zero = (Y) bounds.getMinY().zero();
-        Y totalSum = (Y) bounds.getMinY().zero();
-        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
-            DrawingData<Y> drawingData = findDrawingData(pointsData.getId());
-            Y sum = (Y) drawingData.calculateSum(bounds.getMinXIndex(), bounds.getMaxXIndex()).clone();
-            sum.getPart(drawingData.getAlpha() / 255f, sum);
-
-            totalSum.add(sum, totalSum);
-            sumMap.put(pointsData.getId(), sum);
+        if (mZero == null) {
+            mZero = (Y) bounds.getMinY().zero();
+            mTotalSum = (Y) mZero.clone();
+        }
+        mTotalSum.set(mZero);
+        for (int i = 0; i < drawingDataList.size(); i++) {
+            DrawingData<Y> drawingData = drawingDataList.get(i);
+            Y sum = drawingData.calculateWeightedSum(bounds.getMinXIndex(), bounds.getMaxXIndex());
+            mTotalSum.add(sum, mTotalSum);
         }
         int percents = 0;
         int angles = 0;
         for (int i = drawingDataList.size() - 1; i >= 0; i--) {
             DrawingData<Y> drawingData = drawingDataList.get(i);
-            Y sum = sumMap.get(drawingData.getId());
-            float ratio = sum.calcCoordinateRatio(zero, totalSum);
+            float ratio = drawingData.mWeightedSum.calcCoordinateRatio(mZero, mTotalSum);
             float angle = i == 0 ? 360 - angles : Math.round(ratio * 360);
             drawingData.sweepAngle = angle;
             int p = i == 0 ? 100 - percents : Math.round(ratio * 100);
-            drawingData.text = p + "%";
+            drawingData.text = ChartUtils.getPercentsText(p, false);
             percents += p;
             angles += angle;
         }
     }
 
     @Override
-    protected void onDraw(Canvas canvas, Rect drawingRect) {
+    protected void onDraw(ChartCanvas canvas, Rect drawingRect) {
         float centerX = drawingRect.width() / 2;
         float centerY = drawingRect.height() / 2 + mChartView.getPaddingTop();
         float radius = drawingRect.height() / 2;
@@ -108,6 +111,12 @@ public class ChartPieDrawer<X extends ChartCoordinate, Y extends ChartCoordinate
         }
     }
 
+    @Override
+    protected int getEmittedPointsCount() {
+        // Each points data is drawn as a single sector
+        return drawingDataList.size();
+    }
+
     @Override
     protected void onVisibilityAnimatorUpdate(DrawingData<Y> pointsData, int alpha) {
         super.onVisibilityAnimatorUpdate(pointsData, alpha);
@@ -138,13 +147,10 @@ public class ChartPieDrawer<X extends ChartCoordinate, Y extends ChartCoordinate
 
     static class DrawingData<Y extends ChartCoordinate> extends ChartPointsDrawer.DrawingData<Y> {
 
-        // Values which corresponds to the calculated percents and sweepAngle
-        private Y mSumValue;
-        private int mMinXIndex;
-        private int mMaxXIndex;
-
-        private Y mZero;
-        private Y mSumBuf;
+        // Sum of the points in the displayed range which corresponds to the calculated percents and sweepAngle
+        private final ChartPointsSums.RangeSum<Y> mRangeSum;
+        // Range sum multiplied by the visibility alpha ratio
+        private final Y mWeightedSum;
 
         float sweepAngle;
         String text;
@@ -154,8 +160,9 @@ public class ChartPieDrawer<X extends ChartCoordinate, Y extends ChartCoordinate
         DrawingData(ChartPointsData<Y> pointsData) {
             super(pointsData);
 
-            mZero = (Y) pointsData.getMinValue().zero();
-            mSumBuf = (Y) mZero.clone();
+            Y zero = (Y) pointsData.getMinValue().zero();
+            mRangeSum = new ChartPointsSums.RangeSum<>(pointsData.getPoints(), zero);
+            mWeightedSum = zero;
 
             paint.setStyle(Paint.Style.FILL);
 
@@ -165,53 +172,8 @@ public class ChartPieDrawer<X extends ChartCoordinate, Y extends ChartCoordinate
             textPaint.setColor(Color.WHITE);
         }
 
-        Y calculateSum(int minXIndex, int maxXIndex) {
-            if (mSumValue == null) {
-                // Recalculate all points
-                mSumBuf.set(mZero);
-                List<Y> points = pointsData.getPoints();
-                for (int i = minXIndex; i <= maxXIndex; i++) {
-                    mSumBuf.add(points.get(i), mSumBuf);
-                }
-            } else {
-                List<Y> yPoints = pointsData.getPoints();
-                // Recalculate only newly added or removed values
-                mSumBuf.set(mSumValue);
-                // LEFT SIDE
-                if (minXIndex > mMinXIndex) {
-                    // Subtract left values
-                    for (int i = mMinXIndex; i < minXIndex; i++) {
-                        mSumBuf.subtract(yPoints.get(i), mSumBuf);
-                    }
-                } else {
-                    // Add left values
-                    for (int i = minXIndex; i < mMinXIndex; i++) {
-                        mSumBuf.add(yPoints.get(i), mSumBuf);
-                    }
-                }
-                // RIGHT SIDE
-                if (maxXIndex < mMaxXIndex) {
-                    // Subtract right values
-                    for (int i = maxXIndex; i < mMaxXIndex; i++) {
-                        mSumBuf.subtract(yPoints.get(i), mSumBuf);
-                    }
-                } else {
-                    // Add right values
-                    for (int i = mMaxXIndex; i < maxXIndex; i++) {
-                        mSumBuf.add(yPoints.get(i), mSumBuf);
-                    }
-                }
-            }
-
-            if (mSumValue == null) {
-                mSumValue = (Y) mSumBuf.clone();
-            } else {
-                mSumValue.set(mSumBuf);
-            }
-
-            mMinXIndex = minXIndex;
-            mMaxXIndex = maxXIndex;
-            return mSumValue;
+        Y calculateWeightedSum(int minXIndex, int maxXIndex) {
+            return (Y) mRangeSum.calculate(minXIndex, maxXIndex).getPart(getAlpha() / 255f, mWeightedSum);
         }
     }
 
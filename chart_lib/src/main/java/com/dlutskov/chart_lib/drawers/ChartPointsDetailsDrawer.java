@@ -2,7 +2,6 @@ package com.dlutskov.chart_lib.drawers;
 
 import android.animation.ValueAnimator;
 import android.content.Context;
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
@@ -12,11 +11,13 @@ import android.graphics.Typeface;
 import com.dlutskov.chart_lib.ChartBounds;
 import com.dlutskov.chart_lib.utils.ChartUtils;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.ChartPointsData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -26,6 +27,9 @@ import java.util.Set;
  */
 public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends ChartCoordinate> extends ChartDataDrawer<X, Y> implements ValueAnimator.AnimatorUpdateListener {
 
+    // Max count of the visible lines which points are listed in the window. The rest lines are summarized by the last row
+    private static final int MAX_LISTED_LINES_COUNT = 10;
+
     private final Paint mBackgroundBorderPaint;
     private final Paint mBackgroundPaint;
 
@@ -80,6 +84,15 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
     private Y mYSum;
     private String[] mPercentagesStrings;
 
+    // Text of the selected X point which is built only when selected point changes
+    private String mXLabelText;
+    private int mXLabelIndex = -1;
+    private boolean mXLabelExpanded;
+
+    // Text of the last row which is built only when count of the not listed lines changes
+    private String mMoreLinesText;
+    private int mMoreLinesCount;
+
     private boolean isShown;
 
     private boolean isExpandedPoints;
@@ -134,6 +147,7 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
     public void updateData(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Set<String> hiddenPoints) {
         super.updateData(data, bounds, hiddenPoints);
         mHiddenChartLines = new HashSet<>(hiddenPoints);
+        mXLabelText = null;
 
         if (mZero == null) {
             mZero = (Y) bounds.getMinY().zero();
@@ -161,21 +175,30 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
         mBounds = bounds;
 
         X maxX = data.getXPoints().getMaxValue();
-        String xLabelText = isExpandedPoints ? maxX.getFullName() + " " + maxX.getExpandedName() : maxX.getFullName();
-        float maxLabelWidth = mXLabelTextPaint.measureText(xLabelText) + ChartUtils.getDpForPixel(mChartView.getContext(), 20);
-
-        for (ChartPointsData chartPointsData : data.getYPoints()) {
+        float maxLabelWidth = mXLabelTextPaint.measureText(maxX.getFullName());
+        if (isExpandedPoints) {
+            maxLabelWidth += mXLabelTextPaint.measureText(" ") + mXLabelTextPaint.measureText(maxX.getExpandedName());
+        }
+        maxLabelWidth += ChartUtils.getDpForPixel(mChartView.getContext(), 20);
+
+        float percentsWidth = mData.isPercentage() ? mLabelTextPaint.measureText(" 100%") : 0;
+        Y maxValue = null;
+        int listedLinesCount = 0;
+        List<ChartPointsData<Y>> yPoints = data.getYPoints();
+        for (int i = 0; i < yPoints.size() && listedLinesCount < MAX_LISTED_LINES_COUNT; i++) {
+            ChartPointsData<Y> chartPointsData = yPoints.get(i);
             if (mHiddenChartLines.contains(chartPointsData.getId())) continue;
-            String name = chartPointsData.getName();
-            if (mData.isPercentage()) {
-                name += " 100%";
-            }
-            float textWidth = mLabelTextPaint.measureText(name);
+            listedLinesCount++;
+            float textWidth = mLabelTextPaint.measureText(chartPointsData.getName()) + percentsWidth;
             if (textWidth > maxLabelWidth) {
                 maxLabelWidth = textWidth;
             }
+            if (maxValue == null || chartPointsData.getMaxValue().compareTo(maxValue) > 0) {
+                maxValue = chartPointsData.getMaxValue();
+            }
         }
-        float maxValueWidth = mValuesTextPaint.measureText(bounds.getMaxY().getFullName());
+        // Max value of the visible lines is used instead of the animated bounds one - its name is formatted only once
+        float maxValueWidth = maxValue != null ? mValuesTextPaint.measureText(maxValue.getFullName()) : 0;
         mWidth = maxLabelWidth + mHorizontalPadding * 2 + maxValueWidth;
         if (mWidth < mMinWidth) {
             mWidth = mMinWidth;
@@ -183,10 +206,16 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
     }
 
     @Override
-    protected void onDraw(Canvas canvas, Rect drawingRect) {}
+    public boolean isOverlay() {
+        // Redrawn on each selected point change
+        return true;
+    }
 
     @Override
-    public void onAfterDraw(Canvas canvas, Rect drawingRect) {
+    protected void onDraw(ChartCanvas canvas, Rect drawingRect) {}
+
+    @Override
+    public void onAfterDraw(ChartCanvas canvas, Rect drawingRect) {
         super.onAfterDraw(canvas, drawingRect);
 
         if (!isShown) return;
@@ -194,9 +223,12 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
         float xPointsPosition = ChartUtils.calcXCoordinate(mBounds, drawingRect, mSelectedPointPosition);
 
         int visibleLinesCount = mData.getYPoints().size() - mHiddenChartLines.size();
+        int listedLinesCount = Math.min(visibleLinesCount, MAX_LISTED_LINES_COUNT);
+        // Not listed lines take one row
+        int rowsCount = visibleLinesCount > listedLinesCount ? listedLinesCount + 1 : listedLinesCount;
 
         int viewWidth = (int) mWidth + mHorizontalPadding * 2;
-        int viewHeight = mVerticalPadding + mTextSize * (visibleLinesCount + 1) + mLabelVerticalPadding * (visibleLinesCount + 1) + mVerticalPadding;
+        int viewHeight = mVerticalPadding + mTextSize * (rowsCount + 1) + mLabelVerticalPadding * (rowsCount + 1) + mVerticalPadding;
 
         float xPosition = xPointsPosition < drawingRect.width() / 2
                 ? xPointsPosition + mHorizontalMargin
@@ -222,9 +254,7 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
 
         // Draw X label
         mXLabelTextPaint.setAlpha(mCurrentAlpha);
-        X xPoint = mData.getXPoints().getPoints().get(mSelectedPointPosition);
-        String xLabel = isExpandedPoints ? xPoint.getFullName() + " " + xPoint.getExpandedName() : xPoint.getFullName();
-        canvas.drawText(xLabel, leftX, yPosition, mXLabelTextPaint);
+        canvas.drawText(getXLabelText(), leftX, yPosition, mXLabelTextPaint);
 
         // Draw > glyph
 //        String glyph = ">";
@@ -253,29 +283,22 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
                 lastPercents = Math.round(pointsData.getPoints().get(mSelectedPointPosition).calcCoordinateRatio(mZero, mYSum) * 100);
                 percentsSum += lastPercents;
 
-                String string =  lastPercents + "%";
-                if (lastPercents < 10) {
-                    string = "  " + string;
-                }
-
-                mPercentagesStrings[i] = string;
+                mPercentagesStrings[i] = ChartUtils.getPercentsText(lastPercents, true);
                 lastPercentsPosition = i;
             }
             if (percentsSum != 100) {
                 lastPercents = lastPercents +  (100 - percentsSum);
-                String string =  lastPercents + "%";
-                if (lastPercents < 10) {
-                    string = "  " + string;
-                }
-                mPercentagesStrings[lastPercentsPosition] = string;
+                mPercentagesStrings[lastPercentsPosition] = ChartUtils.getPercentsText(lastPercents, true);
             }
         }
 
         // Draw Y labels
-        for (int i = 0; i < mData.getYPoints().size(); i++) {
+        int listedCount = 0;
+        for (int i = 0; i < mData.getYPoints().size() && listedCount < listedLinesCount; i++) {
             ChartPointsData<Y> pointsData = mData.getYPoints().get(i);
 
             if (mHiddenChartLines.contains(pointsData.getId())) continue;
+            listedCount++;
 
             // Draw axis name and axis point value
             mValuesTextPaint.setColor(pointsData.getColor());
@@ -293,6 +316,28 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
 
             yPosition += mTextSize + mLabelVerticalPadding;
         }
+        if (visibleLinesCount > listedLinesCount) {
+            canvas.drawText(getMoreLinesText(visibleLinesCount - listedLinesCount), labelXPosition,
+                    yPosition + mTextSize + mLabelVerticalPadding, mLabelTextPaint);
+        }
+    }
+
+    private String getMoreLinesText(int linesCount) {
+        if (mMoreLinesText == null || mMoreLinesCount != linesCount) {
+            mMoreLinesText = "+" + linesCount + " more";
+            mMoreLinesCount = linesCount;
+        }
+        return mMoreLinesText;
+    }
+
+    private String getXLabelText() {
+        if (mXLabelText == null || mXLabelIndex != mSelectedPointPosition || mXLabelExpanded != isExpandedPoints) {
+            X xPoint = mData.getXPoints().getPoints().get(mSelectedPointPosition);
+            mXLabelText = isExpandedPoints ? xPoint.getFullName() + " " + xPoint.getExpandedName() : xPoint.getFullName();
+            mXLabelIndex = mSelectedPointPosition;
+            mXLabelExpanded = isExpandedPoints;
+        }
+        return mXLabelText;
     }
 
     public void setSelectedPointIndex(int pointPosition) {
@@ -318,7 +363,7 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
     @Override
     public void onAnimationUpdate(ValueAnimator animation) {
         mCurrentAlpha = (int) animation.getAnimatedValue();
-        mChartView.invalidate();
+        mChartView.invalidateOverlay();
     }
 
     public void setExpanded(boolean expanded) {
@@ -327,7 +372,7 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
 
     public void setBackgroundColor(int color) {
         mBackgroundPaint.setColor(color);
-        mChartView.invalidate();
+        mChartView.invalidateOverlay();
     }
 
     public int getBackgroundColor() {
@@ -336,7 +381,7 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
 
     public void setBackgroundBorderColor(int color) {
         mBackgroundBorderPaint.setColor(color);
-        mChartView.invalidate();
+        mChartView.invalidateOverlay();
     }
 
     public int getBackgroundBorderColor() {
@@ -347,7 +392,7 @@ public class ChartPointsDetailsDrawer<X extends ChartCoordinate, Y extends Chart
         mXLabelTextPaint.setColor(color);
         mLabelTextPaint.setColor(color);
         mPercentsTextPaint.setColor(color);
-        mChartView.invalidate();
+        mChartView.invalidateOverlay();
     }
 
     public int getXLabelColor() {
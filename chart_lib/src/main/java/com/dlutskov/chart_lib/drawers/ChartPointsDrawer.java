@@ -1,12 +1,10 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
 import android.graphics.Paint;
 
 import com.dlutskov.chart_lib.ChartBounds;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.animation.ChartAnimation;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.ChartPointsData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
@@ -14,7 +12,6 @@ import com.dlutskov.chart_lib.utils.ChartUtils;
 import com.dlutskov.chart_lib.utils.Pair;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,11 +22,23 @@ public abstract class ChartPointsDrawer<X extends ChartCoordinate, Y extends Cha
 
     public static final int MAX_GRID_ALPHA = 25;
 
+    /**
+     * Drawing data of each Y points in the same order as {@link ChartLinesData#getYPoints()}, so drawing data of the
+     * points is accessed by the points index without lookups. Filled by the subclasses on each data update
+     */
     protected final List<P> drawingDataList = new ArrayList<>();
 
     private BoundsUpdateAnimator<X, Y> mBoundsAnimHandler;
 
-    private Map<String, ValueAnimator> mPointsAnimators = new HashMap<>();
+    // Bounds with new x values and currently displayed y values. Reused for each bounds update
+    private ChartBounds<X, Y> mAnimatedBounds;
+
+    // Single listener for all points visibility animations. Drawing data animated alone is bound as animation tag,
+    // animation shared by several drawing data has no tag
+    private final ChartAnimation.Listener mVisibilityAnimationListener = new VisibilityAnimationListener();
+
+    // Reusable result of calculateVisibilityWeights
+    private float[] mVisibilityWeights;
 
     /**
      * Common alpha value for all chart points
@@ -71,7 +80,7 @@ public abstract class ChartPointsDrawer<X extends ChartCoordinate, Y extends Cha
 
     public void setSelectedPointAlpha(int alpha) {
         mSelectedPointAlpha = alpha;
-        mChartView.invalidate();
+        mChartView.invalidateOverlay();
     }
 
     public void setPointsAlpha(int alpha) {
@@ -90,6 +99,7 @@ public abstract class ChartPointsDrawer<X extends ChartCoordinate, Y extends Cha
     @Override
     public void updateData(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Set<String> hiddenChartPoints) {
         super.updateData(data, bounds, hiddenChartPoints);
+        releaseBuffers();
         drawingDataList.clear();
         if (mBoundsAnimHandler != null) {
             mBoundsAnimHandler.cancel();
@@ -102,34 +112,23 @@ public abstract class ChartPointsDrawer<X extends ChartCoordinate, Y extends Cha
             super.updateBounds(currentBounds, targetBounds);
             return;
         }
-        // Instantly update only x values, y values will be updated by animation
-        currentBounds = new ChartBounds<>(currentBounds);
+        // Instantly update only x values, y values will be updated by animation from currently displayed values
+        if (mAnimatedBounds == null) {
+            mAnimatedBounds = new ChartBounds<>(getBounds());
+        } else {
+            mAnimatedBounds.update(getBounds());
+        }
+        currentBounds = mAnimatedBounds;
         currentBounds.setMinXIndex(targetBounds.getMinXIndex());
         currentBounds.setMaxXIndex(targetBounds.getMaxXIndex());
         super.updateBounds(currentBounds, currentBounds);
 
-        if (mBoundsAnimHandler != null) {
-            if (mBoundsAnimHandler.isTargetTheSame(targetBounds)) {
-                // No need to update y bounds animator already running to move to same target
-                return;
-            } else {
-                long passedTime = System.currentTimeMillis() - mBoundsAnimHandler.getStartTime() + 40;
-                float progress = passedTime / (float) mBoundsAnimHandler.getDuration();
-                mBoundsAnimHandler.update(progress);
-                // Use currently animated bounds
-                currentBounds.setMinY(mBoundsAnimHandler.getCurrentYBounds().first);
-                currentBounds.setMaxY(mBoundsAnimHandler.getCurrentYBounds().second);
-                // Cancel previously started animator
-                mBoundsAnimHandler.cancel();
-            }
+        if (mBoundsAnimHandler == null) {
+            mBoundsAnimHandler = new BoundsUpdateAnimator<>(mChartView.getAnimationScheduler(), this);
         }
-        mBoundsAnimHandler = new BoundsUpdateAnimator<>(currentBounds, targetBounds, this);
-        mBoundsAnimHandler.start(mAnimDuration, new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                mBoundsAnimHandler = null;
-            }
-        });
+        mBoundsAnimHandler.setDuration(mAnimDuration);
+        // Running animation just changes its target
+        mBoundsAnimHandler.animateTo(currentBounds, targetBounds);
     }
 
     @Override
@@ -141,72 +140,203 @@ public abstract class ChartPointsDrawer<X extends ChartCoordinate, Y extends Cha
 
         if (!mAnimateVisibilityChanges) {
             linesDrawer.setVisible(visible);
+            if (!visible) {
+                linesDrawer.releaseBuffers();
+            }
             onVisibilityAnimatorUpdate(linesDrawer, visible ? 255 : 0);
+            invalidate();
+            mChartView.invalidate();
             return;
         }
 
-        // Cancel running animator
-        ValueAnimator currentAnimator = mPointsAnimators.get(pointsId);
-        if (currentAnimator != null) {
-            currentAnimator.cancel();
+        ChartAnimation animation = mChartView.getAnimationScheduler()
+                .start(mAnimDuration, null, mVisibilityAnimationListener)
+                .setTag(linesDrawer);
+        startVisibilityAnimation(linesDrawer, visible, animation);
+    }
+
+    /**
+     * Animates visibility changes of all specified points by the single animation
+     */
+    @Override
+    public void updatePointsVisibility(Map<String, Boolean> visibility) {
+        if (!mAnimateVisibilityChanges) {
+            super.updatePointsVisibility(visibility);
+            return;
+        }
+        ChartAnimation animation = null;
+        for (Map.Entry<String, Boolean> entry : visibility.entrySet()) {
+            P drawingData = findDrawingData(entry.getKey());
+            boolean visible = entry.getValue();
+            // Skip points which already have the requested visibility
+            if (drawingData == null || (drawingData.mVisibilityAnimation == null && drawingData.isVisible() == visible)) {
+                continue;
+            }
+            if (animation == null) {
+                animation = mChartView.getAnimationScheduler().start(mAnimDuration, null, mVisibilityAnimationListener);
+            }
+            startVisibilityAnimation(drawingData, visible, animation);
+        }
+    }
+
+    private void startVisibilityAnimation(P drawingData, boolean visible, ChartAnimation animation) {
+        cancelVisibilityAnimation(drawingData);
+        drawingData.mVisibilityInitialAlpha = drawingData.getAlpha();
+        drawingData.mAppearing = visible;
+        drawingData.setVisible(true);
+        drawingData.mVisibilityAnimation = animation;
+        // Drawing data of the hidden points isn't built
+        invalidate();
+    }
+
+    private void cancelVisibilityAnimation(P drawingData) {
+        ChartAnimation animation = drawingData.mVisibilityAnimation;
+        if (animation == null) {
+            return;
+        }
+        drawingData.mVisibilityAnimation = null;
+        // Shared animation keeps running for the rest drawing data
+        if (animation.getTag() == null && isVisibilityAnimationUsed(animation)) {
+            return;
         }
+        animation.cancel();
+    }
 
-        currentAnimator = ValueAnimator.ofFloat(0f, 1f).setDuration(mAnimDuration);
-        currentAnimator.addUpdateListener(new VisibilityAnimatorUpdateListener(linesDrawer, visible));
-        if (!visible) {
-            currentAnimator.addListener(new AnimatorListenerAdapter() {
-                @Override
-                public void onAnimationEnd(Animator animation) {
-                    super.onAnimationEnd(animation);
-                    linesDrawer.setVisible(false);
-                }
-            });
+    private boolean isVisibilityAnimationUsed(ChartAnimation animation) {
+        for (int i = 0; i < drawingDataList.size(); i++) {
+            if (drawingDataList.get(i).mVisibilityAnimation == animation) {
+                return true;
+            }
         }
-        linesDrawer.setVisible(true);
-        currentAnimator.start();
-        mPointsAnimators.put(pointsId, currentAnimator);
+        return false;
     }
 
     @Override
-    public void onBoundsAnimationUpdated(Pair<Y, Y> yBounds, float updateProgress) {
+    public void onBoundsAnimationUpdated(Pair<Y, Y> yBounds) {
         getBounds().setMinY(yBounds.first);
         getBounds().setMaxY(yBounds.second);
         invalidate();
-        mChartView.invalidate();
     }
 
-    protected P findDrawingData(String pointsId) {
-        for (P data : drawingDataList) {
-            if (data.getId().equals(pointsId)) return data;
+    /**
+     * @return weight of each drawing data in the drawingDataList order - alpha ratio for visible data and 0 for hidden one.
+     *         Array is reused by the next calls
+     */
+    protected float[] calculateVisibilityWeights() {
+        int size = drawingDataList.size();
+        if (mVisibilityWeights == null || mVisibilityWeights.length < size) {
+            mVisibilityWeights = new float[size];
+        }
+        for (int i = 0; i < size; i++) {
+            P data = drawingDataList.get(i);
+            mVisibilityWeights[i] = data.isVisible() ? data.getAlpha() / 255f : 0;
+        }
+        return mVisibilityWeights;
+    }
+
+    /**
+     * @return count of points of all visible drawing data within current X bounds
+     */
+    @Override
+    protected int getEmittedPointsCount() {
+        ChartBounds<X, Y> bounds = getBounds();
+        return getVisibleCount() * (bounds.getMaxXIndex() - bounds.getMinXIndex() + 1);
+    }
+
+    /**
+     * Returns geometry buffers of all drawing data to the pool. Called when the drawing data is replaced
+     * and when the drawer is removed from the chart. Buffers are obtained again by the next rebuild
+     */
+    public void releaseBuffers() {
+        for (int i = 0; i < drawingDataList.size(); i++) {
+            drawingDataList.get(i).releaseBuffers();
         }
-        return null;
     }
 
+    /**
+     * @return count of the visible drawing data including the disappearing ones
+     */
+    protected int getVisibleCount() {
+        int visibleCount = 0;
+        for (int i = 0; i < drawingDataList.size(); i++) {
+            if (drawingDataList.get(i).isVisible()) {
+                visibleCount++;
+            }
+        }
+        return visibleCount;
+    }
+
+    @Override
+    protected void onQualityChanged(boolean reducedQuality) {
+        for (int i = 0; i < drawingDataList.size(); i++) {
+            drawingDataList.get(i).getPaint().setAntiAlias(!reducedQuality);
+        }
+    }
+
+    /**
+     * @return drawing data of the points with the specified id or null if there are no such points
+     */
+    protected P findDrawingData(String pointsId) {
+        ChartLinesData<X, Y> data = getData();
+        int index = data != null ? data.getYPointsIndex(pointsId) : -1;
+        return index >= 0 && index < drawingDataList.size() ? drawingDataList.get(index) : null;
+    }
+
+    /**
+     * Called on each frame of the points visibility animation. Chart view is invalidated by the animation scheduler
+     */
     protected void onVisibilityAnimatorUpdate(P pointsData, int alpha) {
         pointsData.setAlpha(alpha);
-        mChartView.invalidate();
     }
 
     /**
-     * Handles points visibility changes
+     * Handles points visibility changes for the drawing data which is bound as animation tag
+     * or for all drawing data which share the animation if there is no tag
      */
-    class VisibilityAnimatorUpdateListener implements ValueAnimator.AnimatorUpdateListener {
+    private class VisibilityAnimationListener implements ChartAnimation.Listener {
 
-        private final P mPointsData;
-        private final int mInitialAlpha;
-        private boolean mAppear;
-
-        VisibilityAnimatorUpdateListener(P pointsData, boolean appear) {
-            mPointsData = pointsData;
-            mInitialAlpha = pointsData.getAlpha();
-            mAppear = appear;
+        @Override
+        public void onAnimationUpdate(ChartAnimation animation, float progress) {
+            P pointsData = (P) animation.getTag();
+            if (pointsData != null) {
+                updateAlpha(pointsData, progress);
+                return;
+            }
+            for (int i = 0; i < drawingDataList.size(); i++) {
+                P data = drawingDataList.get(i);
+                if (data.mVisibilityAnimation == animation) {
+                    updateAlpha(data, progress);
+                }
+            }
         }
 
         @Override
-        public void onAnimationUpdate(ValueAnimator animation) {
-            float progress = (float) animation.getAnimatedValue();
-            int alpha = (int) (mAppear ? mInitialAlpha + (255 - mInitialAlpha) * progress :  mInitialAlpha * (1 - progress));
-            onVisibilityAnimatorUpdate(mPointsData, alpha);
+        public void onAnimationEnd(ChartAnimation animation, boolean cancelled) {
+            P pointsData = (P) animation.getTag();
+            if (pointsData != null) {
+                finish(pointsData, cancelled);
+                return;
+            }
+            for (int i = 0; i < drawingDataList.size(); i++) {
+                P data = drawingDataList.get(i);
+                if (data.mVisibilityAnimation == animation) {
+                    finish(data, cancelled);
+                }
+            }
+        }
+
+        private void updateAlpha(P pointsData, float progress) {
+            int initialAlpha = pointsData.mVisibilityInitialAlpha;
+            int alpha = (int) (pointsData.mAppearing ? initialAlpha + (255 - initialAlpha) * progress :  initialAlpha * (1 - progress));
+            onVisibilityAnimatorUpdate(pointsData, alpha);
+        }
+
+        private void finish(P pointsData, boolean cancelled) {
+            pointsData.mVisibilityAnimation = null;
+            if (!cancelled && !pointsData.mAppearing) {
+                pointsData.setVisible(false);
+                pointsData.releaseBuffers();
+            }
         }
     }
 
@@ -226,6 +356,11 @@ public abstract class ChartPointsDrawer<X extends ChartCoordinate, Y extends Cha
 
         protected Paint paint;
 
+        // Running visibility animation and its initial state
+        ChartAnimation mVisibilityAnimation;
+        int mVisibilityInitialAlpha;
+        boolean mAppearing;
+
         DrawingData(ChartPointsData<C> pointsData) {
             this.pointsData = pointsData;
             mId = pointsData.getId();
@@ -258,5 +393,11 @@ public abstract class ChartPointsDrawer<X extends ChartCoordinate, Y extends Cha
         public void setAlpha(int alpha) {
             mAlpha = alpha;
         }
+
+        /**
+         * Returns geometry buffers to the pool. Called when the points are hidden or the drawing data is replaced
+         */
+        void releaseBuffers() {
+        }
     }
 }
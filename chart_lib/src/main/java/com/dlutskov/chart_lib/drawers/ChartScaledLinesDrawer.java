@@ -1,7 +1,5 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
 import android.graphics.Rect;
 
 import com.dlutskov.chart_lib.ChartBounds;
@@ -9,16 +7,20 @@ import com.dlutskov.chart_lib.ChartView;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.ChartPointsData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
-import com.dlutskov.chart_lib.utils.Pair;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 public class ChartScaledLinesDrawer<X extends ChartCoordinate, Y extends ChartCoordinate> extends ChartLinesDrawer<X, Y> {
 
-    private Map<String, BoundsUpdateAnimator<X, Y>> mBoundsAnimHandlers = new HashMap<>();
-    private Map<String, ChartBounds<X, Y>> mLineBounds = new HashMap<>();
+    // Bounds and their animators of each line by the line index. Kept for the next data to be reused
+    private final List<BoundsUpdateAnimator<X, Y>> mBoundsAnimHandlers = new ArrayList<>();
+    private final List<ChartBounds<X, Y>> mLineBounds = new ArrayList<>();
+
+    // Reusable result holders for the lines bounds calculations
+    private final int[] mMinMaxIndexes = new int[2];
+    private ChartBounds<X, Y> mLocalTargetBounds;
 
     public ChartScaledLinesDrawer(ChartView<X, Y> chartView) {
         super(chartView);
@@ -28,29 +30,38 @@ public class ChartScaledLinesDrawer<X extends ChartCoordinate, Y extends ChartCo
     public void updateData(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Set<String> hiddenChartPoints) {
         super.updateData(data, bounds, hiddenChartPoints);
         // Stop all running animators
-        for (BoundsUpdateAnimator<X, Y> animator : mBoundsAnimHandlers.values()) {
-            animator.cancel();
+        for (int i = 0; i < mBoundsAnimHandlers.size(); i++) {
+            BoundsUpdateAnimator<X, Y> animator = mBoundsAnimHandlers.get(i);
+            if (animator != null) {
+                animator.cancel();
+            }
         }
 
         // Recalculate Y bounds for each points
-        for (ChartPointsData<Y> pointsData : getData().getYPoints()) {
-            Pair<Integer, Integer> boundsIndexes = ChartPointsData.calculateMinMaxIndexes(pointsData, bounds.getMinXIndex(), bounds.getMaxXIndex());
-            Y minY = pointsData.getPoints().get(boundsIndexes.first);
-            Y maxY = pointsData.getPoints().get(boundsIndexes.second);
-            ChartBounds<X, Y> localTargetBounds = new ChartBounds<>(bounds);
-            localTargetBounds.setMinY(minY);
-            localTargetBounds.setMaxY(maxY);
-            mLineBounds.put(pointsData.getId(), localTargetBounds);
+        List<ChartPointsData<Y>> yPoints = getData().getYPoints();
+        for (int i = 0; i < yPoints.size(); i++) {
+            ChartPointsData<Y> pointsData = yPoints.get(i);
+            if (i == mLineBounds.size()) {
+                mLineBounds.add(new ChartBounds<>(bounds));
+                mBoundsAnimHandlers.add(null);
+            }
+            ChartBounds<X, Y> lineBounds = mLineBounds.get(i);
+            calculateLineBounds(pointsData, bounds, lineBounds);
         }
     }
 
     @Override
     protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {
-        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
-            DrawingData<Y> drawingData = findDrawingData(pointsData.getId());
+        List<ChartPointsData<Y>> yPoints = data.getYPoints();
+        int step = getPointsStep(bounds, drawingRect);
+        int polylineCapacity = getPolylineCapacity(bounds);
+        for (int i = 0; i < yPoints.size(); i++) {
+            ChartPointsData<Y> pointsData = yPoints.get(i);
+            DrawingData<Y> drawingData = drawingDataList.get(i);
             if (!drawingData.isVisible()) continue;
 
-            buildLines(drawingData.mLines, pointsData.getPoints(), mLineBounds.get(pointsData.getId()), drawingRect);
+            mLinesCoordinatesCount = buildPolyline(drawingData.ensureLinesCapacity(polylineCapacity), pointsData,
+                    mLineBounds.get(i), drawingRect, step);
         }
     }
 
@@ -58,73 +69,61 @@ public class ChartScaledLinesDrawer<X extends ChartCoordinate, Y extends ChartCo
     public void updateBounds(ChartBounds<X, Y> currentBounds, ChartBounds<X, Y> targetBounds) {
         updateBoundsInternal(targetBounds);
 
+        List<ChartPointsData<Y>> yPoints = getData().getYPoints();
         if (!mAnimateBoundsChanges) {
             // Just Recalculate Y bounds for each points
-            for (ChartPointsData<Y> pointsData : getData().getYPoints()) {
-                Pair<Integer, Integer> boundsIndexes = ChartPointsData.calculateMinMaxIndexes(pointsData, targetBounds.getMinXIndex(), targetBounds.getMaxXIndex());
-                Y minY = pointsData.getPoints().get(boundsIndexes.first);
-                Y maxY = pointsData.getPoints().get(boundsIndexes.second);
-                ChartBounds<X, Y> localTargetBounds = new ChartBounds<>(targetBounds);
-                localTargetBounds.setMinY(minY);
-                localTargetBounds.setMaxY(maxY);
-                mLineBounds.put(pointsData.getId(), localTargetBounds);
+            for (int i = 0; i < yPoints.size(); i++) {
+                ChartPointsData<Y> pointsData = yPoints.get(i);
+                calculateLineBounds(pointsData, targetBounds, mLineBounds.get(i));
             }
             return;
         }
 
         // Recalculate Y bounds for each points
-        for (ChartPointsData<Y> pointsData : getData().getYPoints()) {
+        for (int i = 0; i < yPoints.size(); i++) {
+            ChartPointsData<Y> pointsData = yPoints.get(i);
             // Update X values for all line bounds
-            ChartBounds<X, Y> localBounds = mLineBounds.get(pointsData.getId());
+            ChartBounds<X, Y> localBounds = mLineBounds.get(i);
             localBounds.setMinXIndex(targetBounds.getMinXIndex());
             localBounds.setMaxXIndex(targetBounds.getMaxXIndex());
 
             // Skip invisible lines
-            DrawingData<Y> drawingData = findDrawingData(pointsData.getId());
+            DrawingData<Y> drawingData = drawingDataList.get(i);
             if (!drawingData.isVisible()) continue;
 
             // Calculate Y bounds for specific line
-            Pair<Integer, Integer> boundsIndexes = ChartPointsData.calculateMinMaxIndexes(pointsData, targetBounds.getMinXIndex(), targetBounds.getMaxXIndex());
-            Y minY = pointsData.getPoints().get(boundsIndexes.first);
-            Y maxY = pointsData.getPoints().get(boundsIndexes.second);
-            ChartBounds<X, Y> localTargetBounds = new ChartBounds<>(localBounds);
-            localTargetBounds.setMinY(minY);
-            localTargetBounds.setMaxY(maxY);
-
-            BoundsUpdateAnimator<X, Y> boundsAnimHandler = mBoundsAnimHandlers.get(pointsData.getId());
-            if (boundsAnimHandler != null) {
-                if (boundsAnimHandler.isTargetTheSame(localTargetBounds)) {
-                    // No need to update y bounds animator already running to move to same target
-                    continue;
-                } else {
-                    long passedTime = System.currentTimeMillis() - boundsAnimHandler.getStartTime() + 40;
-                    float progress = passedTime / (float) boundsAnimHandler.getDuration();
-                    boundsAnimHandler.update(progress);
-                    // Use currently animated bounds
-                    localBounds.setMinY(boundsAnimHandler.getCurrentYBounds().first);
-                    localBounds.setMaxY(boundsAnimHandler.getCurrentYBounds().second);
-                    // Cancel previously started animator
-                    boundsAnimHandler.cancel();
-                }
+            if (mLocalTargetBounds == null) {
+                mLocalTargetBounds = new ChartBounds<>(localBounds);
             }
-            boundsAnimHandler = new BoundsUpdateAnimator<>(localBounds, localTargetBounds, (bounds, updateProgress) -> {
-                mLineBounds.get(pointsData.getId()).setMinY(bounds.first);
-                mLineBounds.get(pointsData.getId()).setMaxY(bounds.second);
-                mChartView.invalidate();
-                invalidate();
-            });
-            mBoundsAnimHandlers.put(pointsData.getId(), boundsAnimHandler);
-            boundsAnimHandler.start(getAnimDuration(), new AnimatorListenerAdapter() {
-                @Override
-                public void onAnimationEnd(Animator animation) {
-                    mBoundsAnimHandlers.remove(pointsData.getId());
-                }
-            });
+            calculateLineBounds(pointsData, localBounds, mLocalTargetBounds);
+
+            BoundsUpdateAnimator<X, Y> boundsAnimHandler = mBoundsAnimHandlers.get(i);
+            if (boundsAnimHandler == null) {
+                ChartBounds<X, Y> lineBounds = localBounds;
+                boundsAnimHandler = new BoundsUpdateAnimator<>(mChartView.getAnimationScheduler(), yBounds -> {
+                    lineBounds.setMinY(yBounds.first);
+                    lineBounds.setMaxY(yBounds.second);
+                    invalidate();
+                });
+                mBoundsAnimHandlers.set(i, boundsAnimHandler);
+            }
+            boundsAnimHandler.setDuration(getAnimDuration());
+            // Running animation just changes its target
+            boundsAnimHandler.animateTo(localBounds, mLocalTargetBounds);
         }
     }
 
+    /**
+     * Writes x bounds and min max Y values of the specified points within x bounds to the result bounds
+     */
+    private void calculateLineBounds(ChartPointsData<Y> pointsData, ChartBounds<X, Y> bounds, ChartBounds<X, Y> result) {
+        ChartPointsData.calculateMinMaxIndexes(pointsData, bounds.getMinXIndex(), bounds.getMaxXIndex(), mMinMaxIndexes);
+        List<Y> points = pointsData.getPoints();
+        result.update(bounds.getMinXIndex(), bounds.getMaxXIndex(), points.get(mMinMaxIndexes[0]), points.get(mMinMaxIndexes[1]));
+    }
+
     @Override
-    ChartBounds<X, Y> getSelectedPointsBounds(String pointsId) {
-        return mLineBounds.get(pointsId);
+    ChartBounds<X, Y> getSelectedPointsBounds(int pointsIndex) {
+        return mLineBounds.get(pointsIndex);
     }
 }
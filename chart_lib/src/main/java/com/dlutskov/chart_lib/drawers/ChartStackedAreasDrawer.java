@@ -0,0 +1,148 @@
+package com.dlutskov.chart_lib.drawers;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import com.dlutskov.chart_lib.ChartBounds;
+import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.ChartStackedSums;
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.utils.ChartUtils;
+
+import java.util.Set;
+
+/**
+ * Draws absolute values of the stacked lines as areas placed one above another.
+ * Cumulative sums are taken from the {@link ChartStackedSums} of the data, which are calculated once for the set of
+ * visible lines and shared with the stacked bounds calculations, so rebuild on pan only transforms cached sums to the screen.
+ * Sums are normalized to the displayed bounds on each rebuild, see {@link ChartStackedRatios}
+ * @param <X> type of x axis chart coordinates
+ * @param <Y> type of Y axis chart coordinates
+ */
+public class ChartStackedAreasDrawer<X extends ChartCoordinate, Y extends ChartCoordinate>
+        extends ChartPointsDrawer<X, Y, ChartStackedAreasDrawer.DrawingData<Y>> {
+
+    private final Paint mSelectedPointsDividerPaint;
+
+    private Y mZero;
+
+    private final ChartStackedRatios<Y> mStackedRatios = new ChartStackedRatios<>();
+
+    public ChartStackedAreasDrawer(ChartView<X, Y> chartView) {
+        super(chartView);
+
+        mSelectedPointsDividerPaint = new Paint();
+        mSelectedPointsDividerPaint.setAntiAlias(true);
+        mSelectedPointsDividerPaint.setStyle(Paint.Style.STROKE);
+        mSelectedPointsDividerPaint.setStrokeWidth(ChartUtils.getPixelForDp(chartView.getContext(), 1));
+    }
+
+    @Override
+    public void updateData(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Set<String> hiddenChartPoints) {
+        super.updateData(data, bounds, hiddenChartPoints);
+        // Drawing data list is in the same order as Y points, as the sums are indexed by the lines indexes
+        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
+            DrawingData<Y> drawingData = new DrawingData<>(pointsData);
+            boolean isVisible = !hiddenChartPoints.contains(pointsData.getId());
+            drawingData.setVisible(isVisible);
+            drawingData.setAlpha(isVisible ? 255 : 0);
+            this.drawingDataList.add(drawingData);
+        }
+    }
+
+    @Override
+    protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {
+        if (mZero == null) {
+            mZero = (Y) bounds.getMinY().zero();
+        }
+        float[] weights = calculateVisibilityWeights();
+        ChartStackedSums.Layers<Y> layers = data.getStackedSums().getLayers(weights);
+
+        int minXIndex = bounds.getMinXIndex();
+        int pointsCount = bounds.getMaxXIndex() - minXIndex + 1;
+        for (int dataIndex = 0; dataIndex < drawingDataList.size(); dataIndex++) {
+            DrawingData<Y> drawingData = drawingDataList.get(dataIndex);
+            // Meshes of hidden lines are not built, so they don't take memory until the lines are shown
+            if (drawingData.isVisible()) {
+                drawingData.mesh.reset(pointsCount);
+            }
+        }
+        // Lines are stacked from zero. Each area is placed between the tops of the line and of the previous one
+        mStackedRatios.reset(pointsCount, bounds.calcYCoordinateRatio(mZero));
+        float left = drawingRect.left;
+        float xScale = ChartUtils.calcXScale(bounds, drawingRect);
+        float bottom = drawingRect.bottom;
+        float height = drawingRect.height();
+        for (int dataIndex = 0; dataIndex < drawingDataList.size(); dataIndex++) {
+            if (!layers.isVisible(dataIndex)) continue;
+
+            mStackedRatios.addLine(layers.getSums(dataIndex), minXIndex, bounds.getMinY(), bounds.getMaxY(), weights[dataIndex]);
+            float[] tops = mStackedRatios.getTops();
+            float[] bottoms = mStackedRatios.getBottoms();
+            ChartAreaMesh mesh = drawingDataList.get(dataIndex).mesh;
+            for (int i = 0; i < pointsCount; i++) {
+                mesh.addPoint(left + i * xScale, bottom - tops[i] * height, bottom - bottoms[i] * height);
+            }
+        }
+    }
+
+    @Override
+    public void releaseBuffers() {
+        super.releaseBuffers();
+        mStackedRatios.release();
+    }
+
+    @Override
+    protected void onVisibilityAnimatorUpdate(DrawingData<Y> pointsData, int alpha) {
+        super.onVisibilityAnimatorUpdate(pointsData, alpha);
+        invalidate();
+    }
+
+    @Override
+    public void onDraw(ChartCanvas canvas, Rect drawingRect) {
+        for (int i = 0; i < drawingDataList.size(); i++) {
+            DrawingData<Y> data = drawingDataList.get(i);
+            if (data.isVisible()) {
+                data.paint.setAlpha(mPointsAlpha);
+                data.mesh.draw(canvas, data.paint);
+            }
+        }
+    }
+
+    @Override
+    protected void onDrawOverlay(ChartCanvas canvas, Rect drawingRect) {
+        // Draw selected point divider
+        if (mSelectedPointIndex > 0 && mSelectedPointAlpha > 0) {
+            float xPointsPosition = ChartUtils.calcXCoordinate(getBounds(), drawingRect, mSelectedPointIndex);
+            mSelectedPointsDividerPaint.setAlpha(Math.min(MAX_GRID_ALPHA, mSelectedPointAlpha));
+            canvas.drawLine(xPointsPosition, drawingRect.top, xPointsPosition, drawingRect.bottom, mSelectedPointsDividerPaint);
+        }
+    }
+
+    public void setSelectedPointsDividerColor(int color) {
+        mSelectedPointsDividerPaint.setColor(color);
+    }
+
+    static class DrawingData<C extends ChartCoordinate> extends ChartPointsDrawer.DrawingData<C> {
+
+        final ChartAreaMesh mesh;
+
+        DrawingData(ChartPointsData<C> pointsData) {
+            super(pointsData);
+
+            paint.setStyle(Paint.Style.FILL);
+
+            mesh = new ChartAreaMesh();
+        }
+
+        @Override
+        void releaseBuffers() {
+            mesh.release();
+        }
+
+    }
+
+}
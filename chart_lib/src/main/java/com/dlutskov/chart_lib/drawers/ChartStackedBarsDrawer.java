@@ -5,55 +5,129 @@ import android.graphics.Rect;
 import com.dlutskov.chart_lib.ChartBounds;
 import com.dlutskov.chart_lib.ChartView;
 import com.dlutskov.chart_lib.data.ChartLinesData;
-import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.ChartStackedSums;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 import com.dlutskov.chart_lib.utils.ChartUtils;
 
+/**
+ * Draws bars of the stacked lines placed one above another.
+ * Stack offsets of each x point are taken from the cached {@link ChartStackedSums} of the data, so rebuild
+ * during pan or visibility animation only transforms the cached sums to the screen without summing lines values.
+ * Sums are normalized to the displayed bounds on each rebuild, see {@link ChartStackedRatios}
+ * @param <X> type of x axis chart coordinates
+ * @param <Y> type of Y axis chart coordinates
+ */
 public class ChartStackedBarsDrawer <X extends ChartCoordinate, Y extends ChartCoordinate> extends ChartBarsDrawer<X, Y> {
 
+    private Y mZero;
+
+    private final ChartStackedRatios<Y> mStackedRatios = new ChartStackedRatios<>();
+
     public ChartStackedBarsDrawer(ChartView chartView) {
         super(chartView);
     }
 
     @Override
     protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {
+        int columnWidth = setColumnWidths(bounds, drawingRect);
+
+        float[] weights = calculateVisibilityWeights();
+        ChartStackedSums.Layers<Y> layers = data.getStackedSums().getLayers(weights);
+
+        // Bars are stacked from zero within the bounds
+        int pointsCount = bounds.getMaxXIndex() - bounds.getMinXIndex();
+        float bottomRatio = bounds.calcYCoordinateRatio(getZero(bounds));
+        buildStackedBars(layers, weights, bounds, drawingRect, columnWidth, pointsCount, bounds.getMinY(),
+                bounds.getMaxY(), bottomRatio, null);
+    }
+
+    @Override
+    public void releaseBuffers() {
+        super.releaseBuffers();
+        mStackedRatios.release();
+    }
+
+    Y getZero(ChartBounds<X, Y> bounds) {
+        if (mZero == null) {
+            mZero = (Y) bounds.getMinY().zero();
+        }
+        return mZero;
+    }
+
+    /**
+     * Sets stroke width of all lines to fill the column of each x point and prepares lines of the visible ones
+     * @return column width
+     */
+    int setColumnWidths(ChartBounds<X, Y> bounds, Rect drawingRect) {
         int pointsCount = bounds.getMaxXIndex() - bounds.getMinXIndex();
         int columnWidth = drawingRect.width() / pointsCount;
         // Adjust columnWidth to get rid of gaps between bars
         int columnWidthAdjustment = (drawingRect.width() % pointsCount) / pointsCount + 2;
-
-        // Set column widths
-        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
-            DrawingData<Y> drawingData = findDrawingData(pointsData.getId());
+        int linesCapacity = getLinesCapacity(bounds);
+        for (int i = 0; i < drawingDataList.size(); i++) {
+            DrawingData<Y> drawingData = drawingDataList.get(i);
             drawingData.paint.setStrokeWidth(columnWidth + columnWidthAdjustment);
             drawingData.paint.setAlpha(mPointsAlpha);
+            if (drawingData.isVisible()) {
+                drawingData.ensureLinesCapacity(linesCapacity);
+            }
         }
-
-        int lineIndex = 0;
-        for (int i = bounds.getMinXIndex(); i < bounds.getMaxXIndex(); i++) {
-            drawStackedBars(data, bounds, drawingRect, columnWidth, lineIndex, i);
-            lineIndex += 4;
-        }
+        return columnWidth;
     }
 
-    void drawStackedBars(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect,
-                                   int columnWidth, int lineIndex, int pointIndex) {
-        float prevY = drawingRect.bottom;
-        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
-            DrawingData<Y> drawingData = findDrawingData(pointsData.getId());
+    /**
+     * Builds bars of all visible lines at each x point from the bounds min x index
+     * @param min - value of the stack ratio 0
+     * @param max - value of the stack ratio 1
+     * @param bottomRatio - ratio of the stack bottom
+     * @param totals - ratio which fills the whole height at each x point. If null - ratio 1 fills the whole height
+     */
+    void buildStackedBars(ChartStackedSums.Layers<Y> layers, float[] weights, ChartBounds<X, Y> bounds, Rect drawingRect,
+                          int columnWidth, int pointsCount, Y min, Y max, float bottomRatio, float[] totals) {
+        int minXIndex = bounds.getMinXIndex();
+        float xScale = ChartUtils.calcXScale(bounds, drawingRect);
+        float xOffset = drawingRect.left + columnWidth / 2;
+        float bottom = drawingRect.bottom;
+        float height = drawingRect.height();
+        mStackedRatios.reset(pointsCount, bottomRatio);
+        // Drawing data list is in the same order as Y points, as the sums are indexed by the lines indexes
+        for (int dataIndex = 0; dataIndex < drawingDataList.size(); dataIndex++) {
+            DrawingData<Y> drawingData = drawingDataList.get(dataIndex);
             if (!drawingData.isVisible()) continue;
 
-            float x = ChartUtils.calcXCoordinate(bounds, drawingRect, pointIndex);
-            float y = ChartUtils.calcYCoordinate(bounds, drawingRect, pointsData.getPoints().get(pointIndex));
-            float appearingRatio = drawingData.getAlpha() / (float) 255; // Reduce bar height with reducing bar visibility
-            float newY = prevY - (drawingRect.bottom - y) * appearingRatio;
-            drawingData.mLines[lineIndex] = x + columnWidth / 2;
-            drawingData.mLines[lineIndex + 1] = prevY;
-            drawingData.mLines[lineIndex + 2] = x + columnWidth / 2;
-            drawingData.mLines[lineIndex + 3] = newY;
+            // Line which starts appearing isn't included into the sums yet - it's built with zero height
+            boolean isStacked = layers.isVisible(dataIndex);
+            if (isStacked) {
+                mStackedRatios.addLine(layers.getSums(dataIndex), minXIndex, min, max, weights[dataIndex]);
+            }
+            float[] tops = mStackedRatios.getTops();
+            float[] bottoms = isStacked ? mStackedRatios.getBottoms() : tops;
+            float[] lines = drawingData.mLines;
+            int lineIndex = 0;
+            for (int i = 0; i < pointsCount; i++) {
+                float x = xOffset + i * xScale;
+                float scale = totals == null ? height : totals[i] > 0 ? height / totals[i] : 0;
+                lines[lineIndex++] = x;
+                lines[lineIndex++] = bottom - bottoms[i] * scale;
+                lines[lineIndex++] = x;
+                lines[lineIndex++] = bottom - tops[i] * scale;
+            }
+        }
+    }
 
-            prevY = newY;
+    /**
+     * Stacks all visible lines at each x point from the bounds min x index
+     * @param totals - array where the top ratio of the stack is written for each x point
+     */
+    void calculateStackedTotals(ChartStackedSums.Layers<Y> layers, float[] weights, int minXIndex, int pointsCount,
+                                Y min, Y max, float[] totals) {
+        mStackedRatios.reset(pointsCount, 0);
+        for (int dataIndex = 0; dataIndex <= layers.getTopLineIndex(); dataIndex++) {
+            if (layers.isVisible(dataIndex)) {
+                mStackedRatios.addLine(layers.getSums(dataIndex), minXIndex, min, max, weights[dataIndex]);
+            }
         }
+        System.arraycopy(mStackedRatios.getTops(), 0, totals, 0, pointsCount);
     }
 
 }
@@ -0,0 +1,102 @@
+package com.dlutskov.chart_lib.drawers;
+
+import com.dlutskov.chart_lib.data.ChartStackedSums;
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.utils.ChartFloatBufferPool;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stack of the lines at each x point as ratios between the specified min and max values (0 - min, 1 - max).
+ * Ratios are calculated on each build from the exact {@link ChartStackedSums} by the kernel of the points type,
+ * so they stay exact when the displayed range is a tiny part of the sums. Lines are added from the bottom one,
+ * each line is weighted by its visibility while the visibility is animated.
+ * Arrays are obtained from the {@link ChartFloatBufferPool} by the first build and reused by the next builds
+ * @param <Y> type of Y axis chart coordinates
+ */
+class ChartStackedRatios<Y extends ChartCoordinate> {
+
+    // Top of the last added line and the previous top, which is the bottom of the last added line
+    private float[] mTops = ChartFloatBufferPool.EMPTY;
+    private float[] mBottoms = ChartFloatBufferPool.EMPTY;
+    // Ratios of the cached sums of the last added line
+    private float[] mSums = ChartFloatBufferPool.EMPTY;
+    // Parts of the cached sums which are hidden by the animated lines. Tops are the sums without the hidden parts,
+    // so they are exactly the sums ratios when all lines are fully visible
+    private float[] mHiddenParts = ChartFloatBufferPool.EMPTY;
+    private int mPointsCount;
+
+    /**
+     * Clears the stack before adding lines of the new build
+     * @param pointsCount - count of x points of the stack
+     * @param bottom - ratio of the stack bottom
+     */
+    void reset(int pointsCount, float bottom) {
+        if (mTops.length < pointsCount) {
+            release();
+            ChartFloatBufferPool pool = ChartFloatBufferPool.getInstance();
+            mTops = pool.obtain(pointsCount);
+            mBottoms = pool.obtain(pointsCount);
+            mSums = pool.obtain(pointsCount);
+            mHiddenParts = pool.obtain(pointsCount);
+        }
+        Arrays.fill(mTops, 0, pointsCount, bottom);
+        Arrays.fill(mSums, 0, pointsCount, bottom);
+        Arrays.fill(mHiddenParts, 0, pointsCount, 0);
+        mPointsCount = pointsCount;
+    }
+
+    /**
+     * Adds the next line over the previously added ones
+     * @param sums - exact cumulative sums of the line, which are taken from the start index for each x point
+     * @param weight - visibility of the line from 0 to 1
+     */
+    void addLine(List<Y> sums, int startIndex, Y min, Y max, float weight) {
+        // Bottoms receive the sums ratios and are replaced by the previous tops within the same loop
+        float[] tops = mTops;
+        float[] bottoms = mBottoms;
+        float[] prevSums = mSums;
+        float[] hiddenParts = mHiddenParts;
+        min.getKernel().calcRatios(sums, startIndex, startIndex + mPointsCount - 1, min, max, bottoms);
+        float hiddenRatio = 1 - weight;
+        for (int i = 0; i < mPointsCount; i++) {
+            float sum = bottoms[i];
+            hiddenParts[i] += (sum - prevSums[i]) * hiddenRatio;
+            prevSums[i] = sum;
+            bottoms[i] = tops[i];
+            tops[i] = sum - hiddenParts[i];
+        }
+    }
+
+    /**
+     * @return top ratios of the last added line by the x point index relative to the start index
+     */
+    float[] getTops() {
+        return mTops;
+    }
+
+    /**
+     * @return bottom ratios of the last added line by the x point index relative to the start index
+     */
+    float[] getBottoms() {
+        return mBottoms;
+    }
+
+    /**
+     * Returns arrays to the pool. Stack is empty until the next {@link #reset(int, float)}
+     */
+    void release() {
+        ChartFloatBufferPool pool = ChartFloatBufferPool.getInstance();
+        pool.release(mTops);
+        pool.release(mBottoms);
+        pool.release(mSums);
+        pool.release(mHiddenParts);
+        mTops = ChartFloatBufferPool.EMPTY;
+        mBottoms = ChartFloatBufferPool.EMPTY;
+        mSums = ChartFloatBufferPool.EMPTY;
+        mHiddenParts = ChartFloatBufferPool.EMPTY;
+        mPointsCount = 0;
+    }
+
+}
@@ -1,16 +1,14 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
 
 import com.dlutskov.chart_lib.ChartBounds;
+import com.dlutskov.chart_lib.animation.ChartAnimation;
 import com.dlutskov.chart_lib.utils.ChartUtils;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 
@@ -31,6 +29,13 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
     // List of handlers which contains animated axis labels which need to be appeared or disappeared
     private List<AnimatedCellsHandler> mAnimatedCellsHandlers = new ArrayList<>();
 
+    // Labels and handlers which are not used anymore. Reused to not allocate them while the chart is scrolled
+    private final List<LabelCell> mLabelCellsPool = new ArrayList<>();
+    private final List<AnimatedCellsHandler> mAnimatedCellsHandlersPool = new ArrayList<>();
+
+    // Cells which were added or removed during the last rebuild
+    private final List<LabelCell> mChangedCells = new ArrayList<>();
+
     private Paint mBackgroundPaint = new Paint();
 
     private long mFadingAnimationDuration = ChartUtils.DEFAULT_CHART_CHANGES_ANIMATION_DURATION;
@@ -46,7 +51,7 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
     @Override
     public void updateData(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Set<String> hiddenChartPoints) {
         super.updateData(data, bounds, hiddenChartPoints);
-        mLabelCells.clear();
+        recycleLabelCells();
     }
 
     @Override
@@ -66,8 +71,8 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
         int currentCellSize = mLabelCells.size() < 2 ? actualCellSize : mLabelCells.get(1).position - mLabelCells.get(0).position;
 
         // Call rebuild for animated labels also
-        for (AnimatedCellsHandler animatorHandler : mAnimatedCellsHandlers) {
-            animatorHandler.rebuild(bounds, drawingRect);
+        for (int i = 0; i < mAnimatedCellsHandlers.size(); i++) {
+            mAnimatedCellsHandlers.get(i).rebuild(bounds, drawingRect);
         }
 
         // Remove all cells which are out of bounds
@@ -77,15 +82,15 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
             float right = left + drawnLabel.textWidth;
             if (right < drawingRect.left || (left - currentCellSize < 0 && left < drawingRect.left)
                     || left > drawingRect.right || (right + currentCellSize > points.size() - 1 && right > drawingRect.right)) {
-                mLabelCells.remove(drawnLabel);
+                mLabelCells.remove(i);
+                recycleLabelCell(drawnLabel);
             }
         }
 
         // Add first cell from the right side if there are no cells yet
         if (mLabelCells.isEmpty()) {
             int position = bounds.getMaxXIndex() - currentCellSize;
-            String name = isExpandedPoints ? points.get(position).getExpandedName() : points.get(position).getAxisName();
-            LabelCell label = new LabelCell(name, position, mLabelPaint.measureText(name));
+            LabelCell label = obtainLabelCell(points.get(position), position);
             mLabelCells.add(label);
         }
 
@@ -96,8 +101,7 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
             if (leftCellPosition < bounds.getMinXIndex() || nextCellPosition < 0) {
                 break;
             }
-            String name = isExpandedPoints ? points.get(nextCellPosition).getExpandedName() : points.get(nextCellPosition).getAxisName();
-            LabelCell label = new LabelCell(name, nextCellPosition, mLabelPaint.measureText(name));
+            LabelCell label = obtainLabelCell(points.get(nextCellPosition), nextCellPosition);
             mLabelCells.add(0, label);
         }
 
@@ -108,14 +112,14 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
             if (nextCellPosition > bounds.getMaxXIndex() || nextCellPosition + actualCellSize > points.size() - 1) {
                 break;
             }
-            String name = isExpandedPoints ? points.get(nextCellPosition).getExpandedName() : points.get(nextCellPosition).getAxisName();
-            LabelCell label = new LabelCell(name, nextCellPosition, mLabelPaint.measureText(name));
+            LabelCell label = obtainLabelCell(points.get(nextCellPosition), nextCellPosition);
             mLabelCells.add(label);
         }
 
         // Loop through added cells to check distance between them
         int labelCellIndex = mLabelCells.size() - 1;
-        List<LabelCell> animatedCells = new ArrayList<>();
+        List<LabelCell> animatedCells = mChangedCells;
+        animatedCells.clear();
         boolean newLabelsAppeared = false;
         boolean labelsDisappeared = false;
         while (labelCellIndex > 0) {
@@ -130,8 +134,7 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
             } else if (!labelsDisappeared && currentCell.position - nextCell.position > actualCellSize * 1.8f) {
                 // Distance between cells is enough to add new cell between
                 int labelPosition = currentCell.position + (nextCell.position - currentCell.position) / 2;
-                String name = isExpandedPoints ? points.get(labelPosition).getExpandedName() : points.get(labelPosition).getAxisName();
-                LabelCell label = new LabelCell(name, labelPosition, mLabelPaint.measureText(name));
+                LabelCell label = obtainLabelCell(points.get(labelPosition), labelPosition);
                 mLabelCells.add(labelCellIndex, label); // ?
                 animatedCells.add(label);
                 newLabelsAppeared = true;
@@ -142,15 +145,12 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
         }
 
         if (!animatedCells.isEmpty()) {
-            AnimatedCellsHandler animatedCellsHandler = new AnimatedCellsHandler(animatedCells, newLabelsAppeared);
+            AnimatedCellsHandler animatedCellsHandler = mAnimatedCellsHandlersPool.isEmpty()
+                    ? new AnimatedCellsHandler()
+                    : mAnimatedCellsHandlersPool.remove(mAnimatedCellsHandlersPool.size() - 1);
+            animatedCellsHandler.init(animatedCells, newLabelsAppeared);
             mAnimatedCellsHandlers.add(animatedCellsHandler);
-            animatedCellsHandler.startAnimator(mFadingAnimationDuration, new AnimatorListenerAdapter() {
-                @Override
-                public void onAnimationEnd(Animator animation) {
-                    super.onAnimationEnd(animation);
-                    mAnimatedCellsHandlers.remove(animatedCellsHandler);
-                }
-            });
+            animatedCellsHandler.startAnimator(mFadingAnimationDuration);
         }
 
         // Calculate coordinates for current labels
@@ -165,23 +165,34 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
     }
 
     @Override
-    public void onDraw(Canvas canvas, Rect drawingRect) {}
+    public boolean isOverlay() {
+        // Labels are below the points, so they are redrawn with the overlay and their fades don't redraw the points
+        return true;
+    }
+
+    @Override
+    public void onDraw(ChartCanvas canvas, Rect drawingRect) {}
 
     @Override
-    public void onAfterDraw(Canvas canvas, Rect drawingRect) {
+    public void onAfterDraw(ChartCanvas canvas, Rect drawingRect) {
         super.onAfterDraw(canvas, drawingRect);
         // Draw background
         float rectPaddingTop = (canvas.getHeight() - drawingRect.bottom) * 0.1f;
         canvas.drawRect(drawingRect.left, drawingRect.bottom + rectPaddingTop, drawingRect.right, canvas.getHeight(), mBackgroundPaint);
+        if (isReducedQuality()) {
+            // Labels are skipped while the chart is in motion
+            return;
+        }
 
         float y = canvas.getHeight() - mTextSize / 2;
-        for (LabelCell drawnLabel : mLabelCells) {
+        for (int i = 0; i < mLabelCells.size(); i++) {
+            LabelCell drawnLabel = mLabelCells.get(i);
             int alpha = Math.min(mAlpha, drawnLabel.alpha);
             mLabelPaint.setAlpha(Math.min(alpha, MAX_LABEL_ALPHA));
             canvas.drawText(drawnLabel.text, drawnLabel.x, y, mLabelPaint);
         }
-        for (AnimatedCellsHandler animatedCellsHandler : mAnimatedCellsHandlers) {
-            animatedCellsHandler.draw(canvas, y);
+        for (int i = 0; i < mAnimatedCellsHandlers.size(); i++) {
+            mAnimatedCellsHandlers.get(i).draw(canvas, y);
         }
     }
 
@@ -193,23 +204,47 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
     public void setExpandedPoints(boolean expandedPoints) {
         if (isExpandedPoints != expandedPoints) {
             isExpandedPoints = expandedPoints;
-            mLabelCells.clear();
+            recycleLabelCells();
             invalidate();
             mChartView.invalidate();
         }
     }
 
+    private LabelCell obtainLabelCell(X point, int position) {
+        LabelCell label = mLabelCellsPool.isEmpty() ? new LabelCell() : mLabelCellsPool.remove(mLabelCellsPool.size() - 1);
+        String name = isExpandedPoints ? point.getExpandedName() : point.getAxisName();
+        label.set(name, position, mLabelPaint.measureText(name));
+        return label;
+    }
+
+    private void recycleLabelCells() {
+        for (int i = 0; i < mLabelCells.size(); i++) {
+            recycleLabelCell(mLabelCells.get(i));
+        }
+        mLabelCells.clear();
+    }
+
+    // Cells which are still animated will be recycled by their handlers
+    private void recycleLabelCell(LabelCell label) {
+        if (label.animationsCount == 0) {
+            mLabelCellsPool.add(label);
+        }
+    }
+
     // Contains data about axis label which is drawn on the canvas
     private static class LabelCell {
-        final String text;
-        final int position;
-        final float textWidth;
+        String text;
+        int position;
+        float textWidth;
         float x;
         int alpha;
-        LabelCell(String text, int position, float textWidth) {
+        // Count of the handlers which animate the cell
+        int animationsCount;
+        void set(String text, int position, float textWidth) {
             this.text = text;
             this.position = position;
             this.textWidth = textWidth;
+            this.x = 0;
             this.alpha = 255;
         }
     }
@@ -217,33 +252,35 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
     /**
      * Contains animated axis labels which need to be appeared or disappeared according to visible axis size changes
      */
-    private class AnimatedCellsHandler implements ValueAnimator.AnimatorUpdateListener {
+    private class AnimatedCellsHandler implements ChartAnimation.Listener {
 
-        private final List<LabelCell> mAnimatedCells;
+        private final List<LabelCell> mAnimatedCells = new ArrayList<>();
 
-        private ValueAnimator mAnimator;
+        private boolean mAppear;
 
-        AnimatedCellsHandler(List<LabelCell> cells, boolean appear) {
-           mAnimatedCells = cells;
-           mAnimator = ValueAnimator.ofInt(appear ? 0 : 255, appear ? 255 : 0);
-           mAnimator.addUpdateListener(this);
+        void init(List<LabelCell> cells, boolean appear) {
+            mAnimatedCells.addAll(cells);
+            for (int i = 0; i < mAnimatedCells.size(); i++) {
+                mAnimatedCells.get(i).animationsCount++;
+            }
+            mAppear = appear;
         }
 
-        void startAnimator(long duration, Animator.AnimatorListener animatorListener) {
-            mAnimator.setDuration(duration);
-            mAnimator.addListener(animatorListener);
-            mAnimator.start();
+        void startAnimator(long duration) {
+            mChartView.getAnimationScheduler().start(duration, null, this, true);
         }
 
         void rebuild(ChartBounds<X, Y> bounds, Rect drawingRect) {
             // Calculate coordinates for current labels
-            for (LabelCell label : mAnimatedCells) {
+            for (int i = 0; i < mAnimatedCells.size(); i++) {
+                LabelCell label = mAnimatedCells.get(i);
                 label.x = ChartUtils.calcXCoordinate(bounds, drawingRect, label.position);
             }
         }
 
-        void draw(Canvas canvas, float y) {
-            for (LabelCell labelCell : mAnimatedCells) {
+        void draw(ChartCanvas canvas, float y) {
+            for (int i = 0; i < mAnimatedCells.size(); i++) {
+                LabelCell labelCell = mAnimatedCells.get(i);
                 int alpha = Math.min(mAlpha, labelCell.alpha);
                 mLabelPaint.setAlpha(Math.min(alpha, MAX_LABEL_ALPHA));
                 canvas.drawText(labelCell.text, labelCell.x, y, mLabelPaint);
@@ -251,11 +288,26 @@ public class ChartXAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
         }
 
         @Override
-        public void onAnimationUpdate(ValueAnimator animation) {
-            for (LabelCell labelCell : mAnimatedCells) {
-                labelCell.alpha = (Integer) animation.getAnimatedValue();
+        public void onAnimationUpdate(ChartAnimation animation, float progress) {
+            int alpha = (int) (mAppear ? 255 * progress : 255 * (1 - progress));
+            for (int i = 0; i < mAnimatedCells.size(); i++) {
+                mAnimatedCells.get(i).alpha = alpha;
             }
-            mChartView.invalidate();
+        }
+
+        @Override
+        public void onAnimationEnd(ChartAnimation animation, boolean cancelled) {
+            mAnimatedCellsHandlers.remove(this);
+            for (int i = 0; i < mAnimatedCells.size(); i++) {
+                LabelCell labelCell = mAnimatedCells.get(i);
+                labelCell.animationsCount--;
+                // Appeared cells are kept while they are drawn as current labels
+                if (!mLabelCells.contains(labelCell)) {
+                    recycleLabelCell(labelCell);
+                }
+            }
+            mAnimatedCells.clear();
+            mAnimatedCellsHandlersPool.add(this);
         }
 
     }
@@ -1,20 +1,17 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
 
 import com.dlutskov.chart_lib.ChartBounds;
+import com.dlutskov.chart_lib.animation.ChartAnimation;
 import com.dlutskov.chart_lib.data.ChartPointsData;
 import com.dlutskov.chart_lib.utils.ChartUtils;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
-import com.dlutskov.chart_lib.utils.Pair;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -36,6 +33,9 @@ public class ChartYAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
     // Part of drawing rect height which will be used for translate animations
     private static final float TRANSITION_RATIO = 0.25f;
 
+    // Max count of the cached labels texts
+    private static final int LABEL_TEXTS_CACHE_SIZE = 64;
+
     // Displaying on the drawing area sides constants
     public static final int SIDE_LEFT = -1;
     public static final int SIDE_RIGHT = 1;
@@ -43,8 +43,25 @@ public class ChartYAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
     private List<LabelsAnimatorHandler> mLabelsDisappearAnimators = new ArrayList<>();
     private LabelsAnimatorHandler mLabelsAppearAnimator;
 
+    // Finished handlers which are reused for the next bounds changes
+    private final List<LabelsAnimatorHandler> mLabelsAnimatorsPool = new ArrayList<>();
+
+    // Texts of the recently built labels. Labels are rebuilt on each Y bounds change, and while the chart is scrolled
+    // the same values appear again and again - their texts are reused instead of formatting them each time
+    private final List<Y> mCachedTextsValues = new ArrayList<>();
+    private final List<String> mCachedTexts = new ArrayList<>();
+    private int mNextCachedTextIndex;
+
+    // Reusable values for the labels calculations
+    private Y mLabelsRange;
+    private Y mLabelsStep;
+
     private ChartBounds<X, Y> mLastBounds;
 
+    // Reusable bounds and result holder for scaled bounds calculations
+    private ChartBounds<X, Y> mScaledBounds;
+    private final int[] mMinMaxIndexes = new int[2];
+
     private Y mZero;
 
     // Dividers paint
@@ -68,7 +85,20 @@ public class ChartYAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
      */
     private String mScaledPointsId;
 
-    private ValueAnimator mAlphaAnimator;
+    private ChartAnimation mAlphaAnimation;
+    private int mAlphaAnimationFrom;
+    private int mAlphaAnimationTo;
+    private final ChartAnimation.Listener mAlphaAnimationListener = new ChartAnimation.Listener() {
+        @Override
+        public void onAnimationUpdate(ChartAnimation animation, float progress) {
+            setAlpha((int) (mAlphaAnimationFrom + (mAlphaAnimationTo - mAlphaAnimationFrom) * progress));
+        }
+
+        @Override
+        public void onAnimationEnd(ChartAnimation animation, boolean cancelled) {
+            mAlphaAnimation = null;
+        }
+    };
 
     private boolean mDrawGridOverPoints;
 
@@ -117,62 +147,106 @@ public class ChartYAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
 
         mLastBoundsAppearanceDirection = targetBounds.getMaxY().compareTo(currentBounds.getMaxY()) < 0 ? -1 : 1;
         updateBoundsInternal(targetBounds);
-        mLastBounds = targetBounds;
+        if (mLastBounds == null) {
+            mLastBounds = new ChartBounds<>(targetBounds);
+        } else {
+            mLastBounds.update(targetBounds);
+        }
     }
 
     private ChartBounds<X, Y> calculateScaledBounds(ChartBounds<X, Y> bounds, ChartLinesData<X, Y> data) {
         // Drawer is related to specific points - so need to calculate bounds only for this points
-        for (ChartPointsData<Y> pointsData : data.getYPoints()) {
-            if (pointsData.getId().equals(mScaledPointsId)) {
-                Pair<Integer, Integer> yBounds = ChartPointsData.calculateMinMaxIndexes(pointsData, bounds.getMinXIndex(), bounds.getMaxXIndex());
-                bounds = new ChartBounds<>(bounds);
-                bounds.setMinY(pointsData.getPoints().get(yBounds.first));
-                bounds.setMaxY(pointsData.getPoints().get(yBounds.second));
-                break;
-            }
+        int pointsIndex = data.getYPointsIndex(mScaledPointsId);
+        if (pointsIndex < 0) {
+            return bounds;
+        }
+        ChartPointsData<Y> pointsData = data.getYPoints().get(pointsIndex);
+        ChartPointsData.calculateMinMaxIndexes(pointsData, bounds.getMinXIndex(), bounds.getMaxXIndex(), mMinMaxIndexes);
+        if (mScaledBounds == null) {
+            mScaledBounds = new ChartBounds<>(bounds);
         }
-        return bounds;
+        List<Y> points = pointsData.getPoints();
+        mScaledBounds.update(bounds.getMinXIndex(), bounds.getMaxXIndex(),
+                points.get(mMinMaxIndexes[0]), points.get(mMinMaxIndexes[1]));
+        return mScaledBounds;
     }
 
     @Override
     protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {
         // Build current labels
         if (mLabelsAppearAnimator == null) {
-            mLabelsAppearAnimator = new LabelsAnimatorHandler(buildLabels(bounds, drawingRect), mLastBoundsAppearanceDirection, true);
-            mLabelsAppearAnimator.start(0, null);
+            mLabelsAppearAnimator = obtainLabelsAnimator(mLastBoundsAppearanceDirection, true);
+            buildLabels(bounds, drawingRect, mLabelsAppearAnimator.mLabels);
+            mLabelsAppearAnimator.start(0);
         } else {
             // Disappear previous labels
-            LabelsAnimatorHandler animatorHandler = new LabelsAnimatorHandler(mLabelsAppearAnimator.mLabels, mLastBoundsAppearanceDirection, false);
+            LabelsAnimatorHandler animatorHandler = obtainLabelsAnimator(mLastBoundsAppearanceDirection, false);
+            animatorHandler.swapLabels(mLabelsAppearAnimator);
             if (mLabelsDisappearAnimators.size() == MAX_DISAPPEARING_LABELS_SIZE) {
-                mLabelsDisappearAnimators.set(0, animatorHandler);
+                mLabelsDisappearAnimators.set(0, animatorHandler).cancel();
             } else {
                 mLabelsDisappearAnimators.add(animatorHandler);
             }
-            animatorHandler.start(mAnimDuration, new AnimatorListenerAdapter() {
-                @Override
-                public void onAnimationEnd(Animator animation) {
-                    super.onAnimationEnd(animation);
-                    mLabelsDisappearAnimators.remove(animatorHandler);
-                }
-            });
+            animatorHandler.start(mAnimDuration);
             // Appear new labels
             mLabelsAppearAnimator.cancel();
-            mLabelsAppearAnimator = new LabelsAnimatorHandler(buildLabels(bounds, drawingRect), 1, true);
-            mLabelsAppearAnimator.start(mAnimDuration, null);
+            mLabelsAppearAnimator.init(1, true);
+            buildLabels(bounds, drawingRect, mLabelsAppearAnimator.mLabels);
+            mLabelsAppearAnimator.start(mAnimDuration);
         }
     }
 
-    private List<DrawnLabel<Y>> buildLabels(ChartBounds<X, Y> bounds, Rect drawingRect) {
-        List<DrawnLabel<Y>> labels = new ArrayList<>();
+    private LabelsAnimatorHandler obtainLabelsAnimator(int direction, boolean appear) {
+        LabelsAnimatorHandler animatorHandler = mLabelsAnimatorsPool.isEmpty()
+                ? new LabelsAnimatorHandler()
+                : mLabelsAnimatorsPool.remove(mLabelsAnimatorsPool.size() - 1);
+        animatorHandler.init(direction, appear);
+        return animatorHandler;
+    }
 
+    /**
+     * Writes labels for the specified bounds to the labels list. Labels which are already in the list are reused
+     */
+    private void buildLabels(ChartBounds<X, Y> bounds, Rect drawingRect, List<DrawnLabel<Y>> labels) {
+        Y minY = bounds.getMinY();
+        if (mLabelsRange == null) {
+            mLabelsRange = (Y) minY.clone();
+            mLabelsStep = (Y) minY.clone();
+        }
+        minY.distanceTo(bounds.getMaxY(), mLabelsRange);
+        while (labels.size() > mLabelsCount) {
+            labels.remove(labels.size() - 1);
+        }
         int part = drawingRect.height() / (mLabelsCount);
         for (int i = 0; i < mLabelsCount; i++) {
+            if (i == labels.size()) {
+                labels.add(new DrawnLabel<>((Y) minY.clone()));
+            }
+            DrawnLabel<Y> label = labels.get(i);
             float y = part * i;
-            Y value = (Y) bounds.getMinY().add(bounds.getMinY().distanceTo(bounds.getMaxY()).getPart(y / drawingRect.height()));
-            labels.add(new DrawnLabel<>(value, value.getAxisName()));
+            mLabelsRange.getPart(y / drawingRect.height(), mLabelsStep);
+            minY.add(mLabelsStep, label.value);
+            label.text = getLabelText(label.value);
         }
+    }
 
-        return labels;
+    private String getLabelText(Y value) {
+        for (int i = 0; i < mCachedTextsValues.size(); i++) {
+            if (mCachedTextsValues.get(i).compareTo(value) == 0) {
+                return mCachedTexts.get(i);
+            }
+        }
+        String text = value.getAxisName();
+        if (mCachedTextsValues.size() < LABEL_TEXTS_CACHE_SIZE) {
+            mCachedTextsValues.add((Y) value.clone());
+            mCachedTexts.add(text);
+        } else {
+            // Replace the oldest text
+            mCachedTextsValues.get(mNextCachedTextIndex).set(value);
+            mCachedTexts.set(mNextCachedTextIndex, text);
+            mNextCachedTextIndex = (mNextCachedTextIndex + 1) % LABEL_TEXTS_CACHE_SIZE;
+        }
+        return text;
     }
 
     @Override
@@ -204,34 +278,35 @@ public class ChartYAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
     }
 
     private void startAlphaAnimator(int targetAlpha) {
-        if (mAlphaAnimator != null) {
-            mAlphaAnimator.cancel();
-        }
-        mAlphaAnimator = ValueAnimator.ofInt(mAlpha, targetAlpha)
-                .setDuration(ChartUtils.DEFAULT_CHART_CHANGES_ANIMATION_DURATION);
-        mAlphaAnimator.addUpdateListener(animation -> {
-            setAlpha((Integer) animation.getAnimatedValue());
-            mChartView.invalidate();
-        });
-        mAlphaAnimator.start();
+        if (mAlphaAnimation != null) {
+            mAlphaAnimation.cancel();
+        }
+        mAlphaAnimationFrom = mAlpha;
+        mAlphaAnimationTo = targetAlpha;
+        mAlphaAnimation = mChartView.getAnimationScheduler().start(ChartUtils.DEFAULT_CHART_CHANGES_ANIMATION_DURATION,
+                null, mAlphaAnimationListener);
     }
 
     @Override
-    public void onDraw(Canvas canvas, Rect drawingRect) {
+    public void onDraw(ChartCanvas canvas, Rect drawingRect) {
         // Draws grid for current labels
         mLabelsAppearAnimator.onDraw(canvas, drawingRect);
-        for (LabelsAnimatorHandler animatorHandler : mLabelsDisappearAnimators) {
-            animatorHandler.onDraw(canvas, drawingRect);
+        for (int i = 0; i < mLabelsDisappearAnimators.size(); i++) {
+            mLabelsDisappearAnimators.get(i).onDraw(canvas, drawingRect);
         }
     }
 
     @Override
-    public void onAfterDraw(Canvas canvas, Rect drawingRect) {
+    public void onAfterDraw(ChartCanvas canvas, Rect drawingRect) {
         super.onAfterDraw(canvas, drawingRect);
+        if (isReducedQuality()) {
+            // Labels are skipped while the chart is in motion, only grid is drawn
+            return;
+        }
         // Draws current labels text
         mLabelsAppearAnimator.onAfterDraw(canvas, drawingRect);
-        for (LabelsAnimatorHandler animatorHandler : mLabelsDisappearAnimators) {
-            animatorHandler.onAfterDraw(canvas, drawingRect);
+        for (int i = 0; i < mLabelsDisappearAnimators.size(); i++) {
+            mLabelsDisappearAnimators.get(i).onAfterDraw(canvas, drawingRect);
         }
     }
 
@@ -286,9 +361,8 @@ public class ChartYAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
     // Contains data about axis label which is drawn on the canvas
     private static class DrawnLabel<C extends ChartCoordinate> {
         final C value;
-        final String text;
-        DrawnLabel(C value, String text) {
-            this.text = text;
+        String text;
+        DrawnLabel(C value) {
             this.value = value;
         }
     }
@@ -297,28 +371,37 @@ public class ChartYAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
      * Handles labels transition animations - from to to bottom or vice versa
      * according to y bounds changes
      */
-    private class LabelsAnimatorHandler implements ValueAnimator.AnimatorUpdateListener {
+    private class LabelsAnimatorHandler implements ChartAnimation.Listener {
 
-        private final List<DrawnLabel<Y>> mLabels;
-        private final int mAnimationDirection;
-        private final boolean mAppear;
+        private List<DrawnLabel<Y>> mLabels = new ArrayList<>();
+        private int mAnimationDirection;
+        private boolean mAppear;
 
-        private ValueAnimator mAnimator;
+        private ChartAnimation mAnimation;
         private float mAnimatorProgress;
 
-        LabelsAnimatorHandler(List<DrawnLabel<Y>> labels, int direction, boolean appear) {
-            mLabels = labels;
+        void init(int direction, boolean appear) {
             mAnimationDirection = direction;
             mAppear = appear;
+            mAnimatorProgress = 0;
         }
 
-        void onDraw(Canvas canvas, Rect drawingRect) {
+        /**
+         * Exchanges labels with the specified handler - labels of the appeared handler are moved to the disappearing one
+         */
+        void swapLabels(LabelsAnimatorHandler handler) {
+            List<DrawnLabel<Y>> labels = mLabels;
+            mLabels = handler.mLabels;
+            handler.mLabels = labels;
+        }
+
+        void onDraw(ChartCanvas canvas, Rect drawingRect) {
             if (mDrawGrid && !mDrawGridOverPoints) {
                 drawGrid(canvas, drawingRect);
             }
         }
 
-        void onAfterDraw(Canvas canvas, Rect drawingRect) {
+        void onAfterDraw(ChartCanvas canvas, Rect drawingRect) {
             int part = drawingRect.height() / (mLabelsCount);
             for (int i = 0; i < mLabels.size(); i++) {
                 DrawnLabel<Y> label = mLabels.get(i);
@@ -334,7 +417,7 @@ public class ChartYAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
             }
         }
 
-        private void drawGrid(Canvas canvas, Rect drawingRect) {
+        private void drawGrid(ChartCanvas canvas, Rect drawingRect) {
             float strokeWidth = mGridPaint.getStrokeWidth();
             int part = drawingRect.height() / (mLabelsCount);
             for (int i = 0; i < mLabels.size(); i++) {
@@ -363,26 +446,28 @@ public class ChartYAxisLabelsDrawer<X extends ChartCoordinate, Y extends ChartCo
             return y;
         }
 
-        void start(long duration, Animator.AnimatorListener listener) {
-            mAnimator = ValueAnimator.ofFloat(0f, 1f);
-            mAnimator.setDuration(duration);
-            mAnimator.addUpdateListener(this);
-            if (listener != null) {
-                mAnimator.addListener(listener);
-            }
-            mAnimator.start();
+        void start(long duration) {
+            mAnimation = mChartView.getAnimationScheduler().start(duration, null, this);
         }
 
         void cancel() {
-            if (mAnimator != null) {
-                mAnimator.cancel();
+            if (mAnimation != null) {
+                mAnimation.cancel();
             }
         }
 
         @Override
-        public void onAnimationUpdate(ValueAnimator animation) {
-            mAnimatorProgress = (float) animation.getAnimatedValue();
-            mChartView.invalidate();
+        public void onAnimationUpdate(ChartAnimation animation, float progress) {
+            mAnimatorProgress = progress;
+        }
+
+        @Override
+        public void onAnimationEnd(ChartAnimation animation, boolean cancelled) {
+            mAnimation = null;
+            if (!mAppear) {
+                mLabelsDisappearAnimators.remove(this);
+                mLabelsAnimatorsPool.add(this);
+            }
         }
     }
 
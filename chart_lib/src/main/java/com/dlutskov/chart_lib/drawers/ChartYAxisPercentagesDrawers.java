@@ -1,10 +1,10 @@
 package com.dlutskov.chart_lib.drawers;
 
-import android.graphics.Canvas;
 import android.graphics.Rect;
 
 import com.dlutskov.chart_lib.ChartBounds;
 import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.canvas.ChartCanvas;
 import com.dlutskov.chart_lib.data.ChartLinesData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
 
@@ -14,27 +14,48 @@ public class ChartYAxisPercentagesDrawers<X extends ChartCoordinate, Y extends C
 
     private int mTopPadding;
 
+    // Labels texts which are built once for the current labels count
+    private String[] mLabelsTexts;
+
     public ChartYAxisPercentagesDrawers(ChartView<X, Y> chartView, int size, int topPadding) {
         super(chartView, size);
         mTopPadding = topPadding;
     }
 
     @Override
-    protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {}
+    protected void rebuild(ChartLinesData<X, Y> data, ChartBounds<X, Y> bounds, Rect drawingRect) {
+        if (mLabelsTexts == null || mLabelsTexts.length != mLabelsCount) {
+            mLabelsTexts = new String[mLabelsCount];
+            for (int i = 0; i < mLabelsCount; i++) {
+                mLabelsTexts[i] = String.valueOf((int) (getLabelPosition(i) * 100));
+            }
+        }
+    }
 
     @Override
-    public void onDraw(Canvas canvas, Rect drawingRect) {}
+    public void onDraw(ChartCanvas canvas, Rect drawingRect) {}
 
     @Override
-    public void onAfterDraw(Canvas canvas, Rect drawingRect) {
+    public void onAfterDraw(ChartCanvas canvas, Rect drawingRect) {
+        if (mLabelsTexts == null) {
+            // There are no data to draw yet
+            return;
+        }
         int height = drawingRect.bottom - mTopPadding;
         for (int i = 0; i < mLabelsCount; i++) {
-            float position = (i / (float) (mLabelsCount - 1));
+            float position = getLabelPosition(i);
             float y = drawingRect.bottom - height * position;
             mGridPaint.setAlpha(Math.min(MAX_GRID_ALPHA, mAlpha));
             canvas.drawLine(0, y, drawingRect.right, y,mGridPaint);
-            mLabelPaint.setAlpha(Math.min(MAX_LABEL_ALPHA, mAlpha));
-            canvas.drawText(String.valueOf((int)(position * 100)), 0, y - mGridPadding, mLabelPaint);
+            // Labels are skipped while the chart is in motion
+            if (!isReducedQuality()) {
+                mLabelPaint.setAlpha(Math.min(MAX_LABEL_ALPHA, mAlpha));
+                canvas.drawText(mLabelsTexts[i], 0, y - mGridPadding, mLabelPaint);
+            }
         }
     }
+
+    private float getLabelPosition(int index) {
+        return index / (float) (mLabelsCount - 1);
+    }
 }
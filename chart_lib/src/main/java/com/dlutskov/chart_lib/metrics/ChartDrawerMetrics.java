@@ -0,0 +1,82 @@
+package com.dlutskov.chart_lib.metrics;
+
+import com.dlutskov.chart_lib.drawers.ChartDataDrawer;
+
+/**
+ * Rebuild and draw metrics of the single {@link ChartDataDrawer}.
+ * Draw duration is a sum of the drawer's draw and after draw calls which is recorded once per frame
+ */
+public class ChartDrawerMetrics {
+
+    private final String mDrawerName;
+
+    private long mRebuildsCount;
+    private final ChartDurationHistogram mRebuildDurations = new ChartDurationHistogram();
+    private final ChartDurationHistogram mDrawDurations = new ChartDurationHistogram();
+
+    // Count of points emitted by the last rebuild
+    private int mEmittedPointsCount;
+
+    // Draw duration of the current frame. Recorded to the histogram when the frame is finished
+    private long mFrameDrawNanos;
+    private boolean isDrawnInFrame;
+
+    public ChartDrawerMetrics(String drawerName) {
+        mDrawerName = drawerName;
+    }
+
+    /**
+     * Called by the drawer after each rebuild
+     */
+    public void onRebuild(long durationNanos, int emittedPointsCount) {
+        mRebuildsCount++;
+        mRebuildDurations.record(durationNanos);
+        mEmittedPointsCount = emittedPointsCount;
+    }
+
+    /**
+     * Called by the drawer after each draw. Can be called several times per frame
+     */
+    public void onDraw(long durationNanos) {
+        mFrameDrawNanos += durationNanos;
+        isDrawnInFrame = true;
+    }
+
+    void onFrameFinished() {
+        if (isDrawnInFrame) {
+            mDrawDurations.record(mFrameDrawNanos);
+            mFrameDrawNanos = 0;
+            isDrawnInFrame = false;
+        }
+    }
+
+    void reset() {
+        mRebuildsCount = 0;
+        mRebuildDurations.reset();
+        mDrawDurations.reset();
+    }
+
+    /**
+     * @return simple class name of the drawer
+     */
+    public String getDrawerName() {
+        return mDrawerName;
+    }
+
+    public long getRebuildsCount() {
+        return mRebuildsCount;
+    }
+
+    public ChartDurationHistogram getRebuildDurations() {
+        return mRebuildDurations;
+    }
+
+    public ChartDurationHistogram getDrawDurations() {
+        return mDrawDurations;
+    }
+
+    public int getEmittedPointsCount() {
+        return mEmittedPointsCount;
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.dlutskov.chart_lib.metrics;
+
+/**
+ * Histogram of durations with logarithmic buckets. First bucket keeps durations less than 1 microsecond,
+ * each next bucket keeps durations up to the twice bigger bound: [1, 2), [2, 4), [4, 8) microseconds and so on.
+ * The last bucket keeps all durations which are bigger than {@link #getBucketUpperBoundMicros(int)} of the previous one.
+ * Recording doesn't allocate, so it can be called on each frame
+ */
+public class ChartDurationHistogram {
+
+    /**
+     * 1us .. 262ms with the last bucket for all longer durations
+     */
+    public static final int BUCKETS_COUNT = 20;
+
+    private final long[] mBuckets = new long[BUCKETS_COUNT];
+
+    private long mCount;
+    private long mTotalNanos;
+    private long mMaxNanos;
+
+    public void record(long durationNanos) {
+        mBuckets[getBucketIndex(durationNanos)]++;
+        mCount++;
+        mTotalNanos += durationNanos;
+        if (durationNanos > mMaxNanos) {
+            mMaxNanos = durationNanos;
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            mBuckets[i] = 0;
+        }
+        mCount = 0;
+        mTotalNanos = 0;
+        mMaxNanos = 0;
+    }
+
+    public long getCount() {
+        return mCount;
+    }
+
+    public long getTotalNanos() {
+        return mTotalNanos;
+    }
+
+    public long getMaxNanos() {
+        return mMaxNanos;
+    }
+
+    public long getAverageNanos() {
+        return mCount == 0 ? 0 : mTotalNanos / mCount;
+    }
+
+    /**
+     * @return count of recorded durations in the bucket with specified index
+     */
+    public long getBucketCount(int bucketIndex) {
+        return mBuckets[bucketIndex];
+    }
+
+    /**
+     * @return exclusive upper bound of the bucket in microseconds. {@link Long#MAX_VALUE} for the last bucket
+     */
+    public static long getBucketUpperBoundMicros(int bucketIndex) {
+        return bucketIndex == BUCKETS_COUNT - 1 ? Long.MAX_VALUE : 1L << bucketIndex;
+    }
+
+    /**
+     * @param percentile - from 0 to 1
+     * @return upper bound in nanos of the bucket which contains specified percentile of durations.
+     *         The max recorded duration if the percentile is in the last bucket
+     */
+    public long getPercentileNanos(float percentile) {
+        if (mCount == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(mCount * percentile);
+        long count = 0;
+        for (int i = 0; i < BUCKETS_COUNT - 1; i++) {
+            count += mBuckets[i];
+            if (count >= threshold) {
+                return Math.min(getBucketUpperBoundMicros(i) * 1000, mMaxNanos);
+            }
+        }
+        return mMaxNanos;
+    }
+
+    static int getBucketIndex(long durationNanos) {
+        long micros = durationNanos / 1000;
+        if (micros <= 0) {
+            return 0;
+        }
+        // Index of the highest bit + 1: 1us -> 1, 2-3us -> 2, 4-7us -> 3
+        int index = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(index, BUCKETS_COUNT - 1);
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.dlutskov.chart_lib.metrics;
+
+import com.dlutskov.chart_lib.ChartView;
+import com.dlutskov.chart_lib.drawers.ChartDataDrawer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drawing metrics of the {@link ChartView}: durations of the bounds calculations and whole frames,
+ * running animations and {@link ChartDrawerMetrics} of each drawer.
+ * Collected only when listener is set by {@link ChartView#setMetricsListener(Listener)}
+ * or collecting is enabled by {@link ChartView#setMetricsEnabled(boolean)}.
+ * Metrics are accumulated until {@link #reset()} is called, so the listener can send them periodically.
+ * Collecting doesn't allocate. All methods should be called from the main thread
+ */
+public class ChartMetrics {
+
+    /**
+     * Receives metrics after each drawn frame
+     */
+    public interface Listener {
+        /**
+         * Called on the main thread after each frame. Metrics object is reused, so it shouldn't be kept
+         */
+        void onFrameMetrics(ChartMetrics metrics);
+    }
+
+    // Null when metrics are only read from the chart view
+    private final Listener mListener;
+
+    private long mFramesCount;
+    private final ChartDurationHistogram mFrameDurations = new ChartDurationHistogram();
+    private final ChartDurationHistogram mBoundsDurations = new ChartDurationHistogram();
+
+    // Animations and tickers which were running on the last frame
+    private int mActiveAnimationsCount;
+
+    private final List<ChartDrawerMetrics> mDrawersMetrics = new ArrayList<>();
+
+    public ChartMetrics(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Creates metrics for the drawer which is added to the chart
+     */
+    public ChartDrawerMetrics addDrawer(ChartDataDrawer<?, ?> drawer) {
+        ChartDrawerMetrics drawerMetrics = new ChartDrawerMetrics(drawer.getClass().getSimpleName());
+        mDrawersMetrics.add(drawerMetrics);
+        return drawerMetrics;
+    }
+
+    public void removeDrawer(ChartDrawerMetrics drawerMetrics) {
+        mDrawersMetrics.remove(drawerMetrics);
+    }
+
+    /**
+     * Called by the chart view after each bounds calculation
+     */
+    public void onBoundsCalculated(long durationNanos) {
+        mBoundsDurations.record(durationNanos);
+    }
+
+    /**
+     * Called by the chart view after all drawers were drawn. Notifies the listener
+     */
+    public void onFrameDrawn(long durationNanos, int activeAnimationsCount) {
+        mFramesCount++;
+        mFrameDurations.record(durationNanos);
+        mActiveAnimationsCount = activeAnimationsCount;
+        for (int i = 0; i < mDrawersMetrics.size(); i++) {
+            mDrawersMetrics.get(i).onFrameFinished();
+        }
+        if (mListener != null) {
+            mListener.onFrameMetrics(this);
+        }
+    }
+
+    /**
+     * Resets all accumulated counters and histograms
+     */
+    public void reset() {
+        mFramesCount = 0;
+        mFrameDurations.reset();
+        mBoundsDurations.reset();
+        for (int i = 0; i < mDrawersMetrics.size(); i++) {
+            mDrawersMetrics.get(i).reset();
+        }
+    }
+
+    public long getFramesCount() {
+        return mFramesCount;
+    }
+
+    public ChartDurationHistogram getFrameDurations() {
+        return mFrameDurations;
+    }
+
+    public ChartDurationHistogram getBoundsDurations() {
+        return mBoundsDurations;
+    }
+
+    public int getActiveAnimationsCount() {
+        return mActiveAnimationsCount;
+    }
+
+    /**
+     * @return metrics of all chart drawers in the order they were added
+     */
+    public List<ChartDrawerMetrics> getDrawersMetrics() {
+        return mDrawersMetrics;
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.dlutskov.chart_lib.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pool of the float arrays which are used by the drawers for the geometry of the displayed points.
+ * Arrays are obtained by size classes - each array length is the power of two which isn't less than the requested one,
+ * so the array has headroom for the bigger windows and the arrays of the released drawers fit the new ones.
+ * Pool is shared by all charts, so expanding or collapsing the chart takes arrays of the replaced drawers instead of
+ * allocating new ones. Pool keeps not more than {@link #MAX_POOLED_FLOATS_COUNT} floats, the rest arrays are left to GC.
+ * Should be used from the main thread
+ */
+public class ChartFloatBufferPool {
+
+    public static final float[] EMPTY = new float[0];
+
+    // 64 floats - the smallest array which is obtained from the pool
+    private static final int MIN_SIZE_CLASS = 6;
+    private static final int MAX_SIZE_CLASS = 30;
+
+    // 16 MB
+    private static final int MAX_POOLED_FLOATS_COUNT = 1 << 22;
+
+    private static final ChartFloatBufferPool sInstance = new ChartFloatBufferPool();
+
+    // Released arrays of each size class
+    private final List<List<float[]>> mBuffers = new ArrayList<>(MAX_SIZE_CLASS + 1);
+    private int mPooledFloatsCount;
+
+    private long mAllocationsCount;
+
+    ChartFloatBufferPool() {
+        for (int i = 0; i <= MAX_SIZE_CLASS; i++) {
+            mBuffers.add(new ArrayList<>());
+        }
+    }
+
+    public static ChartFloatBufferPool getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * @return array which length is the size class of the specified length. Content of the array is undefined
+     */
+    public float[] obtain(int minLength) {
+        if (minLength <= 0) {
+            return EMPTY;
+        }
+        int sizeClass = getSizeClass(minLength);
+        List<float[]> buffers = mBuffers.get(sizeClass);
+        if (!buffers.isEmpty()) {
+            float[] buffer = buffers.remove(buffers.size() - 1);
+            mPooledFloatsCount -= buffer.length;
+            return buffer;
+        }
+        mAllocationsCount++;
+        return new float[1 << sizeClass];
+    }
+
+    /**
+     * Returns the array to the pool. Array shouldn't be used after release.
+     * Arrays which weren't obtained from the pool are ignored
+     */
+    public void release(float[] buffer) {
+        int length = buffer.length;
+        if (length < 1 << MIN_SIZE_CLASS || Integer.bitCount(length) != 1
+                || mPooledFloatsCount + length > MAX_POOLED_FLOATS_COUNT) {
+            return;
+        }
+        mBuffers.get(Integer.numberOfTrailingZeros(length)).add(buffer);
+        mPooledFloatsCount += length;
+    }
+
+    /**
+     * @return count of the arrays which were allocated because the pool didn't have released arrays of the requested size
+     */
+    public long getAllocationsCount() {
+        return mAllocationsCount;
+    }
+
+    public int getPooledFloatsCount() {
+        return mPooledFloatsCount;
+    }
+
+    private static int getSizeClass(int length) {
+        int sizeClass = 32 - Integer.numberOfLeadingZeros(length - 1);
+        if (sizeClass > MAX_SIZE_CLASS) {
+            throw new IllegalArgumentException("Buffer length " + length + " exceeds max size");
+        }
+        return Math.max(MIN_SIZE_CLASS, sizeClass);
+    }
+
+}
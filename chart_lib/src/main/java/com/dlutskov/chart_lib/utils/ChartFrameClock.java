@@ -0,0 +1,144 @@
+package com.dlutskov.chart_lib.utils;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers single callback on the next display frame.
+ * All {@link #schedule()} calls made before the frame is dispatched are coalesced into one callback,
+ * so the callback is invoked not more often than display refresh rate.
+ * Uses {@link Choreographer} on API 16+ and main thread Handler with frame sized delay on older platforms.
+ * Should be created on the main thread. {@link #schedule()} can be called from any thread
+ */
+public class ChartFrameClock {
+
+    /**
+     * Receives frame callbacks on the main thread
+     */
+    public interface Callback {
+        /**
+         * @param frameTimeNanos - time of the frame in {@link System#nanoTime()} time base
+         */
+        void onFrame(long frameTimeNanos);
+    }
+
+    // Delay which is used to emulate frames on platforms without Choreographer
+    private static final long FALLBACK_FRAME_DELAY = 16;
+
+    private final Callback mCallback;
+
+    // True when callback is already requested and not dispatched yet
+    private final AtomicBoolean mScheduled = new AtomicBoolean();
+
+    // Requested callback isn't posted while the clock is paused
+    private volatile boolean isPaused;
+
+    private final FramePoster mFramePoster;
+
+    public ChartFrameClock(Callback callback) {
+        mCallback = callback;
+        mFramePoster = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN
+                ? new ChoreographerFramePoster()
+                : new HandlerFramePoster();
+    }
+
+    /**
+     * Requests callback on the next frame. Does nothing if callback is already requested
+     */
+    public void schedule() {
+        if (mScheduled.compareAndSet(false, true) && !isPaused) {
+            mFramePoster.post();
+        }
+    }
+
+    /**
+     * Removes requested callback if it wasn't dispatched yet
+     */
+    public void cancel() {
+        if (mScheduled.compareAndSet(true, false)) {
+            mFramePoster.remove();
+        }
+    }
+
+    /**
+     * Removes posted callback and stops posting new ones until {@link #resume()}, e.g. while the view is detached.
+     * Callback which is requested before or during the pause is posted on resume. Should be called on the main thread
+     */
+    public void pause() {
+        isPaused = true;
+        if (mScheduled.get()) {
+            mFramePoster.remove();
+        }
+    }
+
+    /**
+     * Posts callback if it was requested before or during the pause. Should be called on the main thread
+     */
+    public void resume() {
+        isPaused = false;
+        if (mScheduled.get()) {
+            mFramePoster.post();
+        }
+    }
+
+    private void dispatchFrame(long frameTimeNanos) {
+        // Callback which was posted concurrently with the pause is posted again on resume
+        if (isPaused) {
+            return;
+        }
+        // Reset flag before the callback to allow scheduling next frame from it
+        if (mScheduled.compareAndSet(true, false)) {
+            mCallback.onFrame(frameTimeNanos);
+        }
+    }
+
+    private interface FramePoster {
+        void post();
+        void remove();
+    }
+
+    private class ChoreographerFramePoster implements FramePoster, Choreographer.FrameCallback {
+
+        private final Choreographer mChoreographer = Choreographer.getInstance();
+
+        @Override
+        public void post() {
+            mChoreographer.postFrameCallback(this);
+        }
+
+        @Override
+        public void remove() {
+            mChoreographer.removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            dispatchFrame(frameTimeNanos);
+        }
+    }
+
+    private class HandlerFramePoster implements FramePoster, Runnable {
+
+        private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void post() {
+            mHandler.postDelayed(this, FALLBACK_FRAME_DELAY);
+        }
+
+        @Override
+        public void remove() {
+            mHandler.removeCallbacks(this);
+        }
+
+        @Override
+        public void run() {
+            dispatchFrame(System.nanoTime());
+        }
+    }
+
+}
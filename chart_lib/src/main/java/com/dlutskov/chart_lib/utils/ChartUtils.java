@@ -5,12 +5,24 @@ import android.graphics.Rect;
 import android.util.TypedValue;
 
 import com.dlutskov.chart_lib.ChartBounds;
+import com.dlutskov.chart_lib.data.ChartPointsData;
 import com.dlutskov.chart_lib.data.coordinates.ChartCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.ChartCoordinateKernel;
 
 public class ChartUtils {
 
     public static long DEFAULT_CHART_CHANGES_ANIMATION_DURATION = 200;
 
+    // Texts of percents from 0 to 100 which are drawn on each frame - created once to not allocate strings while drawing
+    private static final String[] sPercentsTexts = new String[101];
+    private static final String[] sPaddedPercentsTexts = new String[101];
+    static {
+        for (int i = 0; i <= 100; i++) {
+            sPercentsTexts[i] = i + "%";
+            sPaddedPercentsTexts[i] = i < 10 ? "  " + sPercentsTexts[i] : sPercentsTexts[i];
+        }
+    }
+
     public static int getPixelForDp(Context context, float dp) {
         return Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, context.getResources().getDisplayMetrics()));
     }
@@ -19,12 +31,62 @@ public class ChartUtils {
         return pixel / context.getResources().getDisplayMetrics().density;
     }
 
+    /**
+     * @param padded - if true, one digit percents are padded to be aligned with two digits ones
+     * @return text of the percents value like "42%". Texts for values from 0 to 100 are not allocated
+     */
+    public static String getPercentsText(int percents, boolean padded) {
+        if (percents < 0 || percents > 100) {
+            return percents + "%";
+        }
+        return padded ? sPaddedPercentsTexts[percents] : sPercentsTexts[percents];
+    }
+
     public static float calcXCoordinate(ChartBounds bounds , Rect drawingRect, int xIndex) {
-        return drawingRect.left + (xIndex - bounds.getMinXIndex()) / (float) bounds.getXPointsCount() * drawingRect.width();
+        return drawingRect.left + bounds.calcXCoordinateRatio(xIndex) * drawingRect.width();
     }
 
     public static <C extends ChartCoordinate> float calcYCoordinate(ChartBounds<? extends ChartCoordinate, C> bounds, Rect drawingRect, C yCoordinate) {
         return drawingRect.top + drawingRect.height() - bounds.calcYCoordinateRatio(yCoordinate) * drawingRect.height();
     }
 
+    /**
+     * Screen x of the point is drawingRect.left + (xIndex - bounds.getMinXIndex()) * xScale
+     * @return distance between the screen x coordinates of two neighbour points
+     */
+    public static float calcXScale(ChartBounds bounds, Rect drawingRect) {
+        return drawingRect.width() / (float) bounds.getXPointsCount();
+    }
+
+    /**
+     * Screen y of the point is yOffset + normalizedValue * yScale, where normalized value is taken from
+     * {@link ChartPointsData#getNormalizedValues()}. Offset and scale are doubles, as the offset can be far from
+     * the screen when the displayed range is a tiny part of the points range
+     * @return yOffset - screen y of the points min value
+     */
+    public static <C extends ChartCoordinate> double calcYOffset(ChartBounds<? extends ChartCoordinate, C> bounds, Rect drawingRect,
+                                                                 ChartPointsData<C> pointsData) {
+        C minValue = pointsData.getMinValue();
+        if (minValue.compareTo(pointsData.getMaxValue()) == 0) {
+            // All normalized values are zero
+            return calcYCoordinate(bounds, drawingRect, minValue);
+        }
+        // Bounds are normalized the same as the points, so the offset is exact when the bounds are far from the points min
+        double boundsMin = pointsData.getKernel().normalize(bounds.getMinY(), minValue, pointsData.getMaxValue());
+        return drawingRect.bottom - boundsMin * calcYScale(bounds, drawingRect, pointsData);
+    }
+
+    /**
+     * @return yScale - distance between the screen y of the points max and min values. See {@link #calcYOffset}
+     */
+    public static <C extends ChartCoordinate> double calcYScale(ChartBounds<? extends ChartCoordinate, C> bounds, Rect drawingRect,
+                                                                ChartPointsData<C> pointsData) {
+        ChartCoordinateKernel<C> kernel = pointsData.getKernel();
+        C minValue = pointsData.getMinValue();
+        C maxValue = pointsData.getMaxValue();
+        double boundsRange = kernel.normalize(bounds.getMaxY(), minValue, maxValue)
+                - kernel.normalize(bounds.getMinY(), minValue, maxValue);
+        return boundsRange == 0 ? 0 : -drawingRect.height() / boundsRange;
+    }
+
 }
@@ -0,0 +1,150 @@
+package com.dlutskov.chart_lib;
+
+import android.content.Context;
+import android.view.View;
+
+import com.dlutskov.chart_lib.animation.ChartAnimation;
+import com.dlutskov.chart_lib.animation.ChartAnimationScheduler;
+import com.dlutskov.chart_lib.utils.ChartFrameClock;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.dlutskov.chart_lib.ChartTestFixtures.FRAME_TIME_NANOS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the scheduler ticks all animations and tickers from one frame and invalidates the view once per frame,
+ * and that it invalidates only the overlay layer while only overlay animations are running
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, manifest = Config.NONE)
+public class ChartAnimationSchedulerTest {
+
+    private final InvalidationsCounterView mView = new InvalidationsCounterView(RuntimeEnvironment.application);
+    private final InvalidationsCounterView mOverlayView = new InvalidationsCounterView(RuntimeEnvironment.application);
+
+    private final ChartAnimationScheduler mScheduler = new ChartAnimationScheduler(
+            new ChartFrameClock(frameTimeNanos -> {}), mView, mOverlayView);
+
+    private final ChartAnimation.Listener mListener = (animation, progress) -> {};
+
+    private long mFrameTimeNanos;
+
+    @Test
+    public void animations_areTickedUntilTheEndWithSingleInvalidationPerFrame() {
+        float[] lastProgress = new float[2];
+        boolean[] isEnded = new boolean[2];
+        for (int i = 0; i < 2; i++) {
+            int index = i;
+            mScheduler.start(100 * (i + 1), null, new ChartAnimation.Listener() {
+                @Override
+                public void onAnimationUpdate(ChartAnimation animation, float progress) {
+                    lastProgress[index] = progress;
+                }
+
+                @Override
+                public void onAnimationEnd(ChartAnimation animation, boolean cancelled) {
+                    isEnded[index] = !cancelled;
+                }
+            });
+        }
+
+        int framesCount = runFrames();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(1f, lastProgress[i], 0f);
+            assertTrue(isEnded[i]);
+        }
+        assertEquals(0, mScheduler.getActiveCount());
+        assertEquals(framesCount, mView.mInvalidationsCount);
+    }
+
+    @Test
+    public void finishedAnimation_isReused() {
+        ChartAnimation animation = mScheduler.start(50, null, mListener);
+        runFrames();
+        assertFalse(animation.isRunning());
+
+        assertSame(animation, mScheduler.start(50, null, mListener));
+    }
+
+    @Test
+    public void ticker_isTickedUntilFinished() {
+        int[] ticksLeft = {3};
+        mScheduler.addTicker(frameTimeMillis -> --ticksLeft[0] > 0);
+
+        assertEquals(3, runFrames());
+        assertEquals(0, ticksLeft[0]);
+        assertEquals(3, mView.mInvalidationsCount);
+    }
+
+    @Test
+    public void overlayAnimation_invalidatesOnlyOverlay() {
+        mScheduler.start(100, null, mListener, true);
+
+        int framesCount = runFrames();
+
+        assertEquals(0, mView.mInvalidationsCount);
+        assertEquals(framesCount, mOverlayView.mInvalidationsCount);
+    }
+
+    @Test
+    public void contentAnimation_invalidatesView() {
+        // Content animation takes 3 frames after the first one
+        int contentFramesCount = 4;
+        mScheduler.start(100, null, mListener, true);
+        mScheduler.start(3 * FRAME_TIME_NANOS / 1_000_000, null, mListener);
+
+        int framesCount = runFrames();
+
+        // View is invalidated while the content animation is running, then only overlay one is left
+        assertEquals(contentFramesCount, mView.mInvalidationsCount);
+        assertEquals(framesCount - contentFramesCount, mOverlayView.mInvalidationsCount);
+    }
+
+    @Test
+    public void ticker_invalidatesView() {
+        int[] ticksLeft = {3};
+        mScheduler.start(100, null, mListener, true);
+        mScheduler.addTicker(frameTimeMillis -> --ticksLeft[0] > 0);
+
+        int framesCount = runFrames();
+
+        assertEquals(3, mView.mInvalidationsCount);
+        assertEquals(framesCount - 3, mOverlayView.mInvalidationsCount);
+    }
+
+    // Ticks the scheduler until all animations are finished
+    private int runFrames() {
+        int framesCount = 0;
+        while (mScheduler.hasActiveAnimations()) {
+            mScheduler.onFrame(mFrameTimeNanos);
+            mFrameTimeNanos += FRAME_TIME_NANOS;
+            framesCount++;
+        }
+        return framesCount;
+    }
+
+    private static class InvalidationsCounterView extends View {
+
+        private int mInvalidationsCount;
+
+        InvalidationsCounterView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void invalidate() {
+            super.invalidate();
+            mInvalidationsCount++;
+        }
+    }
+
+}
@@ -0,0 +1,281 @@
+package com.dlutskov.chart_lib;
+
+import com.dlutskov.chart_lib.canvas.RecordingChartCanvas;
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartSamplesQueue;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.chart_lib.drawers.ChartLinesDrawer;
+import com.dlutskov.chart_lib.drawers.ChartPercentagesAreasDrawer;
+import com.dlutskov.chart_lib.drawers.ChartStackedAreasDrawer;
+import com.dlutskov.chart_lib.drawers.ChartStackedBarsDrawer;
+import com.dlutskov.chart_lib.utils.ChartFloatBufferPool;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.dlutskov.chart_lib.ChartTestFixtures.FRAME_TIME_NANOS;
+import static com.dlutskov.chart_lib.ChartTestFixtures.SERIES_COUNT;
+import static com.dlutskov.chart_lib.ChartTestFixtures.WINDOW_SIZE;
+import static com.dlutskov.chart_lib.ChartTestFixtures.createCanvas;
+import static com.dlutskov.chart_lib.ChartTestFixtures.createChart;
+import static com.dlutskov.chart_lib.ChartTestFixtures.createGenerator;
+import static com.dlutskov.chart_lib.ChartTestFixtures.drawFrame;
+import static com.dlutskov.chart_lib.ChartTestFixtures.layout;
+import static com.dlutskov.chart_lib.ChartTestFixtures.updateData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Draws charts on the {@link RecordingChartCanvas} and checks drawing workload of the single frame
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, manifest = Config.NONE)
+public class ChartDrawingBudgetTest {
+
+    // Polyline of each line is drawn by two lines draws - of the even and of the odd segments
+    private static final int LINE_DRAW_CALLS = 2;
+
+    // Lines, grid and labels of the full chart frame without selected points
+    private static final int MAX_FULL_CHART_DRAW_CALLS = 40;
+
+    private final RecordingChartCanvas mCanvas = createCanvas();
+
+    @Test
+    public void linesChart_drawsEachLineByTwoCalls() {
+        ChartView<DateCoordinate, LongCoordinate> chartView = createChart(new ChartView<>(RuntimeEnvironment.application), 1000);
+
+        drawFrame(mCanvas, chartView);
+
+        assertEquals(SERIES_COUNT * LINE_DRAW_CALLS, mCanvas.getDrawCalls());
+        assertEquals(SERIES_COUNT * (WINDOW_SIZE - 1) * 2, mCanvas.getVertices());
+        assertEquals(0, mCanvas.getSaveCount());
+    }
+
+    @Test
+    public void linesChart_hiddenLineIsNotDrawn() {
+        ChartView<DateCoordinate, LongCoordinate> chartView = createChart(new ChartView<>(RuntimeEnvironment.application), 1000);
+        chartView.getPointsDrawer().setAnimateVisibilityChanges(false);
+
+        chartView.updatePointsVisibility("y1", false);
+        drawFrame(mCanvas, chartView);
+
+        assertEquals((SERIES_COUNT - 1) * LINE_DRAW_CALLS, mCanvas.getDrawCalls());
+    }
+
+    @Test
+    public void linesChart_batchHiddenLinesAreNotDrawnAfterAnimation() {
+        ChartView<DateCoordinate, LongCoordinate> chartView = createChart(new ChartView<>(RuntimeEnvironment.application), 1000);
+        Map<String, Boolean> visibility = new HashMap<>();
+        visibility.put("y1", false);
+        visibility.put("y2", false);
+
+        chartView.updatePointsVisibility(visibility);
+        long frameTimeNanos = 0;
+        for (int frame = 0; frame < 60; frame++) {
+            frameTimeNanos += FRAME_TIME_NANOS;
+            chartView.onFrame(frameTimeNanos);
+        }
+        drawFrame(mCanvas, chartView);
+
+        assertEquals((SERIES_COUNT - 2) * LINE_DRAW_CALLS, mCanvas.getDrawCalls());
+    }
+
+    @Test
+    public void linesChart_manySeriesAreDrawnAsDensityBand() {
+        int seriesCount = 500;
+        ChartView<DateCoordinate, LongCoordinate> chartView = new ChartView<>(RuntimeEnvironment.application);
+        chartView.getPointsDrawer().setAnimateVisibilityChanges(false);
+        updateData(layout(chartView), createGenerator(1000).setSeriesCount(seriesCount), 1000);
+
+        drawFrame(mCanvas, chartView);
+
+        assertEquals(1, mCanvas.getDrawCalls());
+        assertEquals(WINDOW_SIZE * 2, mCanvas.getVertices());
+
+        // Lines are drawn separately when visible lines count doesn't exceed the threshold
+        Map<String, Boolean> visibility = new HashMap<>();
+        for (int i = 40; i < seriesCount; i++) {
+            visibility.put("y" + i, false);
+        }
+        chartView.updatePointsVisibility(visibility);
+        drawFrame(mCanvas, chartView);
+
+        assertEquals(40 * LINE_DRAW_CALLS, mCanvas.getDrawCalls());
+    }
+
+    @Test
+    public void linesChart_drainedSamplesAreFollowedWithoutDataUpdate() {
+        int pointsCount = 1000;
+        ChartLinesData<DateCoordinate, LongCoordinate> data = createGenerator(pointsCount).generate();
+        ChartView<DateCoordinate, LongCoordinate> chartView = layout(new ChartView<>(RuntimeEnvironment.application));
+        chartView.updateChartData(data, pointsCount - WINDOW_SIZE, pointsCount - 1, false);
+        ChartSamplesQueue queue = new ChartSamplesQueue(64, SERIES_COUNT, ChartSamplesQueue.Backpressure.DROP_OLDEST);
+        LongCoordinate[] yValues = new LongCoordinate[SERIES_COUNT];
+        chartView.setSamplesQueue(queue, (x, values) -> {
+            for (int i = 0; i < SERIES_COUNT; i++) {
+                yValues[i] = LongCoordinate.valueOf(values[i]);
+            }
+            data.appendPoint(DateCoordinate.valueOf(x), yValues);
+        });
+        drawFrame(mCanvas, chartView);
+
+        // Line is hidden with animation while the samples are streamed
+        chartView.updatePointsVisibility("y1", false);
+        long lastX = data.getXPoints().getPoints().get(pointsCount - 1).getValue();
+        long[] sample = new long[SERIES_COUNT];
+        long frameTimeNanos = 0;
+        int framesCount = 60;
+        for (int frame = 0; frame < framesCount; frame++) {
+            for (int i = 0; i < SERIES_COUNT; i++) {
+                sample[i] = frame * 10 + i;
+            }
+            queue.offer(lastX + (frame + 1) * 60_000L, sample);
+            frameTimeNanos += FRAME_TIME_NANOS;
+            chartView.onFrame(frameTimeNanos);
+            drawFrame(mCanvas, chartView);
+            if (frame == 1) {
+                // Appended points don't replace drawing data, so the hidden line is still fading out
+                assertEquals(SERIES_COUNT * LINE_DRAW_CALLS, mCanvas.getDrawCalls());
+            }
+        }
+
+        ChartBounds<DateCoordinate, LongCoordinate> bounds = chartView.getBounds();
+        assertEquals(pointsCount + framesCount - 1, bounds.getMaxXIndex());
+        assertEquals(WINDOW_SIZE - 1, bounds.getMaxXIndex() - bounds.getMinXIndex());
+        assertEquals((SERIES_COUNT - 1) * LINE_DRAW_CALLS, mCanvas.getDrawCalls());
+    }
+
+    @Test
+    public void fullChart_frameWorkloadDoesNotDependOnPointsCount() {
+        drawFrame(mCanvas, createChart(new ChartFullView<>(RuntimeEnvironment.application), 1000));
+        int drawCalls = mCanvas.getDrawCalls();
+        int vertices = mCanvas.getVertices();
+
+        drawFrame(mCanvas, createChart(new ChartFullView<>(RuntimeEnvironment.application), 100_000));
+
+        assertTrue("Draw calls " + drawCalls + " exceed budget", drawCalls <= MAX_FULL_CHART_DRAW_CALLS);
+        assertEquals(drawCalls, mCanvas.getDrawCalls());
+        assertEquals(vertices, mCanvas.getVertices());
+        assertEquals(0, mCanvas.getSaveCount());
+    }
+
+    @Test
+    public void linesChart_reducedQualityIsUsedOnlyInMotion() {
+        int pointsCount = 10_000;
+        ChartView<DateCoordinate, LongCoordinate> chartView = createChart(new ChartView<>(RuntimeEnvironment.application), pointsCount);
+        chartView.updateHorizontalBounds(0, pointsCount - 1);
+        chartView.getPointsDrawer().setAnimateBoundsChanges(false);
+        chartView.setAdaptiveQuality(true);
+        // Each frame exceeds the budget
+        chartView.setFrameBudget(0);
+
+        drawFrame(mCanvas, chartView);
+        int vertices = mCanvas.getVertices();
+        assertFalse(chartView.isReducedQuality());
+
+        // The next frame is in motion, so quality is reduced from the frame after it
+        drawFrame(mCanvas, chartView);
+        drawFrame(mCanvas, chartView);
+        assertTrue(chartView.isReducedQuality());
+        assertTrue(mCanvas.getVertices() < vertices / 4);
+
+        chartView.setAdaptiveQuality(false);
+        drawFrame(mCanvas, chartView);
+        assertFalse(chartView.isReducedQuality());
+        assertEquals(vertices, mCanvas.getVertices());
+    }
+
+    @Test
+    public void percentagesAreasChart_drawsEachSeriesByOneStrip() {
+        ChartView<DateCoordinate, LongCoordinate> chartView = createPercentagesAreasChart(1000);
+
+        drawFrame(mCanvas, chartView);
+
+        assertEquals(SERIES_COUNT, mCanvas.getDrawCalls());
+        assertEquals(0, mCanvas.getPathOps());
+        // Each point has vertex on the top and on the bottom curve
+        assertEquals(SERIES_COUNT * WINDOW_SIZE * 2, mCanvas.getVertices());
+    }
+
+    @Test
+    public void percentagesAreasChart_drawsPathsWithoutVerticesSupport() {
+        ChartView<DateCoordinate, LongCoordinate> chartView = createPercentagesAreasChart(1000);
+        mCanvas.setVerticesSupported(false);
+
+        drawFrame(mCanvas, chartView);
+
+        assertEquals(SERIES_COUNT, mCanvas.getDrawCalls());
+        assertEquals(SERIES_COUNT, mCanvas.getPathOps());
+    }
+
+    @Test
+    public void stackedAreasChart_drawsEachSeriesByOneStrip() {
+        ChartView<DateCoordinate, LongCoordinate> chartView = new ChartView<>(RuntimeEnvironment.application);
+        chartView.setPointsDrawer(new ChartStackedAreasDrawer<>(chartView));
+        updateData(layout(chartView), createGenerator(100_000)
+                .setChartType(ChartLinesData.CHART_TYPE_AREA)
+                .setStacked(true), 100_000);
+
+        drawFrame(mCanvas, chartView);
+
+        assertEquals(SERIES_COUNT, mCanvas.getDrawCalls());
+        assertEquals(SERIES_COUNT * WINDOW_SIZE * 2, mCanvas.getVertices());
+    }
+
+    @Test
+    public void stackedBarsChart_hiddenSeriesIsNotDrawn() {
+        int seriesCount = 20;
+        ChartView<DateCoordinate, LongCoordinate> chartView = new ChartView<>(RuntimeEnvironment.application);
+        chartView.setPointsDrawer(new ChartStackedBarsDrawer<>(chartView));
+        chartView.getPointsDrawer().setAnimateVisibilityChanges(false);
+        updateData(layout(chartView), createGenerator(1000)
+                .setSeriesCount(seriesCount)
+                .setChartType(ChartLinesData.CHART_TYPE_BAR)
+                .setStacked(true), 1000);
+
+        drawFrame(mCanvas, chartView);
+        int vertices = mCanvas.getVertices();
+        assertEquals(seriesCount, mCanvas.getDrawCalls());
+
+        chartView.updatePointsVisibility("y5", false);
+        drawFrame(mCanvas, chartView);
+
+        assertEquals(seriesCount - 1, mCanvas.getDrawCalls());
+        assertEquals(vertices / seriesCount * (seriesCount - 1), mCanvas.getVertices());
+    }
+
+    @Test
+    public void linesChart_replacedDataAndDrawerReuseBuffers() {
+        ChartFloatBufferPool pool = ChartFloatBufferPool.getInstance();
+        ChartView<DateCoordinate, LongCoordinate> chartView = createChart(new ChartView<>(RuntimeEnvironment.application), 1000);
+        drawFrame(mCanvas, chartView);
+        long allocations = pool.getAllocationsCount();
+
+        // Same as expand and collapse - new data and then new drawer of the same size
+        createChart(chartView, 1000);
+        drawFrame(mCanvas, chartView);
+        chartView.setPointsDrawer(new ChartLinesDrawer<>(chartView));
+        createChart(chartView, 1000);
+        drawFrame(mCanvas, chartView);
+
+        assertEquals(SERIES_COUNT * LINE_DRAW_CALLS, mCanvas.getDrawCalls());
+        assertEquals(allocations, pool.getAllocationsCount());
+    }
+
+    private static ChartView<DateCoordinate, LongCoordinate> createPercentagesAreasChart(int pointsCount) {
+        ChartView<DateCoordinate, LongCoordinate> chartView = new ChartView<>(RuntimeEnvironment.application);
+        chartView.setPointsDrawer(new ChartPercentagesAreasDrawer<>(chartView));
+        return updateData(layout(chartView), createGenerator(pointsCount)
+                .setChartType(ChartLinesData.CHART_TYPE_AREA)
+                .setPercentage(true), pointsCount);
+    }
+
+}
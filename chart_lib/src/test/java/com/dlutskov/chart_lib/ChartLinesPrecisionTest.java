@@ -0,0 +1,183 @@
+package com.dlutskov.chart_lib;
+
+import android.graphics.Paint;
+
+import com.dlutskov.chart_lib.canvas.RecordingChartCanvas;
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.chart_lib.drawers.ChartStackedBarsDrawer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.dlutskov.chart_lib.ChartTestFixtures.HEIGHT;
+import static com.dlutskov.chart_lib.ChartTestFixtures.WIDTH;
+import static com.dlutskov.chart_lib.ChartTestFixtures.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the lines are drawn exactly when the displayed y range is a tiny part of the whole series range
+ * and that the stacked bars are drawn exactly when the displayed range is a tiny part of the sums
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, manifest = Config.NONE)
+public class ChartLinesPrecisionTest {
+
+    private static final int POINTS_COUNT = 2000;
+    private static final int WINDOW_SIZE = 200;
+
+    // Series climbs to the base value and then varies only by the window range
+    private static final long BASE_VALUE = 1_000_000_000L;
+    private static final int WINDOW_RANGE = 10;
+
+    private final PolylineCanvas mCanvas = new PolylineCanvas(WIDTH, HEIGHT);
+
+    @Test
+    public void linesChart_narrowWindowOfWideRangeSeriesIsDrawnExactly() {
+        ChartView<DateCoordinate, LongCoordinate> chartView = layout(new ChartView<>(RuntimeEnvironment.application));
+        int minXIndex = POINTS_COUNT - WINDOW_SIZE;
+        chartView.updateChartData(createData(), minXIndex, POINTS_COUNT - 1, false);
+        chartView.drawChart(mCanvas);
+
+        ChartBounds<DateCoordinate, LongCoordinate> bounds = chartView.getBounds();
+        assertEquals(BASE_VALUE, bounds.getMinY().getValue());
+        assertEquals(BASE_VALUE + WINDOW_RANGE, bounds.getMaxY().getValue());
+        assertEquals(WINDOW_SIZE * 2, mCanvas.mPolylineCount);
+
+        // Screen y should be the linear function of the value with the slope of the whole drawing height
+        float[] polyline = mCanvas.mPolyline;
+        float minValueY = Float.NaN;
+        float maxValueY = Float.NaN;
+        for (int i = 0; i < WINDOW_SIZE; i++) {
+            long value = getWindowValue(minXIndex + i) - BASE_VALUE;
+            if (value == 0) {
+                minValueY = polyline[i * 2 + 1];
+            } else if (value == WINDOW_RANGE) {
+                maxValueY = polyline[i * 2 + 1];
+            }
+        }
+        float valueHeight = (minValueY - maxValueY) / WINDOW_RANGE;
+        assertTrue("Window range should take the whole height: " + valueHeight, valueHeight > HEIGHT / 2 / WINDOW_RANGE);
+        for (int i = 0; i < WINDOW_SIZE; i++) {
+            long value = getWindowValue(minXIndex + i) - BASE_VALUE;
+            assertEquals(minValueY - value * valueHeight, polyline[i * 2 + 1], 0.5f);
+        }
+    }
+
+    @Test
+    public void stackedBarsChart_narrowRangeOfLargeSumsIsDrawnExactly() {
+        ChartView<DateCoordinate, LongCoordinate> chartView = layout(new ChartView<>(RuntimeEnvironment.application));
+        chartView.setPointsDrawer(new ChartStackedBarsDrawer<>(chartView));
+        int minXIndex = POINTS_COUNT - WINDOW_SIZE;
+        chartView.updateChartData(createStackedData(), minXIndex, POINTS_COUNT - 1, false);
+        chartView.drawChart(mCanvas);
+
+        ChartBounds<DateCoordinate, LongCoordinate> bounds = chartView.getBounds();
+        assertEquals(BASE_VALUE, bounds.getMinY().getValue());
+        assertEquals(BASE_VALUE + WINDOW_RANGE, bounds.getMaxY().getValue());
+        int barsCount = WINDOW_SIZE - 1;
+        assertEquals(barsCount * 4, mCanvas.mLinesCount);
+
+        // Bars of the top line are drawn the last - they start at the top of the constant line and end at the total
+        float[] lines = mCanvas.mLines;
+        float bottomY = lines[1];
+        float minValueY = Float.NaN;
+        float maxValueY = Float.NaN;
+        for (int i = 0; i < barsCount; i++) {
+            long value = getWindowValue(minXIndex + i) - BASE_VALUE;
+            if (value == 0) {
+                minValueY = lines[i * 4 + 3];
+            } else if (value == WINDOW_RANGE) {
+                maxValueY = lines[i * 4 + 3];
+            }
+        }
+        float valueHeight = (minValueY - maxValueY) / WINDOW_RANGE;
+        assertTrue("Window range should take the whole height: " + valueHeight, valueHeight > HEIGHT / 2 / WINDOW_RANGE);
+        assertEquals(bottomY, minValueY, 0.5f);
+        for (int i = 0; i < barsCount; i++) {
+            long value = getWindowValue(minXIndex + i) - BASE_VALUE;
+            assertEquals(bottomY, lines[i * 4 + 1], 0.5f);
+            assertEquals(minValueY - value * valueHeight, lines[i * 4 + 3], 0.5f);
+        }
+    }
+
+    private static ChartLinesData<DateCoordinate, LongCoordinate> createData() {
+        List<DateCoordinate> xPoints = new ArrayList<>();
+        List<LongCoordinate> yPoints = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            xPoints.add(DateCoordinate.valueOf(i * 60_000L));
+            yPoints.add(LongCoordinate.valueOf(i < POINTS_COUNT / 2 ? i * (BASE_VALUE / (POINTS_COUNT / 2)) : getWindowValue(i)));
+        }
+        return new ChartLinesData<>(new ChartPointsData<>("x", "x", ChartLinesData.CHART_TYPE_X, 0, xPoints),
+                Collections.singletonList(new ChartPointsData<>("y0", "y0", ChartLinesData.CHART_TYPE_LINE, 0xFF3DC23F, yPoints)));
+    }
+
+    /**
+     * Bars of the constant base value with the window values above them, so the totals are the window values
+     */
+    private static ChartLinesData<DateCoordinate, LongCoordinate> createStackedData() {
+        List<DateCoordinate> xPoints = new ArrayList<>();
+        List<LongCoordinate> basePoints = new ArrayList<>();
+        List<LongCoordinate> yPoints = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            xPoints.add(DateCoordinate.valueOf(i * 60_000L));
+            basePoints.add(LongCoordinate.valueOf(BASE_VALUE));
+            yPoints.add(LongCoordinate.valueOf(getWindowValue(i) - BASE_VALUE));
+        }
+        ChartLinesData<DateCoordinate, LongCoordinate> data = new ChartLinesData<>(
+                new ChartPointsData<>("x", "x", ChartLinesData.CHART_TYPE_X, 0, xPoints),
+                Arrays.asList(new ChartPointsData<>("y0", "y0", ChartLinesData.CHART_TYPE_BAR, 0xFF3DC23F, basePoints),
+                        new ChartPointsData<>("y1", "y1", ChartLinesData.CHART_TYPE_BAR, 0xFFF34C44, yPoints)));
+        data.setStacked(true);
+        return data;
+    }
+
+    private static long getWindowValue(int index) {
+        return BASE_VALUE + index % (WINDOW_RANGE + 1);
+    }
+
+    // Keeps coordinates of the last drawn polyline and lines
+    private static class PolylineCanvas extends RecordingChartCanvas {
+
+        private float[] mPolyline = new float[0];
+        private int mPolylineCount;
+        private float[] mLines = new float[0];
+        private int mLinesCount;
+
+        PolylineCanvas(int width, int height) {
+            super(width, height);
+        }
+
+        @Override
+        public void drawPolyline(float[] pts, int offset, int count, Paint paint) {
+            super.drawPolyline(pts, offset, count, paint);
+            if (mPolyline.length < count) {
+                mPolyline = new float[count];
+            }
+            System.arraycopy(pts, offset, mPolyline, 0, count);
+            mPolylineCount = count;
+        }
+
+        @Override
+        public void drawLines(float[] pts, int offset, int count, Paint paint) {
+            super.drawLines(pts, offset, count, paint);
+            if (mLines.length < count) {
+                mLines = new float[count];
+            }
+            System.arraycopy(pts, offset, mLines, 0, count);
+            mLinesCount = count;
+        }
+    }
+
+}
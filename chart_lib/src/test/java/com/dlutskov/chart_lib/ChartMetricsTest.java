@@ -0,0 +1,181 @@
+package com.dlutskov.chart_lib;
+
+import com.dlutskov.chart_lib.canvas.RecordingChartCanvas;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.chart_lib.metrics.ChartDrawerMetrics;
+import com.dlutskov.chart_lib.metrics.ChartDurationHistogram;
+import com.dlutskov.chart_lib.metrics.ChartMetrics;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.dlutskov.chart_lib.ChartTestFixtures.SERIES_COUNT;
+import static com.dlutskov.chart_lib.ChartTestFixtures.WINDOW_SIZE;
+import static com.dlutskov.chart_lib.ChartTestFixtures.createCanvas;
+import static com.dlutskov.chart_lib.ChartTestFixtures.createChart;
+import static com.dlutskov.chart_lib.ChartTestFixtures.drawFrame;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, manifest = Config.NONE)
+public class ChartMetricsTest {
+
+    private static final int POINTS_COUNT = 1000;
+
+    private final RecordingChartCanvas mCanvas = createCanvas();
+
+    private int mListenerCalls;
+
+    @Test
+    public void histogram_recordsToLogarithmicBuckets() {
+        ChartDurationHistogram histogram = new ChartDurationHistogram();
+        histogram.record(500);
+        histogram.record(1_000);
+        histogram.record(3_500);
+        histogram.record(3_000_000_000L);
+
+        assertEquals(1, histogram.getBucketCount(0));
+        assertEquals(1, histogram.getBucketCount(1));
+        assertEquals(1, histogram.getBucketCount(2));
+        assertEquals(1, histogram.getBucketCount(ChartDurationHistogram.BUCKETS_COUNT - 1));
+        assertEquals(4, histogram.getCount());
+        assertEquals(3_000_000_000L, histogram.getMaxNanos());
+        assertEquals(4_000, histogram.getPercentileNanos(0.75f));
+        assertEquals(3_000_000_000L, histogram.getPercentileNanos(1f));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getBucketCount(0));
+    }
+
+    @Test
+    public void fullChart_collectsMetricsOfEachDrawer() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createFullChart();
+        chartView.setMetricsListener(metrics -> mListenerCalls++);
+
+        drawFrame(mCanvas, chartView);
+        drawFrame(mCanvas, chartView);
+
+        ChartMetrics metrics = chartView.getMetrics();
+        assertEquals(2, mListenerCalls);
+        assertEquals(2, metrics.getFramesCount());
+        assertEquals(2, metrics.getFrameDurations().getCount());
+
+        // Points drawer and the Y labels, X labels and points details drawers
+        List<ChartDrawerMetrics> drawersMetrics = metrics.getDrawersMetrics();
+        assertEquals(4, drawersMetrics.size());
+        for (ChartDrawerMetrics drawerMetrics : drawersMetrics) {
+            assertEquals(drawerMetrics.getDrawerName(), 1, drawerMetrics.getRebuildsCount());
+            assertEquals(drawerMetrics.getDrawerName(), 2, drawerMetrics.getDrawDurations().getCount());
+        }
+        ChartDrawerMetrics pointsMetrics = chartView.getPointsDrawer().getMetrics();
+        assertEquals(SERIES_COUNT * WINDOW_SIZE, pointsMetrics.getEmittedPointsCount());
+    }
+
+    @Test
+    public void fullChart_boundsCalculationsAreMeasured() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createFullChart();
+        chartView.setMetricsListener(metrics -> mListenerCalls++);
+
+        chartView.updateHorizontalBounds(0, WINDOW_SIZE - 1);
+
+        assertEquals(1, chartView.getMetrics().getBoundsDurations().getCount());
+    }
+
+    @Test
+    public void fullChart_selectionChangeDoesNotRebuildContent() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createFullChart();
+        chartView.setMetricsListener(metrics -> mListenerCalls++);
+        drawFrame(mCanvas, chartView);
+
+        for (int i = 0; i < 10; i++) {
+            chartView.showPointsDetails(POINTS_COUNT - WINDOW_SIZE + i * 10);
+            drawFrame(mCanvas, chartView);
+        }
+
+        // Selection is drawn on the overlay from already built drawing data
+        for (ChartDrawerMetrics drawerMetrics : chartView.getMetrics().getDrawersMetrics()) {
+            assertEquals(drawerMetrics.getDrawerName(), 1, drawerMetrics.getRebuildsCount());
+        }
+    }
+
+    @Test
+    public void fullChart_overlayOnlyFrameIsMeasured() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createFullChart();
+        chartView.setMetricsListener(metrics -> mListenerCalls++);
+        drawFrame(mCanvas, chartView);
+
+        chartView.showPointsDetails(POINTS_COUNT - WINDOW_SIZE / 2);
+        mCanvas.reset();
+        chartView.drawChartOverlay(mCanvas);
+
+        ChartMetrics metrics = chartView.getMetrics();
+        assertEquals(2, mListenerCalls);
+        assertEquals(2, metrics.getFramesCount());
+        // Overlay draws are recorded by the overlay frame instead of being added to the next content frame
+        for (ChartDrawerMetrics drawerMetrics : metrics.getDrawersMetrics()) {
+            assertEquals(drawerMetrics.getDrawerName(), 2, drawerMetrics.getDrawDurations().getCount());
+        }
+    }
+
+    @Test
+    public void fullChart_batchVisibilityChangeCalculatesBoundsOnce() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createFullChart();
+        chartView.setMetricsListener(metrics -> mListenerCalls++);
+        int activeAnimations = chartView.getAnimationScheduler().getActiveCount();
+
+        Map<String, Boolean> visibility = new HashMap<>();
+        for (int i = 1; i < SERIES_COUNT; i++) {
+            visibility.put("y" + i, false);
+        }
+        chartView.updatePointsVisibility(visibility);
+
+        assertEquals(1, chartView.getMetrics().getBoundsDurations().getCount());
+        // Single animation hides all points, the other one animates bounds of the points drawer
+        assertEquals(activeAnimations + 2, chartView.getAnimationScheduler().getActiveCount());
+    }
+
+    @Test
+    public void enabledMetrics_areCollectedWithoutListener() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createFullChart();
+        chartView.setMetricsEnabled(true);
+        drawFrame(mCanvas, chartView);
+        // Enabling again keeps already collected metrics
+        chartView.setMetricsEnabled(true);
+        drawFrame(mCanvas, chartView);
+
+        assertEquals(2, chartView.getMetrics().getFramesCount());
+        assertEquals(1, chartView.getPointsDrawer().getMetrics().getRebuildsCount());
+
+        chartView.setMetricsEnabled(false);
+        assertNull(chartView.getMetrics());
+        assertNull(chartView.getPointsDrawer().getMetrics());
+    }
+
+    @Test
+    public void metricsAreNotCollectedWithoutListener() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createFullChart();
+        chartView.setMetricsListener(metrics -> mListenerCalls++);
+        chartView.setMetricsListener(null);
+
+        drawFrame(mCanvas, chartView);
+
+        assertNull(chartView.getMetrics());
+        assertNull(chartView.getPointsDrawer().getMetrics());
+        assertEquals(0, mListenerCalls);
+    }
+
+    private static ChartFullView<DateCoordinate, LongCoordinate> createFullChart() {
+        return createChart(new ChartFullView<>(RuntimeEnvironment.application), POINTS_COUNT);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.dlutskov.chart_lib;
+
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.chart_lib.drawers.ChartAxisLabelsDrawer;
+import com.dlutskov.chart_lib.drawers.ChartScaledLinesDrawer;
+import com.dlutskov.chart_lib.drawers.ChartYAxisLabelsDrawer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+
+import static com.dlutskov.chart_lib.ChartTestFixtures.FRAME_TIME_NANOS;
+import static com.dlutskov.chart_lib.ChartTestFixtures.createGenerator;
+import static com.dlutskov.chart_lib.ChartTestFixtures.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that the bounds updates which are performed by the view on each pan event don't allocate objects
+ * in the drawers, including the bounds of the scaled lines and of their Y axis labels
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, manifest = Config.NONE)
+public class ChartPanAllocationTest {
+
+    private static final int POINTS_COUNT = 1000;
+    private static final int WINDOW_SIZE = 100;
+
+    private com.sun.management.ThreadMXBean mThreadMXBean;
+
+    private long mFrameTimeNanos;
+
+    @Before
+    public void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        mThreadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(mThreadMXBean.isThreadAllocatedMemorySupported());
+        mThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void linesChart_panStepDoesNotAllocate() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createChart();
+        updateData(chartView, false);
+
+        assertEquals(0, measurePanAllocations(chartView));
+    }
+
+    @Test
+    public void scaledLinesChart_panStepDoesNotAllocate() {
+        ChartFullView<DateCoordinate, LongCoordinate> chartView = createChart();
+        chartView.setPointsDrawer(new ChartScaledLinesDrawer<>(chartView));
+        // Left and right labels are bound to the first and the second lines as by the app
+        chartView.getYLabelsDrawer().setScaledPointsId("y0", 0);
+        ChartYAxisLabelsDrawer<DateCoordinate, LongCoordinate> rightLabelsDrawer =
+                new ChartYAxisLabelsDrawer<>(chartView, ChartAxisLabelsDrawer.SIZE_MATCH_PARENT);
+        rightLabelsDrawer.setSide(ChartYAxisLabelsDrawer.SIDE_RIGHT);
+        rightLabelsDrawer.setScaledPointsId("y1", 0);
+        chartView.addDrawer(rightLabelsDrawer);
+        updateData(chartView, true);
+
+        assertEquals(0, measurePanAllocations(chartView));
+    }
+
+    private static ChartFullView<DateCoordinate, LongCoordinate> createChart() {
+        return layout(new ChartFullView<>(RuntimeEnvironment.application));
+    }
+
+    private static void updateData(ChartView<DateCoordinate, LongCoordinate> chartView, boolean isYScaled) {
+        chartView.updateChartData(createGenerator(POINTS_COUNT)
+                .setYScaled(isYScaled)
+                .generate(), 0, WINDOW_SIZE - 1, false);
+    }
+
+    private long measurePanAllocations(ChartView<DateCoordinate, LongCoordinate> chartView) {
+        // Warm up to let all lazy buffers, pools and animators be created
+        pan(chartView);
+        pan(chartView);
+
+        long threadId = Thread.currentThread().getId();
+        // Measurement itself may allocate - exclude it from the result
+        long start = mThreadMXBean.getThreadAllocatedBytes(threadId);
+        long overhead = mThreadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+        start = mThreadMXBean.getThreadAllocatedBytes(threadId);
+        pan(chartView);
+        return mThreadMXBean.getThreadAllocatedBytes(threadId) - start - overhead;
+    }
+
+    // Emulates dragging of the chart from the first to the last point and back with running bounds animations
+    private void pan(ChartView<DateCoordinate, LongCoordinate> chartView) {
+        for (int minXIndex = 0; minXIndex + WINDOW_SIZE < POINTS_COUNT; minXIndex++) {
+            panStep(chartView, minXIndex);
+        }
+        for (int minXIndex = POINTS_COUNT - WINDOW_SIZE; minXIndex >= 0; minXIndex--) {
+            panStep(chartView, minXIndex);
+        }
+    }
+
+    private void panStep(ChartView<DateCoordinate, LongCoordinate> chartView, int minXIndex) {
+        chartView.updateHorizontalBounds(minXIndex, minXIndex + WINDOW_SIZE - 1);
+        mFrameTimeNanos += FRAME_TIME_NANOS;
+        chartView.onFrame(mFrameTimeNanos);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.dlutskov.chart_lib;
+
+import android.view.View;
+
+import com.dlutskov.chart_lib.canvas.RecordingChartCanvas;
+import com.dlutskov.chart_lib.data.ChartDataGenerator;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+
+/**
+ * Shared fixture of the chart view tests: views of the same size with generated data which are drawn
+ * on the {@link RecordingChartCanvas}
+ */
+final class ChartTestFixtures {
+
+    static final int WIDTH = 1080;
+    static final int HEIGHT = 800;
+
+    static final int SERIES_COUNT = 4;
+    // Number of the last points which are displayed by the created charts
+    static final int WINDOW_SIZE = 200;
+
+    static final long FRAME_TIME_NANOS = 16_000_000L;
+
+    private ChartTestFixtures() {}
+
+    static RecordingChartCanvas createCanvas() {
+        return new RecordingChartCanvas(WIDTH, HEIGHT);
+    }
+
+    /**
+     * @return generator of the data with the default series count
+     */
+    static ChartDataGenerator createGenerator(int pointsCount) {
+        return new ChartDataGenerator()
+                .setPointsCount(pointsCount)
+                .setSeriesCount(SERIES_COUNT);
+    }
+
+    /**
+     * Lays out the chart view and sets the generated data with the last points displayed
+     */
+    static <V extends ChartView<DateCoordinate, LongCoordinate>> V createChart(V chartView, int pointsCount) {
+        return updateData(layout(chartView), createGenerator(pointsCount), pointsCount);
+    }
+
+    static <V extends ChartView<DateCoordinate, LongCoordinate>> V layout(V chartView) {
+        chartView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        chartView.layout(0, 0, WIDTH, HEIGHT);
+        return chartView;
+    }
+
+    /**
+     * Sets data of the generator with the last {@link #WINDOW_SIZE} points displayed
+     */
+    static <V extends ChartView<DateCoordinate, LongCoordinate>> V updateData(V chartView, ChartDataGenerator generator,
+                                                                            int pointsCount) {
+        chartView.updateChartData(generator.generate(), pointsCount - WINDOW_SIZE, pointsCount - 1, false);
+        return chartView;
+    }
+
+    /**
+     * Draws single frame of the chart on the reset canvas
+     */
+    static void drawFrame(RecordingChartCanvas canvas, ChartView<?, ?> chartView) {
+        canvas.reset();
+        chartView.drawChart(canvas);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.dlutskov.chart_lib;
+
+import android.graphics.Rect;
+
+import com.dlutskov.chart_lib.data.ChartLinesData;
+import com.dlutskov.chart_lib.data.ChartPointsData;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.chart_lib.utils.ChartUtils;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the screen y calculated from the normalized values is the same as the screen y of the points values
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, manifest = Config.NONE)
+public class ChartUtilsTest {
+
+    private static final int POINTS_COUNT = 1000;
+
+    private final Rect mDrawingRect = new Rect(0, 100, 1000, 900);
+
+    @Test
+    public void yOffsetAndScale_transformNormalizedValuesToScreen() {
+        List<LongCoordinate> points = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            points.add(LongCoordinate.valueOf(100 + (i * 31) % 1000));
+        }
+        ChartPointsData<LongCoordinate> pointsData = createPointsData(points);
+        ChartBounds<LongCoordinate, LongCoordinate> bounds = new ChartBounds<>(0, POINTS_COUNT - 1,
+                LongCoordinate.valueOf(300), LongCoordinate.valueOf(800));
+
+        double[] values = pointsData.getNormalizedValues();
+        double yOffset = ChartUtils.calcYOffset(bounds, mDrawingRect, pointsData);
+        double yScale = ChartUtils.calcYScale(bounds, mDrawingRect, pointsData);
+        assertEquals(ChartUtils.calcYCoordinate(bounds, mDrawingRect, pointsData.getMinValue()), yOffset, 1e-3);
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            assertEquals(ChartUtils.calcYCoordinate(bounds, mDrawingRect, points.get(i)), yOffset + values[i] * yScale, 1e-3);
+        }
+    }
+
+    @Test
+    public void yOffsetAndScale_ofNarrowBoundsOfWideRangePoints_areExact() {
+        // Points climb to 1e9 and then vary only by 10
+        List<LongCoordinate> points = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            points.add(LongCoordinate.valueOf(i * 1_000_000L));
+        }
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            points.add(LongCoordinate.valueOf(1_000_000_000L + i % 11));
+        }
+        ChartPointsData<LongCoordinate> pointsData = createPointsData(points);
+        ChartBounds<LongCoordinate, LongCoordinate> bounds = new ChartBounds<>(POINTS_COUNT, POINTS_COUNT * 2 - 1,
+                LongCoordinate.valueOf(1_000_000_000L), LongCoordinate.valueOf(1_000_000_010L));
+
+        double[] values = pointsData.getNormalizedValues();
+        double yOffset = ChartUtils.calcYOffset(bounds, mDrawingRect, pointsData);
+        double yScale = ChartUtils.calcYScale(bounds, mDrawingRect, pointsData);
+        for (int i = POINTS_COUNT; i < POINTS_COUNT * 2; i++) {
+            float expectedY = mDrawingRect.bottom - ((i - POINTS_COUNT) % 11) / 10f * mDrawingRect.height();
+            assertEquals(expectedY, yOffset + values[i] * yScale, 0.01);
+        }
+    }
+
+    @Test
+    public void yOffsetAndScale_ofSameValuesPoints() {
+        List<LongCoordinate> points = new ArrayList<>();
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            points.add(LongCoordinate.valueOf(500));
+        }
+        ChartPointsData<LongCoordinate> pointsData = createPointsData(points);
+        ChartBounds<LongCoordinate, LongCoordinate> bounds = new ChartBounds<>(0, POINTS_COUNT - 1,
+                LongCoordinate.valueOf(0), LongCoordinate.valueOf(1000));
+
+        assertEquals((mDrawingRect.top + mDrawingRect.bottom) / 2, ChartUtils.calcYOffset(bounds, mDrawingRect, pointsData), 1e-3);
+        assertEquals(0, ChartUtils.calcYScale(bounds, mDrawingRect, pointsData), 0);
+    }
+
+    private static ChartPointsData<LongCoordinate> createPointsData(List<LongCoordinate> points) {
+        return new ChartPointsData<>("y0", "y0", ChartLinesData.CHART_TYPE_LINE, 0, points);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.dlutskov.chart_lib.drawers;
+
+import android.view.View;
+
+import com.dlutskov.chart_lib.ChartBounds;
+import com.dlutskov.chart_lib.animation.ChartAnimationScheduler;
+import com.dlutskov.chart_lib.data.coordinates.DateCoordinate;
+import com.dlutskov.chart_lib.data.coordinates.LongCoordinate;
+import com.dlutskov.chart_lib.utils.ChartFrameClock;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the bounds springs reach the target and don't tick when the target is already reached
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, manifest = Config.NONE)
+public class BoundsUpdateAnimatorTest {
+
+    private static final long FRAME_TIME_NANOS = 16_000_000L;
+
+    private final ChartAnimationScheduler mScheduler = new ChartAnimationScheduler(
+            new ChartFrameClock(frameTimeNanos -> {}),
+            new View(RuntimeEnvironment.application), new View(RuntimeEnvironment.application));
+
+    private int mUpdatesCount;
+
+    private final BoundsUpdateAnimator<DateCoordinate, LongCoordinate> mAnimator =
+            new BoundsUpdateAnimator<>(mScheduler, yBounds -> mUpdatesCount++);
+
+    private long mFrameTimeNanos;
+
+    @Test
+    public void animation_reachesTarget() {
+        mAnimator.setDuration(300);
+        mAnimator.animateTo(createBounds(0, 100), createBounds(50, 200));
+        assertTrue(mAnimator.isRunning());
+
+        runFrames();
+
+        assertFalse(mAnimator.isRunning());
+        assertTrue(mUpdatesCount > 1);
+        assertTrue(mAnimator.isTargetTheSame(createBounds(50, 200)));
+    }
+
+    @Test
+    public void sameTarget_isNotAnimated() {
+        mAnimator.animateTo(createBounds(0, 100), createBounds(0, 100));
+
+        assertFalse(mAnimator.isRunning());
+        assertEquals(0, mScheduler.getActiveCount());
+        assertEquals(0, mUpdatesCount);
+    }
+
+    @Test
+    public void retargetToCurrentValue_settlesImmediately() {
+        mAnimator.setDuration(300);
+        mAnimator.animateTo(createBounds(0, 100), createBounds(50, 200));
+        // Animation isn't ticked yet, so its current values are the start ones
+        mAnimator.animateTo(createBounds(0, 100), createBounds(0, 100));
+
+        assertFalse(mAnimator.isRunning());
+        assertEquals(0, runFrames());
+    }
+
+    private int runFrames() {
+        int framesCount = 0;
+        while (mScheduler.hasActiveAnimations()) {
+            mScheduler.onFrame(mFrameTimeNanos);
+            mFrameTimeNanos += FRAME_TIME_NANOS;
+            framesCount++;
+        }
+        return framesCount;
+    }
+
+    private static ChartBounds<DateCoordinate, LongCoordinate> createBounds(long minY, long maxY) {
+        return new ChartBounds<>(0, 10, LongCoordinate.valueOf(minY), LongCoordinate.valueOf(maxY));
+    }
+
+}